@@ -0,0 +1,38 @@
+package com.raczkowski.app.article;
+
+import com.raczkowski.app.benchmark.BenchmarkContext;
+import com.raczkowski.app.common.CursorPageResponse;
+import com.raczkowski.app.common.PageResponse;
+import com.raczkowski.app.dto.ArticleDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ArticleFeedBenchmark {
+    private ArticleController articleController;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkContext context) {
+        articleController = context.bean(ArticleController.class);
+        context.authenticate(context.data().getReader());
+    }
+
+    @Benchmark
+    public ResponseEntity<PageResponse<ArticleDto>> offsetPage(BenchmarkContext context) {
+        int page = ThreadLocalRandom.current().nextInt(1, 51);
+        return context.inRequest(() -> articleController.getAllArticles(page, 10, "likesNumber", "desc"));
+    }
+
+    @Benchmark
+    public ResponseEntity<CursorPageResponse<ArticleDto>> firstCursorPage(BenchmarkContext context) {
+        return context.inRequest(() -> articleController.getAllArticlesByCursor(null, 10, "likesNumber"));
+    }
+}
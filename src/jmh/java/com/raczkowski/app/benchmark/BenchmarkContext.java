@@ -0,0 +1,85 @@
+package com.raczkowski.app.benchmark;
+
+import com.raczkowski.app.DragonApplication;
+import com.raczkowski.app.user.AppUser;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Boots the whole application against an in-memory H2 database and seeds it once per benchmark trial.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkContext {
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnlyTransaction;
+    private BenchmarkData data;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(DragonApplication.class)
+                .properties(properties())
+                .run();
+
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        data = new BenchmarkDataSeeder(context).seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public BenchmarkData data() {
+        return data;
+    }
+
+    /**
+     * Runs the call the way a web request would see it with open-in-view: inside one read-only session.
+     */
+    public <T> T inRequest(Supplier<T> call) {
+        return readOnlyTransaction.execute(status -> call.get());
+    }
+
+    public void authenticate(AppUser user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private static Map<String, Object> properties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url",
+                "jdbc:h2:mem:dragon-bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.properties.hibernate.format_sql", false);
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("spring.flyway.enabled", false);
+        properties.put("spring.rabbitmq.listener.simple.auto-startup", false);
+        properties.put("search.index.directory", System.getProperty("java.io.tmpdir") + "/dragon-bench-search");
+        properties.put("server.port", 0);
+        properties.put("logging.level.root", "WARN");
+        return properties;
+    }
+}
@@ -0,0 +1,16 @@
+package com.raczkowski.app.benchmark;
+
+import com.raczkowski.app.article.Article;
+import com.raczkowski.app.user.AppUser;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class BenchmarkData {
+    private final AppUser reader;
+    private final Long hotArticleId;
+    private final List<Article> feedPage;
+}
@@ -0,0 +1,138 @@
+package com.raczkowski.app.benchmark;
+
+import com.raczkowski.app.article.Article;
+import com.raczkowski.app.article.ArticleRepository;
+import com.raczkowski.app.comment.Comment;
+import com.raczkowski.app.comment.CommentRepository;
+import com.raczkowski.app.enums.ArticleStatus;
+import com.raczkowski.app.user.AppUser;
+import com.raczkowski.app.user.UserRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds volumes roughly matching a busy production week: a few thousand authors,
+ * tens of thousands of articles, a long-tailed comment distribution and ~25 likes per article.
+ */
+class BenchmarkDataSeeder {
+    private static final int USERS = 2_000;
+    private static final int ARTICLES = 20_000;
+    private static final int MAX_LIKES_PER_ARTICLE = 50;
+    private static final int MAX_COMMENTS_PER_ARTICLE = 6;
+    private static final int HOT_ARTICLE_COMMENTS = 500;
+    private static final int BATCH_SIZE = 1_000;
+
+    private final UserRepository userRepository;
+    private final ArticleRepository articleRepository;
+    private final CommentRepository commentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random = new Random(42);
+
+    BenchmarkDataSeeder(ApplicationContext context) {
+        this.userRepository = context.getBean(UserRepository.class);
+        this.articleRepository = context.getBean(ArticleRepository.class);
+        this.commentRepository = context.getBean(CommentRepository.class);
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    BenchmarkData seed() {
+        dropOneToOneUniqueConstraints();
+
+        List<AppUser> users = seedUsers();
+        AppUser moderator = users.get(0);
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+
+        List<Article> articles = new ArrayList<>(ARTICLES);
+        List<int[]> likes = new ArrayList<>();
+        for (int i = 0; i < ARTICLES; i++) {
+            Article article = new Article(
+                    "Article " + i,
+                    "Content of article " + i + " ".repeat(200),
+                    now.minusMinutes(i),
+                    users.get(random.nextInt(USERS)),
+                    now.minusMinutes(i),
+                    null,
+                    moderator
+            );
+            article.setStatus(ArticleStatus.APPROVED);
+            int likesNumber = random.nextInt(MAX_LIKES_PER_ARTICLE + 1);
+            article.setLikesNumber(likesNumber);
+            articles.add(article);
+            likes.add(new int[]{i, likesNumber});
+        }
+        saveInBatches(articles, articleRepository);
+        seedArticleLikes(articles, users, likes);
+
+        Article hotArticle = articles.get(0);
+        List<Comment> comments = new ArrayList<>();
+        for (Article article : articles) {
+            int count = article == hotArticle ? HOT_ARTICLE_COMMENTS : random.nextInt(MAX_COMMENTS_PER_ARTICLE + 1);
+            for (int i = 0; i < count; i++) {
+                comments.add(new Comment("Comment " + i, now, users.get(random.nextInt(USERS)), article));
+            }
+            article.setCommentsNumber(count);
+        }
+        saveInBatches(comments, commentRepository);
+        saveInBatches(articles, articleRepository);
+
+        List<Article> feedPage = articleRepository.findAll(
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "likesNumber"))).getContent();
+
+        return new BenchmarkData(users.get(1), hotArticle.getId(), feedPage);
+    }
+
+    /**
+     * Several many-to-one relations are mapped as @OneToOne, and hbm2ddl turns those into unique keys
+     * that production schemas don't carry. Dropping them lets one user author many rows.
+     */
+    private void dropOneToOneUniqueConstraints() {
+        jdbcTemplate.queryForList(
+                "SELECT table_name, constraint_name FROM information_schema.table_constraints " +
+                        "WHERE constraint_type = 'UNIQUE' AND table_schema = 'public'"
+        ).forEach(row -> jdbcTemplate.execute(
+                "ALTER TABLE " + row.get("table_name") + " DROP CONSTRAINT " + row.get("constraint_name")));
+    }
+
+    private List<AppUser> seedUsers() {
+        List<AppUser> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            AppUser user = new AppUser("First" + i, "Last" + i, "user" + i + "@dragon.test");
+            user.setPassword("password");
+            user.setEnabled(true);
+            users.add(user);
+        }
+        return userRepository.saveAll(users);
+    }
+
+    private void seedArticleLikes(List<Article> articles, List<AppUser> users, List<int[]> likes) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int[] like : likes) {
+            Long articleId = articles.get(like[0]).getId();
+            int firstUser = random.nextInt(USERS);
+            for (int i = 0; i < like[1]; i++) {
+                rows.add(new Object[]{users.get((firstUser + i) % USERS).getId(), articleId});
+            }
+        }
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO article_like (id, app_user_id, article_id, is_liked) " +
+                            "VALUES (nextval('like_type_sequence'), ?, ?, true)",
+                    rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    private static <T> void saveInBatches(List<T> entities, JpaRepository<T, Long> repository) {
+        for (int from = 0; from < entities.size(); from += BATCH_SIZE) {
+            repository.saveAll(entities.subList(from, Math.min(from + BATCH_SIZE, entities.size())));
+        }
+    }
+}
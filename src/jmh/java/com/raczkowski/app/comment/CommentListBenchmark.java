@@ -0,0 +1,31 @@
+package com.raczkowski.app.comment;
+
+import com.raczkowski.app.benchmark.BenchmarkContext;
+import com.raczkowski.app.dto.CommentDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CommentListBenchmark {
+    private CommentService commentService;
+    private Long hotArticleId;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkContext context) {
+        commentService = context.bean(CommentService.class);
+        hotArticleId = context.data().getHotArticleId();
+        context.authenticate(context.data().getReader());
+    }
+
+    @Benchmark
+    public List<CommentDto> commentsOfHotArticle(BenchmarkContext context) {
+        return context.inRequest(() -> commentService.getAllCommentsFromArticle(hotArticleId));
+    }
+}
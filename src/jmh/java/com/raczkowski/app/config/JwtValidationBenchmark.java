@@ -0,0 +1,49 @@
+package com.raczkowski.app.config;
+
+import com.raczkowski.app.user.AppUser;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the filter path before claims caching (three full parses per request) with the cached one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtValidationBenchmark {
+    private JwtUtil jwtUtil;
+    private AppUser user;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        user = new AppUser("firstName", "lastName", "test@test.pl");
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean uncachedFilterPath() {
+        String username = parse(token).getSubject();
+        boolean sameUser = parse(token).getSubject().equals(user.getUsername());
+        boolean notExpired = !parse(token).getExpiration().before(new Date());
+        return username != null && sameUser && notExpired;
+    }
+
+    @Benchmark
+    public boolean cachedFilterPath() {
+        String username = jwtUtil.extractUsername(token);
+        return username != null && jwtUtil.validateToken(token, user);
+    }
+
+    private static Claims parse(String token) {
+        return Jwts.parser().setSigningKey("secret").parseClaimsJws(token).getBody();
+    }
+}
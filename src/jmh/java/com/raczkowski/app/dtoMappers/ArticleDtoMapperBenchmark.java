@@ -0,0 +1,43 @@
+package com.raczkowski.app.dtoMappers;
+
+import com.raczkowski.app.article.Article;
+import com.raczkowski.app.dto.ArticleDto;
+import com.raczkowski.app.enums.ArticleStatus;
+import com.raczkowski.app.user.AppUser;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ArticleDtoMapperBenchmark {
+    private final List<Article> articles = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        AppUser moderator = new AppUser("Mod", "Erator", "moderator@dragon.test");
+        for (long i = 0; i < 10; i++) {
+            Article article = new Article("Article " + i, "Content " + i, now, new AppUser("First", "Last", i + "@dragon.test"),
+                    now, null, moderator);
+            article.setId(i);
+            article.setStatus(ArticleStatus.APPROVED);
+            articles.add(article);
+        }
+    }
+
+    @Benchmark
+    public List<ArticleDto> mapFeedPage() {
+        return articles.stream()
+                .map(article -> ArticleDtoMapper.articleDtoMapperWithAdditionalFieldsMapper(article, true, 3, 12))
+                .toList();
+    }
+}
@@ -0,0 +1,37 @@
+package com.raczkowski.app.hashtags;
+
+import com.raczkowski.app.benchmark.BenchmarkContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ParseHashtagsBenchmark {
+    private static final String HASHTAGS = "#java #spring #dragon #jpa #postgres #java #performance #benchmark";
+
+    private HashtagService hashtagService;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkContext context) {
+        hashtagService = context.bean(HashtagService.class);
+        HashtagRepository hashtagRepository = context.bean(HashtagRepository.class);
+        hashtagRepository.saveAll(Stream.of(HASHTAGS.split(" "))
+                .distinct()
+                .filter(tag -> hashtagRepository.findByTag(tag) == null)
+                .map(Hashtag::new)
+                .toList());
+        hashtagService.warmUpDictionary();
+    }
+
+    @Benchmark
+    public List<Hashtag> parseKnownHashtags(BenchmarkContext context) {
+        return context.inRequest(() -> hashtagService.parseHashtags(HASHTAGS));
+    }
+}
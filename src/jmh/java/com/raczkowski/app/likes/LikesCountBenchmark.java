@@ -0,0 +1,33 @@
+package com.raczkowski.app.likes;
+
+import com.raczkowski.app.article.Article;
+import com.raczkowski.app.benchmark.BenchmarkContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LikesCountBenchmark {
+    private LikesService likesService;
+    private List<Article> articles;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkContext context) {
+        likesService = context.bean(LikesService.class);
+        articles = context.data().getFeedPage();
+    }
+
+    @Benchmark
+    public void likesCountForFeedPage(Blackhole blackhole) {
+        for (Article article : articles) {
+            blackhole.consume(likesService.getLikesCountForArticle(article));
+        }
+    }
+}
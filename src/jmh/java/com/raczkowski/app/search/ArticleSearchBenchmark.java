@@ -0,0 +1,43 @@
+package com.raczkowski.app.search;
+
+import com.raczkowski.app.benchmark.BenchmarkContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ArticleSearchBenchmark {
+    private SearchIndex searchIndex;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkContext context) {
+        context.bean(ArticleSearchIndexer.class).catchUp();
+        searchIndex = context.bean(SearchIndex.class);
+    }
+
+    @Benchmark
+    public List<SearchHit> searchTermsInEveryArticle() {
+        return searchIndex.search("content article", 10);
+    }
+
+    @Benchmark
+    public List<SearchHit> searchRareTerm() {
+        return searchIndex.search("12345", 10);
+    }
+
+    @Benchmark
+    public List<SearchHit> searchPhrase() {
+        return searchIndex.search("\"article 12345\"", 10);
+    }
+
+    @Benchmark
+    public List<String> suggest() {
+        return searchIndex.suggest("conte", 5);
+    }
+}
@@ -3,58 +3,178 @@ package com.raczkowski.app.Reddit;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
-import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.net.URI;
 import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
-
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking Reddit API client. The OAuth token is fetched once and reused until shortly before
+ * it expires, concurrent callers share a single in-flight token request, and every search passes
+ * through a token bucket so a large batch of keywords stays within Reddit's rate limit.
+ */
 @Component
-@AllArgsConstructor
 public class RedditClient {
+    private static final Logger logger = LoggerFactory.getLogger(RedditClient.class);
+    private static final Duration TOKEN_EXPIRY_MARGIN = Duration.ofSeconds(60);
 
-    private final RedditPostRepository redditPostRepository;
     private final RedditClientConfig redditClientConfig;
+    private final HttpClient httpClient;
+    private final TokenBucket rateLimiter;
+    private CompletableFuture<AccessToken> accessToken;
+
+    public RedditClient(RedditClientConfig redditClientConfig) {
+        this.redditClientConfig = redditClientConfig;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(redditClientConfig.getApi().getTimeoutSeconds()))
+                .build();
+        this.rateLimiter = new TokenBucket(redditClientConfig.getApi().getBurst(),
+                redditClientConfig.getApi().getRequestsPerSecond());
+    }
+
+    public synchronized CompletableFuture<String> getAccessToken() {
+        if (accessToken == null || accessToken.isCompletedExceptionally()
+                || (accessToken.isDone() && accessToken.join().isExpired())) {
+            accessToken = requestAccessToken();
+        }
+        return accessToken.thenApply(AccessToken::value);
+    }
+
+    /**
+     * Waits for a rate-limit permit on the calling thread, then asynchronously searches the
+     * configured subreddit for posts newer than {@code since}, newest first. Only self posts are
+     * returned, but every post counts towards the new watermark. Nothing is persisted here.
+     */
+    public CompletableFuture<RedditSearchResult> searchPostsOnSubreddit(String keyword, RedditWatermark since)
+            throws InterruptedException {
+        rateLimiter.acquire();
+        String url = searchUrl(keyword)
+                + (since == null ? "" : "&before=" + URLEncoder.encode(since.fullname(), StandardCharsets.UTF_8));
+        return search(url).thenCompose(response -> since == null || !isEmptyListing(response)
+                ? CompletableFuture.completedFuture(parsePosts(response, keyword, since))
+                : searchWithoutAnchor(keyword, since));
+    }
+
+    /**
+     * Reddit answers {@code before} with an empty listing both when nothing newer was posted and
+     * when the watermark post has been deleted, which would stall the keyword for good. The newest
+     * posts are therefore fetched once more without the anchor and filtered by creation time.
+     */
+    private CompletableFuture<RedditSearchResult> searchWithoutAnchor(String keyword, RedditWatermark since) {
+        return permit()
+                .thenCompose(ignored -> search(searchUrl(keyword)))
+                .thenApply(response -> {
+                    RedditSearchResult result = parsePosts(response, keyword, since);
+                    if (!Objects.equals(result.newest(), since)) {
+                        logger.warn("Watermark {} of keyword {} no longer resolves, resumed from its creation time",
+                                since.fullname(), keyword);
+                    }
+                    return result;
+                });
+    }
+
+    private CompletableFuture<Void> permit() {
+        long waitNanos = rateLimiter.tryAcquire();
+        if (waitNanos == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS)).thenCompose(ignored -> permit());
+    }
+
+    private String searchUrl(String keyword) {
+        return redditClientConfig.getApi().getBaseUrl() + "/r/" + redditClientConfig.getUser().getSubreddit()
+                + "/search.json?q=" + URLEncoder.encode(keyword, StandardCharsets.UTF_8)
+                + "&restrict_sr=true&sort=new&limit=" + redditClientConfig.getApi().getSearchLimit();
+    }
+
+    private CompletableFuture<String> search(String url) {
+        return getAccessToken()
+                .thenCompose(token -> send(request(url).header("Authorization", "Bearer " + token).GET().build()))
+                .thenApply(response -> {
+                    if (response.statusCode() == 401) {
+                        invalidateAccessToken();
+                    }
+                    return body(response);
+                });
+    }
+
+    private static boolean isEmptyListing(String response) {
+        return JsonParser.parseString(response).getAsJsonObject()
+                .getAsJsonObject("data").getAsJsonArray("children").isEmpty();
+    }
 
-    public String getAccessToken() throws IOException {
+    private CompletableFuture<AccessToken> requestAccessToken() {
         String auth = redditClientConfig.getClient().getId() + ":" + redditClientConfig.getClient().getSecret();
-        String encodedAuth = Base64.getEncoder().encodeToString(auth.getBytes());
-        String url = "https://www.reddit.com/api/v1/access_token";
-        String postData = "grant_type=client_credentials";
+        HttpRequest request = request(redditClientConfig.getApi().getTokenUrl())
+                .header("Authorization", "Basic " + Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.UTF_8)))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("grant_type=client_credentials"))
+                .build();
+        return send(request).thenApply(response -> {
+            JsonObject json = JsonParser.parseString(body(response)).getAsJsonObject();
+            long expiresIn = json.has("expires_in") ? json.get("expires_in").getAsLong() : 3600;
+            return new AccessToken(json.get("access_token").getAsString(),
+                    Instant.now().plusSeconds(expiresIn).minus(TOKEN_EXPIRY_MARGIN));
+        });
+    }
+
+    private synchronized void invalidateAccessToken() {
+        accessToken = null;
+    }
 
-        HttpURLConnection conn = sendHttpRequest(url, "POST", "Basic " + encodedAuth, postData);
-        String response = readResponse(conn);
+    private HttpRequest.Builder request(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(redditClientConfig.getApi().getTimeoutSeconds()))
+                .header("User-Agent", redditClientConfig.getUser().getAgent());
+    }
 
-        JsonObject jsonResponse = JsonParser.parseString(response).getAsJsonObject();
-        return jsonResponse.get("access_token").getAsString();
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private static String body(HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            throw new CompletionException(new IOException(
+                    "HTTP error code: " + response.statusCode() + ", error response: " + response.body()));
+        }
+        return response.body();
     }
 
-    public List<RedditPost> searchPostsOnSubreddit(String keyword) throws IOException {
-        String query = String.join("|", keyword);
-        String encodedQuery = URLEncoder.encode(query, StandardCharsets.UTF_8);
-        System.out.println(keyword);
-        String accessToken = getAccessToken();
-        String urlString = "https://oauth.reddit.com/r/" + redditClientConfig.getUser().getSubreddit() + "/search.json?q=" + encodedQuery + "&restrict_sr=true&limit=10";
-        HttpURLConnection conn = sendHttpRequest(urlString, "GET", "Bearer " + accessToken, null);
-        String response = readResponse(conn);
+    static RedditSearchResult parsePosts(String response, String keyword, RedditWatermark since) {
         JsonObject jsonResponse = JsonParser.parseString(response).getAsJsonObject();
         JsonArray posts = jsonResponse.getAsJsonObject("data").getAsJsonArray("children");
-        List<RedditPost> redditPostsForArticle = new ArrayList<>();
+        List<RedditPost> redditPosts = new ArrayList<>();
+        RedditWatermark newest = since;
 
         for (int i = 0; i < posts.size(); i++) {
             JsonObject post = posts.get(i).getAsJsonObject().getAsJsonObject("data");
+            long createdUtc = post.get("created_utc").getAsLong();
+            String name = post.get("name").getAsString();
+            if (since != null && (createdUtc < since.createdUtc() || since.fullname().equals(name))) {
+                continue;
+            }
+            if (newest == null || createdUtc > newest.createdUtc()) {
+                newest = new RedditWatermark(name, createdUtc);
+            }
             String description = post.has("selftext") && !post.get("selftext").getAsString().isEmpty()
                     ? post.get("selftext").getAsString() : null;
 
@@ -65,59 +185,17 @@ public class RedditClient {
                 redditPost.setUrl(post.get("url").getAsString());
                 redditPost.setDescription(description);
                 redditPost.setAuthor(post.get("author").getAsString());
-                long createdUtc = post.get("created_utc").getAsLong();
-                ZonedDateTime createdDate = ZonedDateTime.ofInstant(Instant.ofEpochSecond(createdUtc), ZoneId.systemDefault());
-                redditPost.setCreatedDate(createdDate);
+                redditPost.setCreatedDate(ZonedDateTime.ofInstant(Instant.ofEpochSecond(createdUtc), ZoneId.systemDefault()));
                 redditPost.setSearchedBy(keyword);
-
-                if (!checkIfPostAlreadyExists(redditPost)) {
-                    redditPostRepository.save(redditPost);
-                    redditPostsForArticle.add(redditPost);
-                }
-            }
-        }
-        return redditPostsForArticle;
-    }
-
-
-    public boolean checkIfPostAlreadyExists(RedditPost newPost) {
-        return redditPostRepository.existsByUrl(newPost.getUrl());
-    }
-
-    public HttpURLConnection sendHttpRequest(String urlString, String method, String authHeader, String postData) throws IOException {
-        URL url = new URL(urlString);
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        conn.setRequestMethod(method);
-        conn.setRequestProperty("Authorization", authHeader);
-        conn.setRequestProperty("User-Agent", redditClientConfig.getUser().getAgent());
-        if (method.equals("POST")) {
-            conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
-            conn.setDoOutput(true);
-            if (postData != null) {
-                try (OutputStream os = conn.getOutputStream()) {
-                    os.write(postData.getBytes());
-                }
+                redditPosts.add(redditPost);
             }
         }
-        return conn;
+        return new RedditSearchResult(keyword, redditPosts, newest);
     }
 
-    public String readResponse(HttpURLConnection conn) throws IOException {
-        int responseCode = conn.getResponseCode();
-        BufferedReader reader = new BufferedReader(new InputStreamReader(
-                responseCode == HttpURLConnection.HTTP_OK ? conn.getInputStream() : conn.getErrorStream()));
-
-        StringBuilder response = new StringBuilder();
-        String line;
-        while ((line = reader.readLine()) != null) {
-            response.append(line);
+    private record AccessToken(String value, Instant refreshAt) {
+        boolean isExpired() {
+            return !Instant.now().isBefore(refreshAt);
         }
-        reader.close();
-
-        if (responseCode != HttpURLConnection.HTTP_OK) {
-            throw new IOException("HTTP error code: " + responseCode + ", error response: " + response);
-        }
-
-        return response.toString();
     }
-}
\ No newline at end of file
+}
@@ -13,6 +13,8 @@ public class RedditClientConfig {
 
     private Client client = new Client();
     private User user = new User();
+    private Api api = new Api();
+    private Sync sync = new Sync();
 
     @Getter
     @Setter
@@ -27,4 +29,28 @@ public class RedditClientConfig {
         private String agent;
         private String subreddit;
     }
+
+    @Getter
+    @Setter
+    public static class Api {
+        private String tokenUrl = "https://www.reddit.com/api/v1/access_token";
+        private String baseUrl = "https://oauth.reddit.com";
+        private int searchLimit = 10;
+        private int timeoutSeconds = 10;
+        /**
+         * Reddit allows 100 OAuth requests per minute per client.
+         */
+        private double requestsPerSecond = 1.5;
+        private int burst = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Sync {
+        /**
+         * Number of post URLs the bloom filter is sized for before it is rebuilt larger.
+         */
+        private long expectedUrls = 1_000_000;
+        private double falsePositiveRate = 0.01;
+    }
 }
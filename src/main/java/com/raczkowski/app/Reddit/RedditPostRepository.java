@@ -1,9 +1,17 @@
 package com.raczkowski.app.Reddit;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Set;
+
 @Repository
 public interface RedditPostRepository extends JpaRepository<RedditPost, Long> {
     boolean existsByUrl(String url);
+
+    @Query("SELECT p.url FROM RedditPost p WHERE p.url IN :urls")
+    Set<String> findExistingUrls(@Param("urls") Collection<String> urls);
 }
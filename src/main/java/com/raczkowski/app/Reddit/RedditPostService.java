@@ -8,44 +8,118 @@ import com.raczkowski.app.hashtags.Hashtag;
 import com.raczkowski.app.user.AppUser;
 import com.raczkowski.app.user.UserService;
 import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @AllArgsConstructor
 @Service
 public class RedditPostService {
+    private static final Logger logger = LoggerFactory.getLogger(RedditPostService.class);
 
     private final CommentService commentService;
     private final ArticleService articleService;
     private final RedditClient redditClient;
     private final UserService userService;
+    private final RedditPostRepository redditPostRepository;
+    private final RedditPostWriter redditPostWriter;
+    private final RedditWatermarkStore watermarkStore;
+    private final RedditUrlFilter urlFilter;
+    private final TransactionTemplate transactionTemplate;
 
     private static final Long REDDIT_USER_ID = 22L;
 
-    public void getCommentsForArticle() throws IOException {
-        List<Article> articles = articleService.getAllArticles();
-        AppUser user = userService.getUserById(REDDIT_USER_ID);
-        for (Article article : articles) {
-            List<Hashtag> hashtags = article.getHashtags();
+    /**
+     * Searches Reddit once per distinct hashtag across all articles, with the searches running
+     * concurrently and each asking only for posts newer than that hashtag's watermark. New posts
+     * are told apart from known ones by the URL bloom filter, with the database consulted only
+     * for probable hits. Every new post becomes one comment on each article carrying any of the
+     * hashtags whose search returned it; posts, comments, watermarks and the filter are written
+     * in one transaction.
+     */
+    public void getCommentsForArticle() throws InterruptedException {
+        Map<String, List<Article>> articlesByTag = new LinkedHashMap<>();
+        for (Article article : articleService.getAllArticles()) {
+            for (Hashtag hashtag : article.getHashtags()) {
+                articlesByTag.computeIfAbsent(hashtag.getTag(), tag -> new ArrayList<>()).add(article);
+            }
+        }
 
-            for (Hashtag hashtag : hashtags) {
-                String hashtagName = hashtag.getTag();
-                List<RedditPost> redditPostsList = redditClient.searchPostsOnSubreddit(hashtagName);
+        Map<String, RedditWatermark> watermarks = watermarkStore.findAll();
+        List<CompletableFuture<RedditSearchResult>> searches = new ArrayList<>();
+        for (String tag : articlesByTag.keySet()) {
+            searches.add(redditClient.searchPostsOnSubreddit(tag, watermarks.get(tag))
+                    .exceptionally(e -> {
+                        logger.warn("Reddit search for '{}' failed", tag, e);
+                        return null;
+                    }));
+        }
 
-                for(RedditPost post: redditPostsList){
-                    Comment comment = new Comment(
+        Map<String, RedditPost> postsByUrl = new LinkedHashMap<>();
+        Map<String, Set<String>> keywordsByUrl = new HashMap<>();
+        Map<String, RedditWatermark> advanced = new HashMap<>();
+        for (CompletableFuture<RedditSearchResult> search : searches) {
+            RedditSearchResult result = search.join();
+            if (result == null) {
+                continue;
+            }
+            for (RedditPost post : result.posts()) {
+                postsByUrl.putIfAbsent(post.getUrl(), post);
+                keywordsByUrl.computeIfAbsent(post.getUrl(), url -> new LinkedHashSet<>()).add(result.keyword());
+            }
+            if (result.newest() != null && !result.newest().equals(watermarks.get(result.keyword()))) {
+                advanced.put(result.keyword(), result.newest());
+            }
+        }
+        if (advanced.isEmpty() && postsByUrl.isEmpty()) {
+            return;
+        }
+
+        urlFilter.refresh();
+        List<String> probablyKnown = postsByUrl.keySet().stream().filter(urlFilter::mightContain).toList();
+        Set<String> existingUrls = probablyKnown.isEmpty() ? Set.of() : redditPostRepository.findExistingUrls(probablyKnown);
+        List<RedditPost> newPosts = postsByUrl.values().stream()
+                .filter(post -> !existingUrls.contains(post.getUrl()))
+                .toList();
+
+        List<Comment> comments = new ArrayList<>();
+        if (!newPosts.isEmpty()) {
+            AppUser user = userService.getUserById(REDDIT_USER_ID);
+            for (RedditPost post : newPosts) {
+                Map<Long, Article> articles = new LinkedHashMap<>();
+                for (String keyword : keywordsByUrl.get(post.getUrl())) {
+                    articlesByTag.get(keyword).forEach(article -> articles.putIfAbsent(article.getId(), article));
+                }
+                for (Article article : articles.values()) {
+                    comments.add(new Comment(
                             post.getDescription(),
                             post.getCreatedDate(),
                             article,
                             post.getUrl(),
                             post.getAuthor(),
                             user
-                    );
-                    commentService.createComment(comment);
+                    ));
                 }
             }
         }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!newPosts.isEmpty()) {
+                redditPostWriter.insert(newPosts);
+                commentService.createComments(comments);
+                urlFilter.addAll(newPosts.stream().map(RedditPost::getUrl).toList());
+            }
+            watermarkStore.save(advanced);
+        });
     }
 }
@@ -0,0 +1,35 @@
+package com.raczkowski.app.Reddit;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Inserts fetched posts with one JDBC batch. {@link RedditPost} uses identity keys, which stop
+ * Hibernate from batching its inserts.
+ */
+@Component
+@AllArgsConstructor
+class RedditPostWriter {
+    private static final String INSERT_SQL =
+            "INSERT INTO reddit_post (title, score, url, description, author, created_date, searched_by) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    void insert(List<RedditPost> posts) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, posts, BATCH_SIZE, (statement, post) -> {
+            statement.setString(1, post.getTitle());
+            statement.setInt(2, post.getScore());
+            statement.setString(3, post.getUrl());
+            statement.setString(4, post.getDescription());
+            statement.setString(5, post.getAuthor());
+            statement.setTimestamp(6, Timestamp.from(post.getCreatedDate().toInstant()));
+            statement.setString(7, post.getSearchedBy());
+        });
+    }
+}
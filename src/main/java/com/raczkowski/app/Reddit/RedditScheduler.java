@@ -4,8 +4,6 @@ import lombok.AllArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.io.IOException;
-
 @Component
 @AllArgsConstructor
 public class RedditScheduler {
@@ -14,8 +12,8 @@ public class RedditScheduler {
 //    public void fetchPosts() {
 //        try {
 //            redditPostService.getCommentsForArticle();
-//        } catch (IOException e) {
-//            System.err.println("Api connection error: " + e.getMessage());
+//        } catch (InterruptedException e) {
+//            Thread.currentThread().interrupt();
 //        }
 //    }
 }
@@ -0,0 +1,9 @@
+package com.raczkowski.app.Reddit;
+
+import java.util.List;
+
+/**
+ * Posts found for a keyword together with the watermark the next sync should start from.
+ */
+record RedditSearchResult(String keyword, List<RedditPost> posts, RedditWatermark newest) {
+}
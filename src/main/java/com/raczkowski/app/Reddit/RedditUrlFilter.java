@@ -0,0 +1,137 @@
+package com.raczkowski.app.Reddit;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The bloom filter of known Reddit post URLs, persisted in {@code reddit_url_filter}. It is
+ * loaded on first use and reloaded whenever another node has saved a newer version. Writes lock
+ * the stored row and add to the stored bits, so concurrent syncs on several nodes never lose
+ * each other's URLs. When the stored filter is empty or holds more URLs than it was sized for,
+ * it is rebuilt from {@code reddit_post}.
+ */
+@Component
+@RequiredArgsConstructor
+class RedditUrlFilter {
+    private static final Logger logger = LoggerFactory.getLogger(RedditUrlFilter.class);
+    private static final String VERSION_SQL = "SELECT version FROM reddit_url_filter WHERE id = 1";
+    private static final String SELECT_SQL =
+            "SELECT version, hash_count, insertions, bits FROM reddit_url_filter WHERE id = 1";
+    private static final String LOCK_SQL = SELECT_SQL + " FOR UPDATE";
+    private static final String UPSERT_SQL =
+            "INSERT INTO reddit_url_filter (id, version, hash_count, insertions, bits, updated_at) VALUES (1, ?, ?, ?, ?, ?) " +
+                    "ON CONFLICT (id) DO UPDATE SET version = EXCLUDED.version, hash_count = EXCLUDED.hash_count, " +
+                    "insertions = EXCLUDED.insertions, bits = EXCLUDED.bits, updated_at = EXCLUDED.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedditClientConfig redditClientConfig;
+    private final TransactionTemplate transactionTemplate;
+    private UrlBloomFilter filter;
+    private long version = -1;
+
+    /**
+     * Makes sure the in-memory filter matches the stored one; called at the start of every sync.
+     */
+    synchronized void refresh() {
+        List<Long> stored = jdbcTemplate.queryForList(VERSION_SQL, Long.class);
+        if (!stored.isEmpty() && stored.get(0) == version && filter != null) {
+            return;
+        }
+        StoredFilter current = load(SELECT_SQL);
+        if (current != null && current.filter() != null && !outgrown(current.filter())) {
+            version = current.version();
+            filter = current.filter();
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> write(List.of()));
+    }
+
+    synchronized boolean mightContain(String url) {
+        return filter.mightContain(url);
+    }
+
+    /**
+     * Adds the URLs to the stored filter. Meant to run in the transaction that inserts the posts,
+     * so the stored filter never misses a committed URL; the in-memory copy follows on commit.
+     */
+    synchronized void addAll(Collection<String> urls) {
+        write(urls);
+    }
+
+    private void write(Collection<String> urls) {
+        StoredFilter locked = load(LOCK_SQL);
+        UrlBloomFilter updated = locked == null ? null : locked.filter();
+        if (updated != null) {
+            urls.forEach(updated::put);
+        }
+        if (updated == null || outgrown(updated)) {
+            updated = rebuild();
+        }
+        long next = (locked == null ? 0 : locked.version()) + 1;
+        jdbcTemplate.update(UPSERT_SQL, next, updated.getHashCount(), updated.getInsertions(), updated.toBytes(),
+                Timestamp.from(Instant.now()));
+
+        UrlBloomFilter saved = updated;
+        afterCommit(() -> {
+            synchronized (this) {
+                filter = saved;
+                version = next;
+            }
+        });
+    }
+
+    private UrlBloomFilter rebuild() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reddit_post", Long.class);
+        long capacity = Math.max(redditClientConfig.getSync().getExpectedUrls(), 2 * (count == null ? 0 : count));
+        UrlBloomFilter rebuilt = UrlBloomFilter.create(capacity, redditClientConfig.getSync().getFalsePositiveRate());
+        jdbcTemplate.query("SELECT url FROM reddit_post WHERE url IS NOT NULL", rs -> {
+            rebuilt.put(rs.getString(1));
+        });
+        logger.info("Rebuilt Reddit URL filter for {} posts, capacity {}", count, capacity);
+        return rebuilt;
+    }
+
+    private boolean outgrown(UrlBloomFilter candidate) {
+        return candidate.getInsertions() > candidate.capacity(redditClientConfig.getSync().getFalsePositiveRate());
+    }
+
+    private StoredFilter load(String sql) {
+        List<StoredFilter> rows = jdbcTemplate.query(sql, (rs, rowNum) -> {
+            byte[] bits = rs.getBytes("bits");
+            return new StoredFilter(rs.getLong("version"), bits.length == 0
+                    ? null
+                    : UrlBloomFilter.fromBytes(bits, rs.getInt("hash_count"), rs.getLong("insertions")));
+        });
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * A filter as read from the table; {@code filter} is {@code null} for the empty placeholder row.
+     */
+    private record StoredFilter(long version, UrlBloomFilter filter) {
+    }
+}
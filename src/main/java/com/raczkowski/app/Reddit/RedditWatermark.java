@@ -0,0 +1,8 @@
+package com.raczkowski.app.Reddit;
+
+/**
+ * Newest post seen for a keyword: its fullname (e.g. {@code t3_abc123}) and creation time in
+ * epoch seconds.
+ */
+record RedditWatermark(String fullname, long createdUtc) {
+}
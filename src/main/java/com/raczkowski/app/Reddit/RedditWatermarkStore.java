@@ -0,0 +1,44 @@
+package com.raczkowski.app.Reddit;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-keyword high-watermarks in {@code reddit_sync_watermark}, so each sync only asks Reddit
+ * for posts newer than the last one it saw.
+ */
+@Component
+@AllArgsConstructor
+class RedditWatermarkStore {
+    private static final String SELECT_SQL =
+            "SELECT keyword, last_fullname, last_created_utc FROM reddit_sync_watermark";
+    private static final String UPSERT_SQL =
+            "INSERT INTO reddit_sync_watermark (keyword, last_fullname, last_created_utc, synced_at) VALUES (?, ?, ?, ?) " +
+                    "ON CONFLICT (keyword) DO UPDATE SET last_fullname = EXCLUDED.last_fullname, " +
+                    "last_created_utc = EXCLUDED.last_created_utc, synced_at = EXCLUDED.synced_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    Map<String, RedditWatermark> findAll() {
+        Map<String, RedditWatermark> watermarks = new HashMap<>();
+        jdbcTemplate.query(SELECT_SQL, rs -> {
+            watermarks.put(rs.getString("keyword"),
+                    new RedditWatermark(rs.getString("last_fullname"), rs.getLong("last_created_utc")));
+        });
+        return watermarks;
+    }
+
+    void save(Map<String, RedditWatermark> watermarks) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, watermarks.entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue().fullname(), entry.getValue().createdUtc(), now})
+                .toList());
+    }
+}
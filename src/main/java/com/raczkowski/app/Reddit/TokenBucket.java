@@ -0,0 +1,44 @@
+package com.raczkowski.app.Reddit;
+
+/**
+ * Blocking token-bucket limiter: up to {@code capacity} requests may go out back to back, after
+ * which callers are paced to {@code permitsPerSecond}.
+ */
+class TokenBucket {
+    private final double capacity;
+    private final double permitsPerNano;
+    private double available;
+    private long refilledAt;
+
+    TokenBucket(int capacity, double permitsPerSecond) {
+        if (capacity < 1 || permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Token bucket needs a positive capacity and rate");
+        }
+        this.capacity = capacity;
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000d;
+        this.available = capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    void acquire() throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = tryAcquire()) > 0) {
+            Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+        }
+    }
+
+    /**
+     * Takes a permit if one is available and returns 0, otherwise returns how long to wait
+     * before the next permit is due.
+     */
+    synchronized long tryAcquire() {
+        long now = System.nanoTime();
+        available = Math.min(capacity, available + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+        if (available >= 1) {
+            available -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - available) / permitsPerNano));
+    }
+}
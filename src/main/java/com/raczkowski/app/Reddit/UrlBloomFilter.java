@@ -0,0 +1,97 @@
+package com.raczkowski.app.Reddit;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bloom filter over post URLs. A negative answer is exact, a positive one is only probable, so
+ * callers confirm hits against the database. Bits are derived by double hashing two 64-bit
+ * hashes of the UTF-8 bytes.
+ */
+class UrlBloomFilter {
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+    private long insertions;
+
+    private UrlBloomFilter(long[] words, int hashCount, long insertions) {
+        this.words = words;
+        this.bitCount = (long) words.length * Long.SIZE;
+        this.hashCount = hashCount;
+        this.insertions = insertions;
+    }
+
+    static UrlBloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int hashCount = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        return new UrlBloomFilter(new long[(int) ((bits + Long.SIZE - 1) / Long.SIZE)], hashCount, 0);
+    }
+
+    static UrlBloomFilter fromBytes(byte[] bytes, int hashCount, long insertions) {
+        long[] words = new long[bytes.length / Long.BYTES];
+        ByteBuffer.wrap(bytes).asLongBuffer().get(words);
+        return new UrlBloomFilter(words, hashCount, insertions);
+    }
+
+    byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(words.length * Long.BYTES);
+        buffer.asLongBuffer().put(words);
+        return buffer.array();
+    }
+
+    void put(String url) {
+        long first = fnv1a(url.getBytes(StandardCharsets.UTF_8));
+        long second = mix(first) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((first + i * second) & Long.MAX_VALUE) % bitCount;
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        insertions++;
+    }
+
+    boolean mightContain(String url) {
+        long first = fnv1a(url.getBytes(StandardCharsets.UTF_8));
+        long second = mix(first) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((first + i * second) & Long.MAX_VALUE) % bitCount;
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * How many URLs the filter holds before its false positive rate exceeds the given one.
+     */
+    long capacity(double falsePositiveRate) {
+        return (long) (bitCount * Math.log(2) * Math.log(2) / -Math.log(falsePositiveRate));
+    }
+
+    int getHashCount() {
+        return hashCount;
+    }
+
+    long getInsertions() {
+        return insertions;
+    }
+
+    private static long fnv1a(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
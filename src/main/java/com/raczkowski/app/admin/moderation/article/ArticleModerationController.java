@@ -1,5 +1,6 @@
 package com.raczkowski.app.admin.moderation.article;
 
+import com.raczkowski.app.common.CursorPageResponse;
 import com.raczkowski.app.common.PageResponse;
 import com.raczkowski.app.dto.ArticleDto;
 import com.raczkowski.app.dto.DeletedArticleDto;
@@ -29,6 +30,14 @@ public class ArticleModerationController {
         return ResponseEntity.ok(moderationArticleService.getArticleToConfirm(page, size, sortBy, sortDirection));
     }
 
+    @GetMapping("/toConfirm/get/cursor")
+    public ResponseEntity<CursorPageResponse<NonConfirmedArticleDto>> getArticlesToConfirmByCursor(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(moderationArticleService.getArticleToConfirmByCursor(cursor, size));
+    }
+
     @PostMapping("/confirm")
     public ResponseEntity<ArticleDto> confirmArticle(@RequestParam Long articleId) {
         return ResponseEntity.ok(moderationArticleService.confirmArticle(articleId));
@@ -49,6 +58,14 @@ public class ArticleModerationController {
         return ResponseEntity.ok(moderationArticleService.getRejectedArticles(page, size, sortBy, sortDirection));
     }
 
+    @GetMapping("/reject/get/cursor")
+    public ResponseEntity<CursorPageResponse<RejectedArticleDto>> getRejectedArticlesByCursor(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(moderationArticleService.getRejectedArticlesByCursor(cursor, size));
+    }
+
     @GetMapping("/accepted/get")
     public ResponseEntity<PageResponse<ArticleDto>> getAcceptedArticles(
             @RequestParam Long id,
@@ -60,6 +77,15 @@ public class ArticleModerationController {
         return ResponseEntity.ok(moderationArticleService.getAcceptedArticlesByUser(id, page, size, sortBy, sortDirection));
     }
 
+    @GetMapping("/accepted/get/cursor")
+    public ResponseEntity<CursorPageResponse<ArticleDto>> getAcceptedArticlesByCursor(
+            @RequestParam Long id,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(moderationArticleService.getAcceptedArticlesByUserByCursor(id, cursor, size));
+    }
+
     @DeleteMapping("/delete")
     public void deleteArticle(@RequestParam Long id) {
         moderationArticleService.deleteArticle(id);
@@ -75,6 +101,14 @@ public class ArticleModerationController {
         return ResponseEntity.ok(moderationArticleService.getAllDeletedArticlesByAdmins(page, size, sortBy, sortDirection));
     }
 
+    @GetMapping("/deleted/get/cursor")
+    public ResponseEntity<CursorPageResponse<DeletedArticleDto>> getDeletedArticlesByAdminsByCursor(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(moderationArticleService.getAllDeletedArticlesByAdminsByCursor(cursor, size));
+    }
+
     @PostMapping("/pin")
     public void getDeletedArticlesByAdmins(@RequestParam Long id) {
         moderationArticleService.pinArticle(id);
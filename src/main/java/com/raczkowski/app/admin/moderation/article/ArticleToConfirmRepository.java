@@ -1,5 +1,7 @@
 package com.raczkowski.app.admin.moderation.article;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface ArticleToConfirmRepository extends JpaRepository<ArticleToConfirm, Long> {
@@ -7,4 +9,6 @@ public interface ArticleToConfirmRepository extends JpaRepository<ArticleToConfi
     ArticleToConfirm getArticleToConfirmById(Long id);
 
     void deleteArticleToConfirmById(Long id);
+
+    Slice<ArticleToConfirm> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
 }
@@ -2,8 +2,10 @@ package com.raczkowski.app.admin.moderation.article;
 
 import com.raczkowski.app.admin.common.PermissionValidator;
 import com.raczkowski.app.article.*;
+import com.raczkowski.app.common.CursorPageResponse;
 import com.raczkowski.app.common.GenericService;
 import com.raczkowski.app.common.MetaData;
+import com.raczkowski.app.common.PageCursor;
 import com.raczkowski.app.common.PageResponse;
 import com.raczkowski.app.dto.ArticleDto;
 import com.raczkowski.app.dto.DeletedArticleDto;
@@ -15,12 +17,13 @@ import com.raczkowski.app.enums.NotificationType;
 import com.raczkowski.app.exceptions.ResponseException;
 import com.raczkowski.app.hashtags.Hashtag;
 import com.raczkowski.app.notification.Notification;
-import com.raczkowski.app.notification.NotificationRepository;
 import com.raczkowski.app.notification.NotificationService;
 import com.raczkowski.app.user.AppUser;
 import com.raczkowski.app.user.UserRepository;
 import com.raczkowski.app.user.UserService;
+import com.raczkowski.app.user.UserStatsStore;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -45,7 +48,9 @@ public class ModerationArticleService {
     private final DeletedArticleRepository deletedArticleRepository;
     private final ArticleStatisticsService articleStatisticsService;
     private final NotificationService notificationService;
-    private final NotificationRepository notificationRepository;
+    private final ScheduledArticlePublisher scheduledArticlePublisher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserStatsStore userStatsStore;
 
     public void addArticle(ArticleToConfirm articleToConfirm) {
         articleToConfirmRepository.save(articleToConfirm);
@@ -74,6 +79,16 @@ public class ModerationArticleService {
         );
     }
 
+    public CursorPageResponse<NonConfirmedArticleDto> getArticleToConfirmByCursor(String cursor, int pageSize) {
+        permissionValidator.validateIfUserIsAdminOrOperator();
+        return GenericService.toCursorPage(
+                GenericService.paginateByCursor(cursor, pageSize,
+                        (pageCursor, pageable) -> articleToConfirmRepository.findByIdLessThanOrderByIdDesc(pageCursor.getId(), pageable)),
+                ArticleDtoMapper::nonConfirmedArticleMapper,
+                article -> new PageCursor(article.getId(), article.getId())
+        );
+    }
+
     public ArticleDto confirmArticle(Long articleId) {
         permissionValidator.validateIfUserIsAdminOrOperator();
         AppUser appUser = userService.getLoggedUser();
@@ -99,6 +114,12 @@ public class ModerationArticleService {
             article.setStatus(ArticleStatus.APPROVED);
         }
         articleRepository.save(article);
+        userStatsStore.adjustArticles(article.getAppUser().getId(), 1);
+        if (article.getStatus() == ArticleStatus.SCHEDULED) {
+            scheduledArticlePublisher.schedule(article.getScheduledForDate());
+        } else {
+            eventPublisher.publishEvent(new ArticlePublishedEvent(article.getId()));
+        }
         articleToConfirmRepository.deleteArticleToConfirmById(articleId);
         sendNotification(NotificationType.ARTICLE_PUBLISH,
                 String.valueOf(article.getAppUser().getId()),
@@ -162,6 +183,16 @@ public class ModerationArticleService {
         );
     }
 
+    public CursorPageResponse<RejectedArticleDto> getRejectedArticlesByCursor(String cursor, int pageSize) {
+        permissionValidator.validateIfUserIsAdminOrOperator();
+        return GenericService.toCursorPage(
+                GenericService.paginateByCursor(cursor, pageSize,
+                        (pageCursor, pageable) -> rejectedArticleRepository.findByIdLessThanOrderByIdDesc(pageCursor.getId(), pageable)),
+                ArticleDtoMapper::rejectedArticleDtoMapper,
+                article -> new PageCursor(article.getId(), article.getId())
+        );
+    }
+
     public PageResponse<ArticleDto> getAcceptedArticlesByUser(Long id, int pageNumber, int pageSize, String sortBy, String sortDirection) {
         permissionValidator.validateIfUserIsAdminOrOperator();
         AppUser user = userRepository.getAppUserById(id);
@@ -191,6 +222,21 @@ public class ModerationArticleService {
         );
     }
 
+    public CursorPageResponse<ArticleDto> getAcceptedArticlesByUserByCursor(Long id, String cursor, int pageSize) {
+        permissionValidator.validateIfUserIsAdminOrOperator();
+        AppUser user = userRepository.getAppUserById(id);
+        if (user == null) {
+            throw new ResponseException("User doesn't exists");
+        }
+
+        return GenericService.toCursorPage(
+                GenericService.paginateByCursor(cursor, pageSize,
+                        (pageCursor, pageable) -> articleRepository.findByAcceptedByAndIdLessThanOrderByIdDesc(user, pageCursor.getId(), pageable)),
+                article -> ArticleDtoMapper.articleDtoMapper(article, articleStatisticsService.getLikesCountForArticle(article)),
+                article -> new PageCursor(article.getId(), article.getId())
+        );
+    }
+
     public void deleteArticle(Long articleId) {
         permissionValidator.validateIfUserIsAdminOrOperator();
         AppUser user = userService.getLoggedUser();
@@ -219,6 +265,16 @@ public class ModerationArticleService {
         );
     }
 
+    public CursorPageResponse<DeletedArticleDto> getAllDeletedArticlesByAdminsByCursor(String cursor, int pageSize) {
+        permissionValidator.validateIfUserIsAdminOrOperator();
+        return GenericService.toCursorPage(
+                GenericService.paginateByCursor(cursor, pageSize,
+                        (pageCursor, pageable) -> deletedArticleRepository.findByIdLessThanOrderByIdDesc(pageCursor.getId(), pageable)),
+                ArticleDtoMapper::deletedArticle,
+                article -> new PageCursor(article.getId(), article.getId())
+        );
+    }
+
     public void pinArticle(Long id) {
         permissionValidator.validateIfUserIsAdminOrOperator();
 
@@ -240,8 +296,7 @@ public class ModerationArticleService {
                 createdBy.getFirstName(),
                 targetUrl
         );
-        notificationRepository.save(notification);
-        notificationService.sendNotification(userId, notification);
+        notificationService.sendNotification(notification);
     }
 
     public List<NonConfirmedArticleDto> getPendingArticlesForUser(Long id) {
@@ -1,6 +1,10 @@
 package com.raczkowski.app.admin.moderation.article;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface RejectedArticleRepository extends JpaRepository<RejectedArticle, Long> {
+
+    Slice<RejectedArticle> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
 }
@@ -34,6 +34,7 @@ public class AdminUserService {
         } else {
             userRepository.updateAppUserByUserRole(permissionRequest.getId(), permissionRequest.userRole);
         }
+        userService.evictCachedUser(permissionRequest.getId());
     }
 
     public void blockUser(Long id) {
@@ -50,6 +51,7 @@ public class AdminUserService {
             }
         }
         userRepository.blockUser(id, ZonedDateTime.now(ZoneOffset.UTC));
+        userService.evictCachedUser(id);
     }
 
     public void unBlockUser(Long id) {
@@ -58,6 +60,7 @@ public class AdminUserService {
             throw new ResponseException("User doesn't exists");
         }
         userRepository.unBlockUser(id);
+        userService.evictCachedUser(id);
     }
 
     private UserRole invokeUserRole(Long id) {
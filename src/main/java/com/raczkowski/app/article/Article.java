@@ -76,6 +76,12 @@ public class Article {
     @Column(columnDefinition = "boolean default false")
     private boolean isPinned;
 
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int likesNumber;
+
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int commentsNumber;
+
     @ManyToMany(cascade = {CascadeType.ALL, CascadeType.MERGE}, fetch = FetchType.EAGER)
     @JoinTable(
             name = "article_hashtag",
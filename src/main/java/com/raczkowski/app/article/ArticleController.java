@@ -1,6 +1,7 @@
 package com.raczkowski.app.article;
 
-import com.raczkowski.app.comment.CommentService;
+import com.raczkowski.app.common.CursorPageResponse;
+import com.raczkowski.app.common.GenericService;
 import com.raczkowski.app.common.MetaData;
 import com.raczkowski.app.common.PageResponse;
 import com.raczkowski.app.dto.ArticleDto;
@@ -10,9 +11,11 @@ import com.raczkowski.app.user.AppUser;
 import com.raczkowski.app.user.UserService;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -22,7 +25,7 @@ public class ArticleController {
 
     private final ArticleService articleService;
     private final ArticleStatisticsService articleStatisticsService;
-    private final CommentService commentService;
+    private final ArticleFeedService articleFeedService;
     private final UserService userService;
 
     @PostMapping("/add")
@@ -34,21 +37,18 @@ public class ArticleController {
     ResponseEntity<PageResponse<ArticleDto>> getAllArticles(
             @RequestParam(name = "page", defaultValue = "1") int page,
             @RequestParam(name = "size", defaultValue = "10") int size,
-            @RequestParam(name = "sortBy", defaultValue = "likesNumber") String sortBy, //TODO: need to change sort by Likes
+            @RequestParam(name = "sortBy", defaultValue = "likesNumber") String sortBy,
             @RequestParam(name = "sort", defaultValue = "desc") String sortDirection
     ) {
         Page<Article> articlePage = articleService.getAllPaginatedArticles(page, size, sortBy, sortDirection);
         AppUser user = userService.getLoggedUser();
 
-        List<ArticleDto> articleDto = articlePage.getContent().stream()
-                .filter(article -> article.getStatus() == ArticleStatus.APPROVED)
-                .map(article -> ArticleDtoMapper.articleDtoMapperWithAdditionalFieldsMapper(
-                        article,
-                        articleService.isArticleLiked(article, user),
-                        commentService.getNumberCommentsOfArticle(article.getId()),
-                        articleStatisticsService.getLikesCountForArticle(article)
-                ))
-                .toList();
+        List<ArticleDto> articleDto = articleFeedService.toFeed(
+                articlePage.getContent().stream()
+                        .filter(article -> article.getStatus() == ArticleStatus.APPROVED)
+                        .toList(),
+                user
+        );
 
         PageResponse<ArticleDto> response = new PageResponse<>(
                 articleDto,
@@ -63,6 +63,29 @@ public class ArticleController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/get/all/cursor")
+    ResponseEntity<CursorPageResponse<ArticleDto>> getAllArticlesByCursor(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "sortBy", defaultValue = "likesNumber") String sortBy
+    ) {
+        Slice<Article> articleSlice = articleService.getArticlesByCursor(cursor, size, sortBy);
+        AppUser user = userService.getLoggedUser();
+
+        List<Article> articles = new ArrayList<>();
+        if (cursor == null) {
+            articles.addAll(articleService.getPinnedArticles());
+        }
+        articles.addAll(articleSlice.getContent());
+
+        String nextCursor = GenericService.nextCursor(articleSlice, articleService.cursorOf(sortBy));
+        return ResponseEntity.ok(new CursorPageResponse<>(
+                articleFeedService.toFeed(articles, user),
+                nextCursor,
+                nextCursor != null
+        ));
+    }
+
     @GetMapping("/get/from")
     ResponseEntity<List<ArticleDto>> getAllArticlesFromUser(@RequestParam Long id) {
         return ResponseEntity.ok(
@@ -0,0 +1,15 @@
+package com.raczkowski.app.article;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ArticleDeletedEvent {
+    private final Long articleId;
+    private final List<Long> hashtagIds;
+    private final ZonedDateTime publishedAt;
+}
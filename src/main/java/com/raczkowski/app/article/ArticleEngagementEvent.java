@@ -0,0 +1,12 @@
+package com.raczkowski.app.article;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ArticleEngagementEvent {
+    private final Long articleId;
+    private final int likesDelta;
+    private final int commentsDelta;
+}
@@ -0,0 +1,49 @@
+package com.raczkowski.app.article;
+
+import com.raczkowski.app.dto.ArticleDto;
+import com.raczkowski.app.dtoMappers.ArticleDtoMapper;
+import com.raczkowski.app.likes.ArticleLikeRepository;
+import com.raczkowski.app.likes.LikeBuffer;
+import com.raczkowski.app.likes.LikeTarget;
+import com.raczkowski.app.user.AppUser;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@AllArgsConstructor
+public class ArticleFeedService {
+    private final ArticleLikeRepository articleLikeRepository;
+    private final LikeBuffer likeBuffer;
+
+    public List<ArticleDto> toFeed(List<Article> articles, AppUser user) {
+        if (articles.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> articleIds = articles.stream()
+                .map(Article::getId)
+                .toList();
+
+        Set<Long> likedArticles = user == null
+                ? Set.of()
+                : new HashSet<>(articleLikeRepository.findLikedArticleIds(user, articleIds));
+
+        return articles.stream()
+                .map(article -> ArticleDtoMapper.articleDtoMapperWithAdditionalFieldsMapper(
+                        article,
+                        isLiked(article, user, likedArticles),
+                        article.getCommentsNumber(),
+                        article.getLikesNumber() + likeBuffer.pendingDelta(LikeTarget.ARTICLE, article.getId())
+                ))
+                .toList();
+    }
+
+    private boolean isLiked(Article article, AppUser user, Set<Long> likedArticles) {
+        Boolean pending = user == null ? null : likeBuffer.pendingState(LikeTarget.ARTICLE, user.getId(), article.getId());
+        return pending != null ? pending : likedArticles.contains(article.getId());
+    }
+}
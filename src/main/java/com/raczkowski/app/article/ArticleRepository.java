@@ -1,19 +1,30 @@
 package com.raczkowski.app.article;
 
 import com.raczkowski.app.enums.ArticleStatus;
+import com.raczkowski.app.export.ArticleExportRow;
+import com.raczkowski.app.ranking.ArticleHeatRow;
+import com.raczkowski.app.search.ArticleSearchRow;
+import com.raczkowski.app.search.ArticleSearchState;
 import com.raczkowski.app.user.AppUser;
 import lombok.NonNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 @Transactional(readOnly = true)
@@ -23,21 +34,74 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
     @Query("SELECT a FROM Article a ORDER BY a.isPinned DESC")
     Page<Article> findAllWithPinnedFirst(Pageable pageable);
 
+    @Query("SELECT a FROM Article a WHERE a.status = 'APPROVED' AND a.isPinned = false " +
+            "AND (a.likesNumber < :likesNumber OR (a.likesNumber = :likesNumber AND a.id < :id)) " +
+            "ORDER BY a.likesNumber DESC, a.id DESC")
+    Slice<Article> findApprovedByLikesNumberAfter(@Param("likesNumber") int likesNumber, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT a FROM Article a WHERE a.status = 'APPROVED' AND a.isPinned = false AND a.id < :id ORDER BY a.id DESC")
+    Slice<Article> findApprovedByIdAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT a FROM Article a WHERE a.status = 'APPROVED' AND a.isPinned = true ORDER BY a.id DESC")
+    List<Article> findPinnedApproved();
+
     Article findArticleById(Long id);
 
     List<Article> findAllByAppUser(AppUser appUser);
 
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a.id AS id, a.title AS title, a.content AS content, a.status AS status, " +
+            "a.postedDate AS postedDate, a.updatedAt AS updatedAt, " +
+            "a.likesNumber AS likesNumber, a.commentsNumber AS commentsNumber " +
+            "FROM Article a WHERE a.appUser = :user ORDER BY a.id")
+    Stream<ArticleExportRow> streamExportRowsByAppUser(@Param("user") AppUser user);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.id AS id, a.acceptedAt AS acceptedAt, a.scheduledForDate AS scheduledForDate, " +
+            "a.updatedAt AS updatedAt FROM Article a WHERE a.status = 'APPROVED' ORDER BY a.id")
+    Stream<ArticleSearchState> streamApprovedSearchStates();
+
+    @Query("SELECT a.id AS id, a.title AS title, a.content AS content " +
+            "FROM Article a WHERE a.status = 'APPROVED' AND a.id IN :ids")
+    List<ArticleSearchRow> findApprovedSearchRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.id AS id, a.likesNumber AS likesNumber, a.commentsNumber AS commentsNumber, " +
+            "a.acceptedAt AS acceptedAt, a.scheduledForDate AS scheduledForDate FROM Article a " +
+            "WHERE a.status = 'APPROVED' AND (a.acceptedAt >= :since OR a.scheduledForDate >= :since)")
+    Stream<ArticleHeatRow> streamApprovedHeatRowsSince(@Param("since") ZonedDateTime since);
+
+    @Query("SELECT a.id AS id, a.likesNumber AS likesNumber, a.commentsNumber AS commentsNumber, " +
+            "a.acceptedAt AS acceptedAt, a.scheduledForDate AS scheduledForDate FROM Article a " +
+            "WHERE a.id = :id AND a.status = 'APPROVED'")
+    ArticleHeatRow findApprovedHeatRow(@Param("id") Long id);
+
+    @Query("SELECT a.appUser.id FROM Article a WHERE a.id = :id AND a.status = 'APPROVED'")
+    Long findApprovedAuthorId(@Param("id") Long id);
+
+    @Query("SELECT a.id FROM Article a WHERE a.appUser.id IN :authorIds AND a.status = 'APPROVED' " +
+            "AND a.id < :id ORDER BY a.id DESC")
+    List<Long> findApprovedIdsByAuthorsBefore(@Param("authorIds") Collection<Long> authorIds,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
     Page<Article> getArticleByAcceptedBy(AppUser appUser, Pageable pageable);
 
+    Slice<Article> findByAcceptedByAndIdLessThanOrderByIdDesc(AppUser appUser, Long id, Pageable pageable);
+
     List<Article> getAllByStatus(ArticleStatus status);
 
     @Transactional
     void deleteArticleById(@Param("id") Long id);
 
     @Transactional
-    @Modifying
-    @Query("UPDATE Article c SET c.status = 'APPROVED' WHERE c.id = :id")
-    void updateArticleStatus(@Param("id") Long id);
+    @Query(value = "UPDATE article SET status = 'APPROVED' " +
+            "WHERE status = 'SCHEDULED' AND scheduled_for_date <= :until " +
+            "RETURNING id", nativeQuery = true)
+    List<Long> publishScheduledUntil(@Param("until") ZonedDateTime until);
+
+    @Query("SELECT DISTINCT a.scheduledForDate FROM Article a WHERE a.status = 'SCHEDULED'")
+    List<ZonedDateTime> findPendingScheduledDates();
 
     @Transactional
     @Modifying
@@ -50,4 +114,19 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
     @Query("UPDATE Article c " +
             "SET c.isPinned = true WHERE c.id = :id")
     void pinArticle(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Article a SET a.commentsNumber = a.commentsNumber + :delta WHERE a.id = :id")
+    void updateCommentsNumber(@Param("id") Long id, @Param("delta") int delta);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE article a SET " +
+            "likes_number = (SELECT COUNT(*) FROM article_like l WHERE l.article_id = a.id), " +
+            "comments_number = (SELECT COUNT(*) FROM comment c WHERE c.article_id = a.id) " +
+            "WHERE a.likes_number <> (SELECT COUNT(*) FROM article_like l WHERE l.article_id = a.id) " +
+            "OR a.comments_number <> (SELECT COUNT(*) FROM comment c WHERE c.article_id = a.id)",
+            nativeQuery = true)
+    int reconcileCounters();
 }
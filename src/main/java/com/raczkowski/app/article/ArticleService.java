@@ -3,25 +3,29 @@ package com.raczkowski.app.article;
 import com.raczkowski.app.admin.moderation.article.ArticleToConfirm;
 import com.raczkowski.app.admin.moderation.article.ModerationArticleService;
 import com.raczkowski.app.common.GenericService;
+import com.raczkowski.app.common.PageCursor;
 import com.raczkowski.app.enums.ArticleStatus;
 import com.raczkowski.app.exceptions.ResponseException;
 import com.raczkowski.app.hashtags.Hashtag;
 import com.raczkowski.app.hashtags.HashtagService;
-import com.raczkowski.app.likes.ArticleLike;
 import com.raczkowski.app.likes.ArticleLikeRepository;
+import com.raczkowski.app.likes.LikeBuffer;
+import com.raczkowski.app.likes.LikeTarget;
 import com.raczkowski.app.user.AppUser;
 import com.raczkowski.app.user.UserRepository;
 import com.raczkowski.app.user.UserService;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.function.Function;
 
 @Service
 @AllArgsConstructor
@@ -33,6 +37,9 @@ public class ArticleService {
     private final ModerationArticleService moderationArticleService;
     private final DeletedArticleService deletedArticleService;
     private final HashtagService hashtagService;
+    private final LikeBuffer likeBuffer;
+    private final ScheduledArticlePublisher scheduledArticlePublisher;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ArticleToConfirm create(ArticleRequest request) {
         ArticleRequestValidator.validateCreationRequest(request);
@@ -64,6 +71,28 @@ public class ArticleService {
         return GenericService.paginate(pageNumber, pageSize, sortBy, sortDirection, articleRepository::findAllWithPinnedFirst);
     }
 
+    public Slice<Article> getArticlesByCursor(String cursor, int pageSize, String sortBy) {
+        return switch (sortBy) {
+            case "likesNumber" -> GenericService.paginateByCursor(cursor, pageSize,
+                    (pageCursor, pageable) -> articleRepository.findApprovedByLikesNumberAfter(
+                            pageCursor.getKeyAsInt(), pageCursor.getId(), pageable));
+            case "id" -> GenericService.paginateByCursor(cursor, pageSize,
+                    (pageCursor, pageable) -> articleRepository.findApprovedByIdAfter(pageCursor.getId(), pageable));
+            default -> throw new ResponseException("Cursor pagination doesn't support sorting by " + sortBy);
+        };
+    }
+
+    public Function<Article, PageCursor> cursorOf(String sortBy) {
+        if (sortBy.equals("likesNumber")) {
+            return article -> new PageCursor(article.getLikesNumber(), article.getId());
+        }
+        return article -> new PageCursor(article.getId(), article.getId());
+    }
+
+    public List<Article> getPinnedArticles() {
+        return articleRepository.findPinnedApproved();
+    }
+
     public List<Article> getArticlesFromUser(Long userID) {
         AppUser user = userRepository.getAppUserById(userID);
         if (user == null) {
@@ -93,11 +122,9 @@ public class ArticleService {
             throw new ResponseException("Article doesnt exists");
         }
 
-        if (!articleLikeRepository.existsArticleLikesByAppUserAndArticle(user, article)) {
-            articleLikeRepository.save(new ArticleLike(user, article, true));
-        } else {
-            articleLikeRepository.delete(articleLikeRepository.findByArticleAndAppUser(article, user));
-        }
+        boolean liked = likeBuffer.toggle(LikeTarget.ARTICLE, user.getId(), article.getId(),
+                () -> articleLikeRepository.existsArticleLikesByAppUserAndArticle(user, article));
+        eventPublisher.publishEvent(new ArticleEngagementEvent(article.getId(), liked ? 1 : -1, 0));
     }
 
     public void updateArticle(ArticleRequest articleRequest) {
@@ -131,27 +158,16 @@ public class ArticleService {
                     articleRequest.getContent(),
                     ZonedDateTime.now(ZoneOffset.UTC));
         }
+        eventPublisher.publishEvent(new ArticleUpdatedEvent(articleRequest.getId()));
     }
 
     public boolean isArticleLiked(Article article, AppUser user) {
-        return articleLikeRepository.existsArticleLikesByAppUserAndArticle(user, article);
-    }
-
-    public int getArticlesCountForUser(AppUser appUser) {
-        return articleRepository.findAllByAppUser(appUser).size();
+        return likeBuffer.isLiked(LikeTarget.ARTICLE, user.getId(), article.getId(),
+                () -> articleLikeRepository.existsArticleLikesByAppUserAndArticle(user, article));
     }
 
     @Scheduled(fixedRate = 900000)
-    @Transactional
     public void publishArticle() {
-        List<Article> articlesToPublish = articleRepository.getAllByStatus(ArticleStatus.SCHEDULED);
-        ZonedDateTime currentTime = ZonedDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MINUTES);
-
-        for (Article article : articlesToPublish) {
-            if (article.getScheduledForDate().truncatedTo(ChronoUnit.MINUTES).isBefore(currentTime) ||
-                    article.getScheduledForDate().truncatedTo(ChronoUnit.MINUTES).equals(currentTime)) {
-                articleRepository.updateArticleStatus(article.getId());
-            }
-        }
+        scheduledArticlePublisher.publishDueArticles();
     }
 }
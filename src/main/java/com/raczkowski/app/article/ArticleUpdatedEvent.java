@@ -0,0 +1,10 @@
+package com.raczkowski.app.article;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ArticleUpdatedEvent {
+    private final Long articleId;
+}
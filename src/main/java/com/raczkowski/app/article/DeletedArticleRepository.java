@@ -5,6 +5,7 @@ import com.raczkowski.app.user.AppUser;
 import lombok.NonNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,4 +19,6 @@ public interface DeletedArticleRepository extends JpaRepository<DeletedArticle,
     Page<DeletedArticle> getDeletedArticleByStatus(ArticleStatus status, Pageable pageable);
 
     @NonNull Page<DeletedArticle> findAll(@NonNull Pageable pageable);
+
+    Slice<DeletedArticle> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
 }
@@ -2,13 +2,18 @@ package com.raczkowski.app.article;
 
 import com.raczkowski.app.enums.ArticleStatus;
 import com.raczkowski.app.exceptions.ResponseException;
+import com.raczkowski.app.hashtags.Hashtag;
 import com.raczkowski.app.user.AppUser;
+import com.raczkowski.app.user.UserStatsStore;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
@@ -16,11 +21,20 @@ public class DeletedArticleService {
     private final DeletedArticleRepository deletedArticleRepository;
     private final ArticleRepository articleRepository;
     private final ArticleStatisticsService articleStatisticsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserStatsStore userStatsStore;
+
     @Transactional
     public void deleteArticle(Long articleId, ArticleStatus status, AppUser user) {
         Article article = articleRepository.findArticleById(articleId);
         if (article != null) {
+            Map<Long, Integer> removedComments = article.getComments().stream()
+                    .filter(comment -> comment.getAppUser() != null)
+                    .collect(Collectors.groupingBy(comment -> comment.getAppUser().getId(),
+                            Collectors.summingInt(comment -> -1)));
             articleRepository.deleteArticleById(articleId);
+            userStatsStore.adjustArticles(article.getAppUser().getId(), -1);
+            userStatsStore.adjustComments(removedComments);
             DeletedArticle deletedArticle = new DeletedArticle(
                     article.getTitle(),
                     article.getContent(),
@@ -36,8 +50,20 @@ public class DeletedArticleService {
                     user
             );
             deletedArticleRepository.save(deletedArticle);
+            eventPublisher.publishEvent(new ArticleDeletedEvent(
+                    articleId,
+                    article.getHashtags().stream().map(Hashtag::getId).toList(),
+                    publishedAt(article)
+            ));
         } else {
             throw new ResponseException("Article with this id doesn't exists");
         }
     }
+
+    private ZonedDateTime publishedAt(Article article) {
+        if (article.getStatus() != ArticleStatus.APPROVED) {
+            return null;
+        }
+        return article.getScheduledForDate() != null ? article.getScheduledForDate() : article.getAcceptedAt();
+    }
 }
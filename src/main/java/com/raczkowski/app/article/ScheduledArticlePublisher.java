@@ -0,0 +1,110 @@
+package com.raczkowski.app.article;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Publishes scheduled articles on time. Articles due within the same minute share one task that
+ * runs at the end of that minute (or exactly on it for whole-minute dates), so an article is
+ * never published before its scheduled date and at most a minute after it.
+ */
+@Component
+public class ScheduledArticlePublisher {
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledArticlePublisher.class);
+
+    private final ArticleRepository articleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadPoolTaskScheduler scheduler;
+    private final Clock clock;
+    private final Map<Instant, ScheduledFuture<?>> pendingMinutes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ScheduledArticlePublisher(ArticleRepository articleRepository, ApplicationEventPublisher eventPublisher) {
+        this(articleRepository, eventPublisher, new ThreadPoolTaskScheduler(), Clock.systemUTC());
+        scheduler.setThreadNamePrefix("article-publisher-");
+        scheduler.initialize();
+    }
+
+    ScheduledArticlePublisher(ArticleRepository articleRepository, ApplicationEventPublisher eventPublisher,
+                              ThreadPoolTaskScheduler scheduler, Clock clock) {
+        this.articleRepository = articleRepository;
+        this.eventPublisher = eventPublisher;
+        this.scheduler = scheduler;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void schedulePendingArticles() {
+        articleRepository.findPendingScheduledDates().forEach(this::schedule);
+        publishDueArticles();
+    }
+
+    public void schedule(ZonedDateTime scheduledForDate) {
+        Instant minute = ceilingMinute(scheduledForDate.toInstant());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    scheduleMinute(minute);
+                }
+            });
+        } else {
+            scheduleMinute(minute);
+        }
+    }
+
+    private void scheduleMinute(Instant minute) {
+        pendingMinutes.computeIfAbsent(minute, key -> scheduler.schedule(() -> {
+            pendingMinutes.remove(key);
+            publishDueArticles(key);
+        }, key));
+    }
+
+    public List<Long> publishDueArticles() {
+        return publishDueArticles(clock.instant());
+    }
+
+    /**
+     * Publishes everything due by {@code notBefore} or by now, whichever is later, so a task
+     * fired a moment early still publishes the minute it was scheduled for.
+     */
+    private List<Long> publishDueArticles(Instant notBefore) {
+        Instant now = clock.instant();
+        ZonedDateTime until = ZonedDateTime.ofInstant(now.isAfter(notBefore) ? now : notBefore, ZoneOffset.UTC);
+        List<Long> publishedIds = articleRepository.publishScheduledUntil(until);
+        if (!publishedIds.isEmpty()) {
+            logger.info("Published {} scheduled articles", publishedIds.size());
+        }
+        publishedIds.forEach(id -> eventPublisher.publishEvent(new ArticlePublishedEvent(id)));
+        return publishedIds;
+    }
+
+    private static Instant ceilingMinute(Instant instant) {
+        Instant minute = instant.truncatedTo(ChronoUnit.MINUTES);
+        return minute.equals(instant) ? minute : minute.plus(1, ChronoUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+}
@@ -1,6 +1,8 @@
 package com.raczkowski.app.authentication;
 
+import com.raczkowski.app.admin.common.PermissionValidator;
 import com.raczkowski.app.dto.LoginResponseDto;
+import com.raczkowski.app.dto.TokenCacheStatsDto;
 import com.raczkowski.app.dtoMappers.LoginResponseMapper;
 import com.raczkowski.app.exceptions.ResponseException;
 import com.raczkowski.app.user.UserService;
@@ -17,6 +19,7 @@ public class AuthenticationService {
     private final AuthenticationManager authenticationManager;
     private final UserService userService;
     private final JwtUtil jwtUtil;
+    private final PermissionValidator permissionValidator;
 
     public LoginResponseDto authenticate(AuthenticationRequest request) {
         if (request.getEmail() == null || request.getPassword() == null) {
@@ -35,4 +38,15 @@ public class AuthenticationService {
             throw new ResponseException("Invalid Credentials");
         }
     }
+
+    public TokenCacheStatsDto getTokenCacheStats() {
+        permissionValidator.validateIfUserIaAdmin();
+        return new TokenCacheStatsDto(
+                jwtUtil.getCachedTokens(),
+                jwtUtil.getCacheHits(),
+                jwtUtil.getCacheMisses(),
+                jwtUtil.getCacheHitRate(),
+                jwtUtil.getAverageVerificationNanos()
+        );
+    }
 }
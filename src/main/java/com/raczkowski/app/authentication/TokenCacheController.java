@@ -0,0 +1,20 @@
+package com.raczkowski.app.authentication;
+
+import com.raczkowski.app.dto.TokenCacheStatsDto;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/webapi/v1/auth")
+@AllArgsConstructor
+public class TokenCacheController {
+    private final AuthenticationService authenticationService;
+
+    @GetMapping("/token-cache/stats")
+    ResponseEntity<TokenCacheStatsDto> getTokenCacheStats() {
+        return ResponseEntity.ok(authenticationService.getTokenCacheStats());
+    }
+}
@@ -52,6 +52,9 @@ public class Comment {
     @Column(columnDefinition = "boolean default false")
     private boolean isPinned;
 
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int likesNumber;
+
     private String redditUrl;
 
     private String redditUsername;
@@ -1,17 +1,23 @@
 package com.raczkowski.app.comment;
 
 import com.raczkowski.app.article.Article;
+import com.raczkowski.app.export.CommentExportRow;
 import com.raczkowski.app.user.AppUser;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
@@ -26,6 +32,14 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     List<Comment> findAllByAppUser(AppUser appUser);
 
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c.id AS id, c.article.id AS articleId, c.content AS content, " +
+            "c.postedDate AS postedDate, c.updatedAt AS updatedAt, c.likesNumber AS likesNumber " +
+            "FROM Comment c WHERE c.appUser = :user ORDER BY c.id")
+    Stream<CommentExportRow> streamExportRowsByAppUser(@Param("user") AppUser user);
+
+    int countByArticleId(Long articleId);
+
     @Transactional
     @Modifying
     @Query("UPDATE Comment c " +
@@ -37,4 +51,12 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query("UPDATE Comment c " +
             "SET c.isPinned = true WHERE c.id = :id")
     void pinComment(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE comment c SET " +
+            "likes_number = (SELECT COUNT(*) FROM comment_like l WHERE l.comment_id = c.id) " +
+            "WHERE c.likes_number <> (SELECT COUNT(*) FROM comment_like l WHERE l.comment_id = c.id)",
+            nativeQuery = true)
+    int reconcileCounters();
 }
@@ -1,22 +1,28 @@
 package com.raczkowski.app.comment;
 
 import com.raczkowski.app.article.Article;
+import com.raczkowski.app.article.ArticleEngagementEvent;
 import com.raczkowski.app.article.ArticleRepository;
 import com.raczkowski.app.dto.CommentDto;
 import com.raczkowski.app.dtoMappers.CommentDtoMapper;
 import com.raczkowski.app.enums.UserRole;
 import com.raczkowski.app.exceptions.ResponseException;
-import com.raczkowski.app.likes.CommentLike;
 import com.raczkowski.app.likes.CommentLikeRepository;
+import com.raczkowski.app.likes.LikeBuffer;
+import com.raczkowski.app.likes.LikeTarget;
 import com.raczkowski.app.user.AppUser;
 import com.raczkowski.app.user.UserRepository;
 import com.raczkowski.app.user.UserService;
+import com.raczkowski.app.user.UserStatsStore;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @AllArgsConstructor
 @Service
@@ -27,6 +33,10 @@ public class CommentService {
     private final CommentLikeRepository commentLikeRepository;
     private final UserRepository userRepository;
     private final CommentStatisticsService commentStatisticsService;
+    private final LikeBuffer likeBuffer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CommentWriter commentWriter;
+    private final UserStatsStore userStatsStore;
 
     public List<CommentDto> getAllCommentsFromArticle(Long id) {
         return commentRepository.getCommentsByArticle(articleRepository.findArticleById(id))
@@ -40,6 +50,7 @@ public class CommentService {
                 ).toList();
     }
 
+    @Transactional
     public CommentDto addComment(CommentRequest commentRequest) {
 
         if (commentRequest.getContent().equals("")) {
@@ -58,12 +69,37 @@ public class CommentService {
                     articleRepository.findArticleById(commentRequest.getId()
                     ));
             commentRepository.save(comment);
+            articleRepository.updateCommentsNumber(commentRequest.getId(), 1);
+            userStatsStore.adjustComments(user.getId(), 1);
+            eventPublisher.publishEvent(new ArticleEngagementEvent(commentRequest.getId(), 0, 1));
         }
         return CommentDtoMapper.commentDtoMapper(comment, commentStatisticsService.getLikesCountForComment(comment));
     }
 
+    @Transactional
     public void createComment(Comment comment) {
         commentRepository.save(comment);
+        articleRepository.updateCommentsNumber(comment.getArticle().getId(), 1);
+        userStatsStore.adjustComments(comment.getAppUser().getId(), 1);
+        eventPublisher.publishEvent(new ArticleEngagementEvent(comment.getArticle().getId(), 0, 1));
+    }
+
+    /**
+     * Inserts imported comments with one JDBC batch and bumps each article's and each author's
+     * comment count once for all of their new comments.
+     */
+    @Transactional
+    public void createComments(List<Comment> comments) {
+        commentWriter.insert(comments);
+        comments.stream()
+                .collect(Collectors.groupingBy(comment -> comment.getArticle().getId(), Collectors.counting()))
+                .forEach((articleId, count) -> {
+                    articleRepository.updateCommentsNumber(articleId, count.intValue());
+                    eventPublisher.publishEvent(new ArticleEngagementEvent(articleId, 0, count.intValue()));
+                });
+        userStatsStore.adjustComments(comments.stream()
+                .filter(comment -> comment.getAppUser() != null)
+                .collect(Collectors.groupingBy(comment -> comment.getAppUser().getId(), Collectors.summingInt(comment -> 1))));
     }
 
     public void likeComment(Long id) {
@@ -73,13 +109,11 @@ public class CommentService {
             throw new ResponseException("Comment doesnt exists");
         }
 
-        if (!commentLikeRepository.existsCommentLikeByAppUserAndComment(userService.getLoggedUser(), comment)) {
-            commentLikeRepository.save(new CommentLike(userService.getLoggedUser(), comment, true));
-        } else {
-            commentLikeRepository.delete(commentLikeRepository.findByCommentAndAppUser(comment, user));
-        }
+        likeBuffer.toggle(LikeTarget.COMMENT, user.getId(), comment.getId(),
+                () -> commentLikeRepository.existsCommentLikeByAppUserAndComment(user, comment));
     }
 
+    @Transactional
     public String removeComment(Long id) {
         Comment comment = commentRepository.findCommentById(id);
         if (comment == null) {
@@ -92,6 +126,9 @@ public class CommentService {
             throw new ResponseException("User doesn't have permission to remove this comment");
         }
         commentRepository.deleteById(id);
+        articleRepository.updateCommentsNumber(comment.getArticle().getId(), -1);
+        userStatsStore.adjustComments(comment.getAppUser().getId(), -1);
+        eventPublisher.publishEvent(new ArticleEngagementEvent(comment.getArticle().getId(), 0, -1));
         return "Removed";
     }
 
@@ -118,11 +155,12 @@ public class CommentService {
     }
 
     public int getNumberCommentsOfArticle(Long id) {
-        return commentRepository.getCommentsByArticle(articleRepository.findArticleById(id)).size();
+        return commentRepository.countByArticleId(id);
     }
 
     private boolean isCommentLiked(Comment comment, AppUser user) {
-        return commentLikeRepository.existsCommentLikeByAppUserAndComment(user, comment);
+        return likeBuffer.isLiked(LikeTarget.COMMENT, user.getId(), comment.getId(),
+                () -> commentLikeRepository.existsCommentLikeByAppUserAndComment(user, comment));
     }
 
     public void pinComment(Long id) {
@@ -142,11 +180,7 @@ public class CommentService {
 
     }
 
-    public int getCommentsCountForUser(AppUser appUser) {
-        return commentRepository.findAllByAppUser(appUser).size();
-    }
-
     public int getCommentCountForArticle(Article article) {
-        return commentRepository.getCommentsByArticle(article).size();
+        return article.getCommentsNumber();
     }
 }
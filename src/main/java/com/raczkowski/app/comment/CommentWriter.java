@@ -0,0 +1,35 @@
+package com.raczkowski.app.comment;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Inserts imported comments with one JDBC batch; ids come from {@code comment_sequence} inside
+ * the statement instead of one sequence round trip per entity.
+ */
+@Component
+@AllArgsConstructor
+class CommentWriter {
+    private static final String INSERT_SQL =
+            "INSERT INTO comment (id, content, posted_date, app_user_id, article_id, is_updated, is_pinned, " +
+                    "likes_number, reddit_url, reddit_username) " +
+                    "VALUES (nextval('comment_sequence'), ?, ?, ?, ?, false, false, 0, ?, ?)";
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    void insert(List<Comment> comments) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, comments, BATCH_SIZE, (statement, comment) -> {
+            statement.setString(1, comment.getContent());
+            statement.setTimestamp(2, Timestamp.from(comment.getPostedDate().toInstant()));
+            statement.setObject(3, comment.getAppUser() == null ? null : comment.getAppUser().getId());
+            statement.setLong(4, comment.getArticle().getId());
+            statement.setString(5, comment.getRedditUrl());
+            statement.setString(6, comment.getRedditUsername());
+        });
+    }
+}
@@ -11,11 +11,14 @@ import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 @Service
@@ -43,6 +46,35 @@ public class GenericService {
         return deletedArticleRepository.findAll(pageable);
     }
 
+    public static <T> Slice<T> paginateByCursor(
+            String cursor,
+            int pageSize,
+            BiFunction<PageCursor, Pageable, Slice<T>> queryFunction) {
+
+        return queryFunction.apply(PageCursor.decode(cursor), PageRequest.of(0, pageSize));
+    }
+
+    public static <T> String nextCursor(Slice<T> slice, Function<T, PageCursor> cursorFunction) {
+        List<T> content = slice.getContent();
+        if (!slice.hasNext() || content.isEmpty()) {
+            return null;
+        }
+        return cursorFunction.apply(content.get(content.size() - 1)).encode();
+    }
+
+    public static <T, R> CursorPageResponse<R> toCursorPage(
+            Slice<T> slice,
+            Function<T, R> mapper,
+            Function<T, PageCursor> cursorFunction) {
+
+        String nextCursor = nextCursor(slice, cursorFunction);
+        return new CursorPageResponse<>(
+                slice.getContent().stream().map(mapper).toList(),
+                nextCursor,
+                nextCursor != null
+        );
+    }
+
     public static Page<Article> paginationOfElementsAcceptedByUser(AppUser user, ArticleRepository articleRepository, int pageNumber, int pageSize, String sortBy, String sortDirection) {
         Pageable pageable = PageRequest
                 .of(pageNumber - 1, pageSize, Sort.by(Sort.Direction.fromString(sortDirection), sortBy));
@@ -6,16 +6,29 @@ import io.jsonwebtoken.SignatureAlgorithm;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
+    private static final int MAX_CACHED_TOKENS = 10_000;
+
     private final String SECRET_KEY = "secret";
 
+    private final ConcurrentHashMap<String, Claims> claimsCache = new ConcurrentHashMap<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder verificationNanos = new LongAdder();
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -30,7 +43,66 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
+        String key = hash(token);
+        Claims cached = claimsCache.get(key);
+        if (cached != null) {
+            if (cached.getExpiration().after(new Date())) {
+                cacheHits.increment();
+                return cached;
+            }
+            claimsCache.remove(key, cached);
+        }
+
+        cacheMisses.increment();
+        long start = System.nanoTime();
+        Claims claims = Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
+        verificationNanos.add(System.nanoTime() - start);
+
+        if (claims.getExpiration() != null && hasRoomInCache()) {
+            claimsCache.put(key, claims);
+        }
+        return claims;
+    }
+
+    private boolean hasRoomInCache() {
+        if (claimsCache.size() < MAX_CACHED_TOKENS) {
+            return true;
+        }
+        Date now = new Date();
+        claimsCache.values().removeIf(claims -> !claims.getExpiration().after(now));
+        return claimsCache.size() < MAX_CACHED_TOKENS;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int getCachedTokens() {
+        return claimsCache.size();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public double getCacheHitRate() {
+        long hits = cacheHits.sum();
+        long total = hits + cacheMisses.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public long getAverageVerificationNanos() {
+        long misses = cacheMisses.sum();
+        return misses == 0 ? 0 : verificationNanos.sum() / misses;
     }
 
     private Boolean isTokenExpired(String token) {
@@ -0,0 +1,32 @@
+package com.raczkowski.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class NotificationOutboxStatsDto {
+    private long pending;
+
+    private long oldestPendingAgeMillis;
+
+    private long deadLetters;
+
+    private long delivered;
+
+    private long retried;
+
+    private long deadLettered;
+
+    private long latencyP50Millis;
+
+    private long latencyP95Millis;
+
+    private long latencyP99Millis;
+
+    private long latencyMaxMillis;
+}
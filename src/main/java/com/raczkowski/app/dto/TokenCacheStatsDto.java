@@ -0,0 +1,22 @@
+package com.raczkowski.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class TokenCacheStatsDto {
+    private int cachedTokens;
+
+    private long cacheHits;
+
+    private long cacheMisses;
+
+    private double cacheHitRate;
+
+    private long averageVerificationNanos;
+}
@@ -0,0 +1,16 @@
+package com.raczkowski.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class TrendingHashtagDto {
+    private String tag;
+
+    private long count;
+}
@@ -0,0 +1,32 @@
+package com.raczkowski.app.export;
+
+import com.raczkowski.app.enums.ArticleStatus;
+
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+public interface ArticleExportRow {
+    List<String> COLUMNS = List.of("id", "title", "content", "status", "postedDate", "updatedAt", "likesNumber", "commentsNumber");
+
+    Long getId();
+
+    String getTitle();
+
+    String getContent();
+
+    ArticleStatus getStatus();
+
+    ZonedDateTime getPostedDate();
+
+    ZonedDateTime getUpdatedAt();
+
+    int getLikesNumber();
+
+    int getCommentsNumber();
+
+    default List<Object> values() {
+        return Arrays.asList(getId(), getTitle(), getContent(), getStatus(), getPostedDate(), getUpdatedAt(),
+                getLikesNumber(), getCommentsNumber());
+    }
+}
@@ -0,0 +1,25 @@
+package com.raczkowski.app.export;
+
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+public interface CommentExportRow {
+    List<String> COLUMNS = List.of("id", "articleId", "content", "postedDate", "updatedAt", "likesNumber");
+
+    Long getId();
+
+    Long getArticleId();
+
+    String getContent();
+
+    ZonedDateTime getPostedDate();
+
+    ZonedDateTime getUpdatedAt();
+
+    int getLikesNumber();
+
+    default List<Object> values() {
+        return Arrays.asList(getId(), getArticleId(), getContent(), getPostedDate(), getUpdatedAt(), getLikesNumber());
+    }
+}
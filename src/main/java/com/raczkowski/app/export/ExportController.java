@@ -0,0 +1,51 @@
+package com.raczkowski.app.export;
+
+import com.raczkowski.app.user.AppUser;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping("/api/v1/export")
+public class ExportController {
+
+    private final UserExportService userExportService;
+    private final SurveyExportService surveyExportService;
+
+    @GetMapping("/user")
+    void exportUser(
+            @RequestParam Long id,
+            @RequestParam(name = "format", defaultValue = "jsonl") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        AppUser user = userExportService.resolveExportedUser(id);
+
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"user-" + id + "-export." + exportFormat.getExtension() + "\"");
+        userExportService.export(user, exportFormat, response.getOutputStream());
+    }
+
+    @GetMapping("/survey")
+    void exportSurvey(
+            @RequestParam Long id,
+            @RequestParam(name = "format", defaultValue = "csv") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        surveyExportService.resolveExportedSurvey(id);
+
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"survey-" + id + "-responses." + exportFormat.getExtension() + "\"");
+        surveyExportService.export(id, exportFormat, response.getOutputStream());
+    }
+}
@@ -0,0 +1,37 @@
+package com.raczkowski.app.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raczkowski.app.exceptions.ResponseException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+@Getter
+@AllArgsConstructor
+public enum ExportFormat {
+    JSONL("application/x-ndjson", "jsonl"),
+    CSV("text/csv", "csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String contentType;
+    private final String extension;
+
+    public RowWriter createWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        return switch (this) {
+            case JSONL -> new JsonLinesRowWriter(objectMapper, out);
+            case CSV -> new CsvRowWriter(out);
+            case XLSX -> new XlsxRowWriter(out);
+        };
+    }
+
+    public static ExportFormat of(String format) {
+        for (ExportFormat exportFormat : values()) {
+            if (exportFormat.extension.equalsIgnoreCase(format)) {
+                return exportFormat;
+            }
+        }
+        throw new ResponseException("Unsupported export format: " + format);
+    }
+}
@@ -0,0 +1,46 @@
+package com.raczkowski.app.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class JsonLinesRowWriter implements RowWriter {
+    private final ObjectMapper objectMapper;
+    private final JsonGenerator generator;
+    private String section;
+    private List<String> columns;
+
+    public JsonLinesRowWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        this.objectMapper = objectMapper;
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void section(String name, List<String> columns) {
+        this.section = name;
+        this.columns = columns;
+    }
+
+    @Override
+    public void row(List<Object> values) throws IOException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("type", section);
+        for (int i = 0; i < columns.size(); i++) {
+            line.put(columns.get(i), values.get(i));
+        }
+        objectMapper.writeValue(generator, line);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,17 @@
+package com.raczkowski.app.export;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes rows straight to the target stream; implementations must not buffer more than a bounded window.
+ */
+public interface RowWriter extends AutoCloseable {
+
+    void section(String name, List<String> columns) throws IOException;
+
+    void row(List<Object> values) throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,19 @@
+package com.raczkowski.app.export;
+
+import java.time.ZonedDateTime;
+
+/**
+ * One answer value of one survey response; a response without answers yields a single row
+ * with {@code null} question and value.
+ */
+public interface SurveyAnswerExportRow {
+    Long getResponseId();
+
+    Long getUserId();
+
+    ZonedDateTime getSubmittedAt();
+
+    Long getQuestionId();
+
+    String getAnswerValue();
+}
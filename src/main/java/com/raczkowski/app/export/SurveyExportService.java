@@ -0,0 +1,97 @@
+package com.raczkowski.app.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raczkowski.app.admin.common.PermissionValidator;
+import com.raczkowski.app.exceptions.ResponseException;
+import com.raczkowski.app.surveys.questions.Question;
+import com.raczkowski.app.surveys.survey.Survey;
+import com.raczkowski.app.surveys.survey.SurveysRepository;
+import com.raczkowski.app.surveys.surveyResponse.SurveyResponseRepository;
+import com.raczkowski.app.user.UserService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Exports the raw responses of a survey pivoted to one row per respondent and one column per
+ * question. Rows are streamed from the database ordered by response, so only the response being
+ * assembled is held in memory regardless of how many responses the survey has.
+ */
+@Service
+@AllArgsConstructor
+public class SurveyExportService {
+    private static final List<String> FIXED_COLUMNS = List.of("responseId", "userId", "submittedAt");
+    private static final String VALUE_SEPARATOR = "; ";
+
+    private final SurveysRepository surveysRepository;
+    private final SurveyResponseRepository surveyResponseRepository;
+    private final UserService userService;
+    private final PermissionValidator permissionValidator;
+    private final ObjectMapper objectMapper;
+
+    public Survey resolveExportedSurvey(Long surveyId) {
+        Survey survey = surveysRepository.findSurveyById(surveyId);
+        if (survey == null) {
+            throw new ResponseException("Survey not found");
+        }
+        if (!survey.getOwner().getId().equals(userService.getLoggedUser().getId())) {
+            permissionValidator.validateIfUserIsAdminOrOperator();
+        }
+        return survey;
+    }
+
+    @Transactional(readOnly = true)
+    public void export(Long surveyId, ExportFormat format, OutputStream out) throws IOException {
+        Survey survey = surveysRepository.findSurveyById(surveyId);
+        List<Question> questions = survey.getQuestions().stream()
+                .sorted(Comparator.comparing(Question::getId))
+                .toList();
+        Map<Long, Integer> columnByQuestion = new HashMap<>();
+        List<String> columns = new ArrayList<>(FIXED_COLUMNS);
+        for (Question question : questions) {
+            columnByQuestion.put(question.getId(), columns.size());
+            columns.add(question.getValue());
+        }
+
+        try (RowWriter writer = format.createWriter(objectMapper, out);
+             Stream<SurveyAnswerExportRow> rows = surveyResponseRepository.streamExportRowsBySurveyId(surveyId)) {
+            writer.section("responses", columns);
+            Iterator<SurveyAnswerExportRow> iterator = rows.iterator();
+            Object[] respondent = null;
+            Long responseId = null;
+            while (iterator.hasNext()) {
+                SurveyAnswerExportRow row = iterator.next();
+                if (!row.getResponseId().equals(responseId)) {
+                    if (respondent != null) {
+                        writer.row(Arrays.asList(respondent));
+                    }
+                    responseId = row.getResponseId();
+                    respondent = new Object[columns.size()];
+                    respondent[0] = row.getResponseId();
+                    respondent[1] = row.getUserId();
+                    respondent[2] = row.getSubmittedAt();
+                }
+                Integer column = columnByQuestion.get(row.getQuestionId());
+                if (column != null && row.getAnswerValue() != null) {
+                    respondent[column] = respondent[column] == null
+                            ? row.getAnswerValue()
+                            : respondent[column] + VALUE_SEPARATOR + row.getAnswerValue();
+                }
+            }
+            if (respondent != null) {
+                writer.row(Arrays.asList(respondent));
+            }
+        }
+    }
+}
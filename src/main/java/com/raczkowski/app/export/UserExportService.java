@@ -0,0 +1,63 @@
+package com.raczkowski.app.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raczkowski.app.admin.common.PermissionValidator;
+import com.raczkowski.app.article.ArticleRepository;
+import com.raczkowski.app.comment.CommentRepository;
+import com.raczkowski.app.exceptions.ResponseException;
+import com.raczkowski.app.user.AppUser;
+import com.raczkowski.app.user.UserRepository;
+import com.raczkowski.app.user.UserService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Service
+@AllArgsConstructor
+public class UserExportService {
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final PermissionValidator permissionValidator;
+    private final ArticleRepository articleRepository;
+    private final CommentRepository commentRepository;
+    private final ObjectMapper objectMapper;
+
+    public AppUser resolveExportedUser(Long userId) {
+        AppUser user = userRepository.getAppUserById(userId);
+        if (user == null) {
+            throw new ResponseException("There is no user");
+        }
+        if (!user.getId().equals(userService.getLoggedUser().getId())) {
+            permissionValidator.validateIfUserIsAdminOrOperator();
+        }
+        return user;
+    }
+
+    @Transactional(readOnly = true)
+    public void export(AppUser user, ExportFormat format, OutputStream out) throws IOException {
+        try (RowWriter writer = format.createWriter(objectMapper, out)) {
+            writer.section("articles", ArticleExportRow.COLUMNS);
+            try (Stream<ArticleExportRow> articles = articleRepository.streamExportRowsByAppUser(user)) {
+                write(writer, articles.iterator(), ArticleExportRow::values);
+            }
+
+            writer.section("comments", CommentExportRow.COLUMNS);
+            try (Stream<CommentExportRow> comments = commentRepository.streamExportRowsByAppUser(user)) {
+                write(writer, comments.iterator(), CommentExportRow::values);
+            }
+        }
+    }
+
+    private static <T> void write(RowWriter writer, Iterator<T> rows, Function<T, List<Object>> toValues) throws IOException {
+        while (rows.hasNext()) {
+            writer.row(toValues.apply(rows.next()));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.raczkowski.app.export;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+public class XlsxRowWriter implements RowWriter {
+    private static final int ROWS_IN_MEMORY = 100;
+
+    private final SXSSFWorkbook workbook = new SXSSFWorkbook(ROWS_IN_MEMORY);
+    private final OutputStream out;
+    private SXSSFSheet sheet;
+    private int rowNumber;
+
+    public XlsxRowWriter(OutputStream out) {
+        this.out = out;
+        workbook.setCompressTempFiles(true);
+    }
+
+    @Override
+    public void section(String name, List<String> columns) {
+        sheet = workbook.createSheet(name);
+        rowNumber = 0;
+        row(new ArrayList<>(columns));
+    }
+
+    @Override
+    public void row(List<Object> values) {
+        Row row = sheet.createRow(rowNumber++);
+        for (int i = 0; i < values.size(); i++) {
+            Object value = values.get(i);
+            Cell cell = row.createCell(i);
+            if (value instanceof Number number) {
+                cell.setCellValue(number.doubleValue());
+            } else if (value instanceof Boolean bool) {
+                cell.setCellValue(bool);
+            } else if (value != null) {
+                cell.setCellValue(value.toString());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+}
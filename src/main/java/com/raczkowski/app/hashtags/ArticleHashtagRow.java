@@ -0,0 +1,17 @@
+package com.raczkowski.app.hashtags;
+
+import java.time.ZonedDateTime;
+
+public interface ArticleHashtagRow {
+    Long getArticleId();
+
+    Long getHashtagId();
+
+    ZonedDateTime getAcceptedAt();
+
+    ZonedDateTime getScheduledForDate();
+
+    default ZonedDateTime getPublishedAt() {
+        return getScheduledForDate() != null ? getScheduledForDate() : getAcceptedAt();
+    }
+}
@@ -0,0 +1,344 @@
+package com.raczkowski.app.hashtags;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sorted set of article ids split into 2^16-wide chunks, in the spirit of roaring bitmaps:
+ * sparse chunks are sorted char arrays, dense chunks are 1024-word bitmaps.
+ * Not thread-safe; results of {@link #and} and {@link #or} may share chunks with their inputs
+ * and must be treated as read-only.
+ */
+class ArticleIdSet {
+    private static final int ARRAY_LIMIT = 4096;
+
+    private final TreeMap<Long, Container> containers = new TreeMap<>();
+
+    void add(long id) {
+        Container container = containers.get(high(id));
+        if (container == null) {
+            container = new ArrayContainer();
+        }
+        containers.put(high(id), container.add(low(id)));
+    }
+
+    void remove(long id) {
+        Container container = containers.get(high(id));
+        if (container == null) {
+            return;
+        }
+        Container updated = container.remove(low(id));
+        if (updated == null) {
+            containers.remove(high(id));
+        } else {
+            containers.put(high(id), updated);
+        }
+    }
+
+    boolean contains(long id) {
+        Container container = containers.get(high(id));
+        return container != null && container.contains(low(id));
+    }
+
+    boolean isEmpty() {
+        return containers.isEmpty();
+    }
+
+    long cardinality() {
+        long cardinality = 0;
+        for (Container container : containers.values()) {
+            cardinality += container.cardinality();
+        }
+        return cardinality;
+    }
+
+    /**
+     * Ids strictly lower than {@code beforeId}, highest first.
+     */
+    List<Long> descendingBefore(long beforeId, int limit) {
+        List<Long> ids = new ArrayList<>(limit);
+        if (beforeId <= 0 || limit <= 0) {
+            return ids;
+        }
+        long start = beforeId - 1;
+        for (Map.Entry<Long, Container> entry : containers.headMap(high(start), true).descendingMap().entrySet()) {
+            long high = entry.getKey();
+            Container container = entry.getValue();
+            int low = container.previous(high == high(start) ? low(start) : 0xFFFF);
+            while (low >= 0) {
+                ids.add(high << 16 | low);
+                if (ids.size() == limit) {
+                    return ids;
+                }
+                low = low == 0 ? -1 : container.previous(low - 1);
+            }
+        }
+        return ids;
+    }
+
+    static ArticleIdSet and(ArticleIdSet first, ArticleIdSet second) {
+        ArticleIdSet smaller = first.containers.size() <= second.containers.size() ? first : second;
+        ArticleIdSet larger = smaller == first ? second : first;
+
+        ArticleIdSet result = new ArticleIdSet();
+        smaller.containers.forEach((high, container) -> {
+            Container other = larger.containers.get(high);
+            if (other != null) {
+                Container intersection = container.and(other);
+                if (intersection != null) {
+                    result.containers.put(high, intersection);
+                }
+            }
+        });
+        return result;
+    }
+
+    static ArticleIdSet or(ArticleIdSet first, ArticleIdSet second) {
+        ArticleIdSet result = new ArticleIdSet();
+        result.containers.putAll(first.containers);
+        second.containers.forEach((high, container) ->
+                result.containers.merge(high, container, Container::or));
+        return result;
+    }
+
+    private static long high(long id) {
+        return id >>> 16;
+    }
+
+    private static char low(long id) {
+        return (char) id;
+    }
+
+    private interface Container {
+        Container add(char value);
+
+        Container remove(char value);
+
+        boolean contains(char value);
+
+        int cardinality();
+
+        /**
+         * Largest value lower than or equal to {@code from}, or -1.
+         */
+        int previous(int from);
+
+        Container and(Container other);
+
+        Container or(Container other);
+    }
+
+    private static final class ArrayContainer implements Container {
+        private char[] values;
+        private int size;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        public Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (size == ARRAY_LIMIT) {
+                return toBitmap().add(value);
+            }
+            int insertAt = -index - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(values.length * 2, ARRAY_LIMIT));
+            }
+            System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+            values[insertAt] = value;
+            size++;
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index < 0) {
+                return this;
+            }
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+            return size == 0 ? null : this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return size;
+        }
+
+        @Override
+        public int previous(int from) {
+            int index = Arrays.binarySearch(values, 0, size, (char) from);
+            if (index >= 0) {
+                return values[index];
+            }
+            int before = -index - 2;
+            return before >= 0 ? values[before] : -1;
+        }
+
+        @Override
+        public Container and(Container other) {
+            char[] intersection = new char[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (other.contains(values[i])) {
+                    intersection[count++] = values[i];
+                }
+            }
+            return count == 0 ? null : new ArrayContainer(intersection, count);
+        }
+
+        @Override
+        public Container or(Container other) {
+            if (other instanceof BitmapContainer bitmap) {
+                return bitmap.or(this);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            char[] union = new char[size + array.size];
+            int i = 0;
+            int j = 0;
+            int count = 0;
+            while (i < size || j < array.size) {
+                if (j == array.size || (i < size && values[i] < array.values[j])) {
+                    union[count++] = values[i++];
+                } else if (i == size || array.values[j] < values[i]) {
+                    union[count++] = array.values[j++];
+                } else {
+                    union[count++] = values[i++];
+                    j++;
+                }
+            }
+            ArrayContainer result = new ArrayContainer(union, count);
+            return count > ARRAY_LIMIT ? result.toBitmap() : result;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < size; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer implements Container {
+        private final long[] words = new long[1024];
+        private int cardinality;
+
+        @Override
+        public Container add(char value) {
+            long before = words[value >>> 6];
+            words[value >>> 6] |= 1L << value;
+            if (before != words[value >>> 6]) {
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            long before = words[value >>> 6];
+            words[value >>> 6] &= ~(1L << value);
+            if (before != words[value >>> 6]) {
+                cardinality--;
+            }
+            return cardinality <= ARRAY_LIMIT ? toArray() : this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & 1L << value) != 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public int previous(int from) {
+            int index = from >>> 6;
+            long word = words[index] & (-1L >>> (63 - (from & 63)));
+            while (true) {
+                if (word != 0) {
+                    return index * 64 + 63 - Long.numberOfLeadingZeros(word);
+                }
+                if (--index < 0) {
+                    return -1;
+                }
+                word = words[index];
+            }
+        }
+
+        @Override
+        public Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            BitmapContainer bitmap = (BitmapContainer) other;
+            BitmapContainer result = new BitmapContainer();
+            for (int i = 0; i < words.length; i++) {
+                result.words[i] = words[i] & bitmap.words[i];
+                result.cardinality += Long.bitCount(result.words[i]);
+            }
+            if (result.cardinality == 0) {
+                return null;
+            }
+            return result.cardinality <= ARRAY_LIMIT ? result.toArray() : result;
+        }
+
+        @Override
+        public Container or(Container other) {
+            BitmapContainer result = new BitmapContainer();
+            System.arraycopy(words, 0, result.words, 0, words.length);
+            result.cardinality = cardinality;
+            if (other instanceof BitmapContainer bitmap) {
+                result.cardinality = 0;
+                for (int i = 0; i < words.length; i++) {
+                    result.words[i] |= bitmap.words[i];
+                    result.cardinality += Long.bitCount(result.words[i]);
+                }
+            } else {
+                ArrayContainer array = (ArrayContainer) other;
+                for (int i = 0; i < array.size; i++) {
+                    result.add(array.values[i]);
+                }
+            }
+            return result;
+        }
+
+        private Container toArray() {
+            if (cardinality == 0) {
+                return null;
+            }
+            char[] values = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[count++] = (char) (i * 64 + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+    }
+}
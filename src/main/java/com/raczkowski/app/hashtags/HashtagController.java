@@ -0,0 +1,37 @@
+package com.raczkowski.app.hashtags;
+
+import com.raczkowski.app.common.CursorPageResponse;
+import com.raczkowski.app.dto.ArticleDto;
+import com.raczkowski.app.dto.TrendingHashtagDto;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/hashtags")
+@AllArgsConstructor
+public class HashtagController {
+    private final HashtagFeedService hashtagFeedService;
+
+    @GetMapping("/articles")
+    ResponseEntity<CursorPageResponse<ArticleDto>> getArticlesByTags(
+            @RequestParam(name = "tags") List<String> tags,
+            @RequestParam(name = "mode", defaultValue = "or") String mode,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(hashtagFeedService.getArticlesByTags(tags, mode, cursor, size));
+    }
+
+    @GetMapping("/trending")
+    ResponseEntity<List<TrendingHashtagDto>> getTrending(
+            @RequestParam(name = "limit", defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(hashtagFeedService.getTrending(limit));
+    }
+}
@@ -0,0 +1,77 @@
+package com.raczkowski.app.hashtags;
+
+import com.raczkowski.app.article.Article;
+import com.raczkowski.app.article.ArticleFeedService;
+import com.raczkowski.app.article.ArticleRepository;
+import com.raczkowski.app.common.CursorPageResponse;
+import com.raczkowski.app.common.PageCursor;
+import com.raczkowski.app.dto.ArticleDto;
+import com.raczkowski.app.dto.TrendingHashtagDto;
+import com.raczkowski.app.enums.ArticleStatus;
+import com.raczkowski.app.exceptions.ResponseException;
+import com.raczkowski.app.user.UserService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@AllArgsConstructor
+public class HashtagFeedService {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final HashtagIndex hashtagIndex;
+    private final HashtagService hashtagService;
+    private final ArticleRepository articleRepository;
+    private final ArticleFeedService articleFeedService;
+    private final UserService userService;
+
+    public CursorPageResponse<ArticleDto> getArticlesByTags(List<String> tags, String mode, String cursor, int size) {
+        if (size < 1) {
+            throw new ResponseException("Page size must be at least 1");
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        boolean matchAll = switch (mode.toLowerCase()) {
+            case "and" -> true;
+            case "or" -> false;
+            default -> throw new ResponseException("Unknown tag matching mode " + mode);
+        };
+
+        List<Long> tagIds = hashtagService.resolveTagIds(tags);
+        if (tagIds.isEmpty() || (matchAll && tagIds.contains(null))) {
+            return new CursorPageResponse<>(List.of(), null, false);
+        }
+
+        List<Long> articleIds = hashtagIndex.findArticleIds(
+                tagIds.stream().filter(Objects::nonNull).distinct().toList(),
+                matchAll,
+                PageCursor.decode(cursor).getId(),
+                pageSize + 1
+        );
+        boolean hasNext = articleIds.size() > pageSize;
+        List<Long> pageIds = hasNext ? articleIds.subList(0, pageSize) : articleIds;
+
+        List<Article> articles = articleRepository.findAllById(pageIds).stream()
+                .filter(article -> article.getStatus() == ArticleStatus.APPROVED)
+                .sorted(Comparator.comparing(Article::getId).reversed())
+                .toList();
+
+        String nextCursor = hasNext
+                ? new PageCursor(pageIds.get(pageIds.size() - 1), pageIds.get(pageIds.size() - 1)).encode()
+                : null;
+        return new CursorPageResponse<>(
+                articleFeedService.toFeed(articles, userService.getLoggedUser()),
+                nextCursor,
+                hasNext
+        );
+    }
+
+    public List<TrendingHashtagDto> getTrending(int limit) {
+        return hashtagIndex.getTrending(limit).stream()
+                .map(entry -> new TrendingHashtagDto(hashtagService.getTag(entry.getKey()), entry.getValue()))
+                .filter(dto -> dto.getTag() != null)
+                .toList();
+    }
+}
@@ -0,0 +1,146 @@
+package com.raczkowski.app.hashtags;
+
+import com.raczkowski.app.article.ArticleDeletedEvent;
+import com.raczkowski.app.article.ArticlePublishedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index from hashtag id to the ids of approved articles using it, plus
+ * per-tag publication counts over the last day. Built from the database once the application
+ * is ready and kept current from publish and delete events.
+ */
+@Component
+public class HashtagIndex {
+    private static final Logger logger = LoggerFactory.getLogger(HashtagIndex.class);
+    private static final Duration TRENDING_BUCKET = Duration.ofHours(1);
+    private static final int TRENDING_BUCKETS = 24;
+
+    private final HashtagRepository hashtagRepository;
+    private final Clock clock = Clock.systemUTC();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, ArticleIdSet> postings = new HashMap<>();
+    private SlidingWindowCounter trending;
+
+    public HashtagIndex(HashtagRepository hashtagRepository) {
+        this.hashtagRepository = hashtagRepository;
+        this.trending = new SlidingWindowCounter(clock, TRENDING_BUCKET, TRENDING_BUCKETS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<Long, ArticleIdSet> rebuiltPostings = new HashMap<>();
+        SlidingWindowCounter rebuiltTrending = new SlidingWindowCounter(clock, TRENDING_BUCKET, TRENDING_BUCKETS);
+        try (Stream<ArticleHashtagRow> rows = hashtagRepository.streamApprovedArticleHashtags()) {
+            rows.forEach(row -> {
+                rebuiltPostings.computeIfAbsent(row.getHashtagId(), id -> new ArticleIdSet()).add(row.getArticleId());
+                if (row.getPublishedAt() != null) {
+                    rebuiltTrending.add(row.getHashtagId(), row.getPublishedAt().toInstant(), 1);
+                }
+            });
+        }
+
+        lock.writeLock().lock();
+        try {
+            postings = rebuiltPostings;
+            trending = rebuiltTrending;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Hashtag index built for {} tags", rebuiltPostings.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlePublished(ArticlePublishedEvent event) {
+        List<Long> hashtagIds = hashtagRepository.findIdsByArticleId(event.getArticleId());
+        if (hashtagIds.isEmpty()) {
+            return;
+        }
+        Instant now = clock.instant();
+
+        lock.writeLock().lock();
+        try {
+            for (Long hashtagId : hashtagIds) {
+                postings.computeIfAbsent(hashtagId, id -> new ArticleIdSet()).add(event.getArticleId());
+                trending.add(hashtagId, now, 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleDeleted(ArticleDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Long hashtagId : event.getHashtagIds()) {
+                ArticleIdSet articleIds = postings.get(hashtagId);
+                if (articleIds != null) {
+                    articleIds.remove(event.getArticleId());
+                    if (articleIds.isEmpty()) {
+                        postings.remove(hashtagId);
+                    }
+                }
+                if (event.getPublishedAt() != null) {
+                    trending.add(hashtagId, event.getPublishedAt().toInstant(), -1);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of articles tagged with all ({@code matchAll}) or any of the given tags, lower than
+     * {@code beforeId}, highest first.
+     */
+    public List<Long> findArticleIds(List<Long> hashtagIds, boolean matchAll, long beforeId, int limit) {
+        lock.readLock().lock();
+        try {
+            ArticleIdSet result = null;
+            for (Long hashtagId : hashtagIds) {
+                ArticleIdSet articleIds = postings.get(hashtagId);
+                if (articleIds == null) {
+                    if (matchAll) {
+                        return List.of();
+                    }
+                    continue;
+                }
+                if (result == null) {
+                    result = articleIds;
+                } else {
+                    result = matchAll ? ArticleIdSet.and(result, articleIds) : ArticleIdSet.or(result, articleIds);
+                }
+            }
+            return result == null ? List.of() : result.descendingBefore(beforeId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Map.Entry<Long, Integer>> getTrending(int limit) {
+        lock.readLock().lock();
+        try {
+            return trending.top(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
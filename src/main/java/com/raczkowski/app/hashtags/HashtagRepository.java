@@ -1,12 +1,37 @@
 package com.raczkowski.app.hashtags;
 
-import com.raczkowski.app.article.Article;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface HashtagRepository extends JpaRepository<Hashtag, Long> {
     Hashtag findByTag(String tag);
 
-    //List<Hashtag> getHashtagsByArticles(Article article);
+    List<Hashtag> findAllByTagIn(Collection<String> tags);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO hashtag (id, tag) " +
+            "SELECT nextval('hibernate_sequence'), t FROM unnest(string_to_array(:tags, ',')) AS t " +
+            "ON CONFLICT (tag) DO NOTHING", nativeQuery = true)
+    int insertMissingTags(@Param("tags") String tags);
+
+    @Query("SELECT h.id FROM Article a JOIN a.hashtags h WHERE a.id = :articleId")
+    List<Long> findIdsByArticleId(@Param("articleId") Long articleId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.id AS articleId, h.id AS hashtagId, " +
+            "a.acceptedAt AS acceptedAt, a.scheduledForDate AS scheduledForDate " +
+            "FROM Article a JOIN a.hashtags h WHERE a.status = 'APPROVED'")
+    Stream<ArticleHashtagRow> streamApprovedArticleHashtags();
 }
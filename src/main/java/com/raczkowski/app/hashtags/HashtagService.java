@@ -1,41 +1,93 @@
 package com.raczkowski.app.hashtags;
 
-import com.raczkowski.app.article.Article;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Service
 public class HashtagService {
+    private static final Pattern HASHTAG_PATTERN = Pattern.compile("#\\w+");
 
     private final HashtagRepository hashtagRepository;
+    private final Map<String, Long> tagIds = new ConcurrentHashMap<>();
+    private final Map<Long, String> tagNames = new ConcurrentHashMap<>();
 
-    public List<Hashtag> parseHashtags(String hashtagString) {
-        Pattern pattern = Pattern.compile("#\\w+");
-        Matcher matcher = pattern.matcher(hashtagString);
-
-        List<Hashtag> hashtags = new ArrayList<>();
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpDictionary() {
+        hashtagRepository.findAll().forEach(this::remember);
+    }
 
+    public List<Hashtag> parseHashtags(String hashtagString) {
+        Set<String> tags = new LinkedHashSet<>();
+        Matcher matcher = HASHTAG_PATTERN.matcher(hashtagString);
         while (matcher.find()) {
-            String name = matcher.group();
-            Hashtag hashtag = findOrCreateHashtag(name);
-            hashtags.add(hashtag);
+            tags.add(matcher.group());
+        }
+        if (tags.isEmpty()) {
+            return List.of();
         }
 
+        Map<String, Hashtag> created = createMissingHashtags(tags);
+
+        List<Hashtag> hashtags = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            Hashtag hashtag = created.get(tag);
+            hashtags.add(hashtag != null ? hashtag : hashtagRepository.getReferenceById(tagIds.get(tag)));
+        }
         return hashtags;
     }
 
-    private Hashtag findOrCreateHashtag(String tag) {
-        Hashtag hashtag = hashtagRepository.findByTag(tag);
-        if (hashtag == null) {
-            hashtag = new Hashtag(tag);
-            hashtagRepository.save(hashtag);
+    /**
+     * Ids of the given tags, with or without the leading {@code #}; unknown tags resolve to {@code null}.
+     */
+    public List<Long> resolveTagIds(List<String> tags) {
+        List<Long> ids = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            String normalized = tag.trim();
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            ids.add(tagIds.get(normalized.startsWith("#") ? normalized : "#" + normalized));
+        }
+        return ids;
+    }
+
+    public String getTag(Long id) {
+        return tagNames.get(id);
+    }
+
+    private void remember(Hashtag hashtag) {
+        tagIds.put(hashtag.getTag(), hashtag.getId());
+        tagNames.put(hashtag.getId(), hashtag.getTag());
+    }
+
+    private Map<String, Hashtag> createMissingHashtags(Set<String> tags) {
+        List<String> unknownTags = tags.stream()
+                .filter(tag -> !tagIds.containsKey(tag))
+                .toList();
+        if (unknownTags.isEmpty()) {
+            return Map.of();
+        }
+
+        hashtagRepository.insertMissingTags(String.join(",", unknownTags));
+
+        Map<String, Hashtag> created = new HashMap<>();
+        for (Hashtag hashtag : hashtagRepository.findAllByTagIn(unknownTags)) {
+            remember(hashtag);
+            created.put(hashtag.getTag(), hashtag);
         }
-        return hashtag;
+        return created;
     }
 }
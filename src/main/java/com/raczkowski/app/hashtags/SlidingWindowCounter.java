@@ -0,0 +1,87 @@
+package com.raczkowski.app.hashtags;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Counts per key over the last {@code bucketCount} buckets. Totals are kept up to date on every
+ * change, so reading the top keys never has to sum the buckets.
+ */
+class SlidingWindowCounter {
+    private final Clock clock;
+    private final long bucketMillis;
+    private final long[] bucketIds;
+    private final List<Map<Long, Integer>> buckets;
+    private final Map<Long, Integer> totals = new HashMap<>();
+
+    SlidingWindowCounter(Clock clock, Duration bucketSize, int bucketCount) {
+        this.clock = clock;
+        this.bucketMillis = bucketSize.toMillis();
+        this.bucketIds = new long[bucketCount];
+        Arrays.fill(bucketIds, Long.MIN_VALUE);
+        this.buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    synchronized void add(Long key, Instant at, int delta) {
+        long current = currentBucket();
+        long bucket = Math.min(at.toEpochMilli() / bucketMillis, current);
+        if (bucket <= current - bucketIds.length) {
+            return;
+        }
+        expire(current);
+
+        int slot = (int) Math.floorMod(bucket, (long) bucketIds.length);
+        bucketIds[slot] = bucket;
+        merge(buckets.get(slot), key, delta);
+        merge(totals, key, delta);
+    }
+
+    synchronized List<Map.Entry<Long, Integer>> top(int limit) {
+        expire(currentBucket());
+
+        PriorityQueue<Map.Entry<Long, Integer>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<Long, Integer> total : totals.entrySet()) {
+            if (total.getValue() <= 0) {
+                continue;
+            }
+            if (top.size() < limit) {
+                top.add(Map.entry(total.getKey(), total.getValue()));
+            } else if (!top.isEmpty() && top.peek().getValue() < total.getValue()) {
+                top.poll();
+                top.add(Map.entry(total.getKey(), total.getValue()));
+            }
+        }
+
+        List<Map.Entry<Long, Integer>> result = new ArrayList<>(top);
+        result.sort(Map.Entry.<Long, Integer>comparingByValue(Comparator.reverseOrder()));
+        return result;
+    }
+
+    private void expire(long current) {
+        for (int slot = 0; slot < bucketIds.length; slot++) {
+            if (bucketIds[slot] <= current - bucketIds.length && !buckets.get(slot).isEmpty()) {
+                buckets.get(slot).forEach((key, count) -> merge(totals, key, -count));
+                buckets.get(slot).clear();
+            }
+        }
+    }
+
+    private long currentBucket() {
+        return clock.millis() / bucketMillis;
+    }
+
+    private static void merge(Map<Long, Integer> counts, Long key, int delta) {
+        counts.merge(key, delta, (count, change) -> count + change == 0 ? null : count + change);
+    }
+}
@@ -14,6 +14,7 @@ import javax.persistence.*;
 @EqualsAndHashCode
 @NoArgsConstructor
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uc_article_like_article_user", columnNames = {"article_id", "app_user_id"}))
 public class ArticleLike {
     @SequenceGenerator(
             name = "like_type_sequence",
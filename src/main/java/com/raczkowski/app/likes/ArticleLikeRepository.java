@@ -3,7 +3,10 @@ package com.raczkowski.app.likes;
 import com.raczkowski.app.user.AppUser;
 import com.raczkowski.app.article.Article;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ArticleLikeRepository extends JpaRepository<ArticleLike, Long> {
@@ -15,4 +18,7 @@ public interface ArticleLikeRepository extends JpaRepository<ArticleLike, Long>
     List<ArticleLike> findAllByArticle(Article article);
 
     void deleteArticleLikesByArticle(Article article);
-}
\ No newline at end of file
+
+    @Query("SELECT al.article.id FROM ArticleLike al WHERE al.appUser = :user AND al.article.id IN :articleIds")
+    List<Long> findLikedArticleIds(@Param("user") AppUser user, @Param("articleIds") Collection<Long> articleIds);
+}
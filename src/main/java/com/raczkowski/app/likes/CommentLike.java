@@ -14,6 +14,7 @@ import javax.persistence.*;
 @EqualsAndHashCode
 @NoArgsConstructor
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uc_comment_like_comment_user", columnNames = {"comment_id", "app_user_id"}))
 public class CommentLike {
     @SequenceGenerator(
             name = "like_sequence",
@@ -0,0 +1,33 @@
+package com.raczkowski.app.likes;
+
+import com.raczkowski.app.article.ArticleRepository;
+import com.raczkowski.app.comment.CommentRepository;
+import com.raczkowski.app.user.UserStatsStore;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+public class CountersReconciliationScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(CountersReconciliationScheduler.class);
+
+    private final ArticleRepository articleRepository;
+    private final CommentRepository commentRepository;
+    private final UserStatsStore userStatsStore;
+
+    @Scheduled(cron = "0 0 4 * * *")
+    public void reconcileCounters() {
+        int articles = articleRepository.reconcileCounters();
+        int comments = commentRepository.reconcileCounters();
+        if (articles > 0 || comments > 0) {
+            logger.warn("Repaired counters drift for {} articles and {} comments", articles, comments);
+        }
+        int users = userStatsStore.reconcile();
+        if (users > 0) {
+            logger.warn("Repaired stats drift for {} users", users);
+        }
+    }
+}
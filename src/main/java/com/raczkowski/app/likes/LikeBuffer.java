@@ -0,0 +1,301 @@
+package com.raczkowski.app.likes;
+
+import com.raczkowski.app.exceptions.ResponseException;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+@Component
+public class LikeBuffer {
+    private static final Logger logger = LoggerFactory.getLogger(LikeBuffer.class);
+    private static final int MAX_PENDING = 10_000;
+    private static final long MAX_WAIT_FOR_ROOM_MILLIS = 200;
+    private static final int MAX_ATTEMPTS = 20;
+    private static final long RETRY_BACKOFF_MILLIS = 250;
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 30_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskScheduler flusher;
+    private final Clock clock;
+
+    private final ConcurrentHashMap<LikeKey, PendingLike> pending = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<TargetKey, AtomicInteger> pendingDeltas = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private final Object room = new Object();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    @Autowired
+    public LikeBuffer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this(jdbcTemplate, transactionManager, new ThreadPoolTaskScheduler(), Clock.systemUTC());
+        flusher.setThreadNamePrefix("like-flusher-");
+        flusher.initialize();
+    }
+
+    LikeBuffer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+               ThreadPoolTaskScheduler flusher, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flusher = flusher;
+        this.clock = clock;
+    }
+
+    public boolean toggle(LikeTarget target, Long userId, Long targetId, BooleanSupplier persistedState) {
+        LikeKey key = new LikeKey(target, userId, targetId);
+        PendingLike seen = pending.get(key);
+        if (seen == null) {
+            awaitRoom();
+        }
+        boolean persisted = seen != null ? seen.liked : persistedState.getAsBoolean();
+        PendingLike updated = pending.compute(key, (k, current) -> {
+            PendingLike next = current == null
+                    ? new PendingLike(persisted, !persisted, 0, 0)
+                    : new PendingLike(current.persisted, !current.liked, current.attempts, current.retryAt);
+            adjustDelta(k, current, next);
+            return next;
+        });
+        return updated.liked;
+    }
+
+    /**
+     * Flipping a buffered key never grows the map, only new keys have to wait for a flush to free up
+     * room. Changes waiting for a retry count against the limit too, so an unreachable database makes
+     * callers back off instead of piling up memory.
+     */
+    private void awaitRoom() {
+        if (pending.size() < MAX_PENDING) {
+            return;
+        }
+        requestFlush();
+        long deadline = System.nanoTime() + MAX_WAIT_FOR_ROOM_MILLIS * 1_000_000;
+        synchronized (room) {
+            while (pending.size() >= MAX_PENDING) {
+                long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+                if (remainingMillis <= 0) {
+                    throw new ResponseException("Too many pending likes, please try again later");
+                }
+                try {
+                    room.wait(remainingMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ResponseException("Too many pending likes, please try again later");
+                }
+            }
+        }
+    }
+
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        }
+    }
+
+    public boolean isLiked(LikeTarget target, Long userId, Long targetId, BooleanSupplier persistedState) {
+        PendingLike state = pending.get(new LikeKey(target, userId, targetId));
+        return state != null ? state.liked : persistedState.getAsBoolean();
+    }
+
+    public Boolean pendingState(LikeTarget target, Long userId, Long targetId) {
+        PendingLike state = pending.get(new LikeKey(target, userId, targetId));
+        return state == null ? null : state.liked;
+    }
+
+    public int pendingDelta(LikeTarget target, Long targetId) {
+        AtomicInteger delta = pendingDeltas.get(new TargetKey(target, targetId));
+        return delta == null ? 0 : delta.get();
+    }
+
+    @Scheduled(fixedDelay = 250)
+    public void flush() {
+        synchronized (flushLock) {
+            long now = clock.millis();
+            Map<LikeKey, PendingLike> snapshot = new HashMap<>();
+            pending.forEach((key, state) -> {
+                if (!state.isDirty()) {
+                    pending.computeIfPresent(key, (k, current) -> current.isDirty() ? current : null);
+                } else if (state.retryAt <= now) {
+                    snapshot.put(key, state);
+                }
+            });
+            if (!snapshot.isEmpty()) {
+                writeSnapshot(snapshot, now);
+            }
+        }
+        synchronized (room) {
+            room.notifyAll();
+        }
+    }
+
+    private void writeSnapshot(Map<LikeKey, PendingLike> snapshot, long now) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(snapshot));
+            snapshot.forEach(this::markPersisted);
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Batched like flush of {} changes violated a constraint, retrying one by one", snapshot.size(), e);
+            snapshot.forEach(this::flushSingle);
+        } catch (RuntimeException e) {
+            logger.warn("Batched like flush of {} changes failed, retrying later", snapshot.size(), e);
+            snapshot.keySet().forEach(key -> retryLater(key, now));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flusher.shutdown();
+        flush();
+    }
+
+    /**
+     * Isolates the change that broke a batch: a constraint violation (e.g. the target was deleted)
+     * will never succeed and is dropped, anything else is retried with the rest on a later flush.
+     */
+    private void flushSingle(LikeKey key, PendingLike state) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(Map.of(key, state)));
+            markPersisted(key, state);
+        } catch (DataIntegrityViolationException e) {
+            logger.error("Dropping like change of user {} for {} {}", key.userId, key.target, key.targetId, e);
+            pending.computeIfPresent(key, (k, current) -> {
+                adjustDelta(k, current, null);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Like change of user {} for {} {} failed, retrying later", key.userId, key.target, key.targetId, e);
+            retryLater(key, clock.millis());
+        }
+    }
+
+    private void retryLater(LikeKey key, long now) {
+        pending.computeIfPresent(key, (k, current) -> {
+            int attempts = current.attempts + 1;
+            if (attempts >= MAX_ATTEMPTS) {
+                logger.error("Dropping like change of user {} for {} {} after {} attempts",
+                        k.userId, k.target, k.targetId, attempts);
+                adjustDelta(k, current, null);
+                return null;
+            }
+            long backoff = Math.min(RETRY_BACKOFF_MILLIS << (attempts - 1), MAX_RETRY_BACKOFF_MILLIS);
+            return new PendingLike(current.persisted, current.liked, attempts, now + backoff);
+        });
+    }
+
+    /**
+     * Inserts are idempotent and deletes may find nothing, so the counters move only by the rows
+     * each statement actually changed.
+     */
+    private void write(Map<LikeKey, PendingLike> changes) {
+        for (LikeTarget target : LikeTarget.values()) {
+            List<LikeKey> inserts = new ArrayList<>();
+            List<LikeKey> deletes = new ArrayList<>();
+            changes.forEach((key, state) -> {
+                if (key.target == target) {
+                    (state.liked ? inserts : deletes).add(key);
+                }
+            });
+
+            Map<Long, Integer> counters = new HashMap<>();
+            if (!inserts.isEmpty()) {
+                countChangedRows(counters, inserts, jdbcTemplate.batchUpdate(target.insertSql, arguments(inserts)), 1);
+            }
+            if (!deletes.isEmpty()) {
+                countChangedRows(counters, deletes, jdbcTemplate.batchUpdate(target.deleteSql, arguments(deletes)), -1);
+            }
+            counters.values().removeIf(delta -> delta == 0);
+            if (!counters.isEmpty()) {
+                jdbcTemplate.batchUpdate(target.counterSql, counters.entrySet().stream()
+                        .map(counter -> new Object[]{counter.getValue(), counter.getKey()})
+                        .toList());
+            }
+        }
+    }
+
+    private static List<Object[]> arguments(List<LikeKey> keys) {
+        return keys.stream()
+                .map(key -> new Object[]{key.userId, key.targetId})
+                .toList();
+    }
+
+    private static void countChangedRows(Map<Long, Integer> counters, List<LikeKey> keys, int[] rows, int sign) {
+        for (int i = 0; i < keys.size(); i++) {
+            if (rows[i] > 0) {
+                counters.merge(keys.get(i).targetId, sign * rows[i], Integer::sum);
+            }
+        }
+    }
+
+    private void markPersisted(LikeKey key, PendingLike flushed) {
+        pending.computeIfPresent(key, (k, current) -> {
+            PendingLike next = current.liked == flushed.liked ? null : new PendingLike(flushed.liked, current.liked, 0, 0);
+            adjustDelta(k, current, next);
+            return next;
+        });
+    }
+
+    private void adjustDelta(LikeKey key, PendingLike before, PendingLike after) {
+        int change = contribution(after) - contribution(before);
+        if (change != 0) {
+            pendingDeltas.computeIfAbsent(new TargetKey(key.target, key.targetId), k -> new AtomicInteger())
+                    .addAndGet(change);
+        }
+    }
+
+    private static int contribution(PendingLike state) {
+        if (state == null || !state.isDirty()) {
+            return 0;
+        }
+        return state.liked ? 1 : -1;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class LikeKey {
+        private final LikeTarget target;
+        private final Long userId;
+        private final Long targetId;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class TargetKey {
+        private final LikeTarget target;
+        private final Long targetId;
+    }
+
+    @AllArgsConstructor
+    private static class PendingLike {
+        private final boolean persisted;
+        private final boolean liked;
+        private final int attempts;
+        private final long retryAt;
+
+        boolean isDirty() {
+            return persisted != liked;
+        }
+    }
+}
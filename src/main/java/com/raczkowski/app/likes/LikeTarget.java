@@ -0,0 +1,26 @@
+package com.raczkowski.app.likes;
+
+public enum LikeTarget {
+    ARTICLE(
+            "INSERT INTO article_like (id, app_user_id, article_id, is_liked) VALUES (nextval('like_type_sequence'), ?, ?, true) " +
+                    "ON CONFLICT (article_id, app_user_id) DO NOTHING",
+            "DELETE FROM article_like WHERE app_user_id = ? AND article_id = ?",
+            "UPDATE article SET likes_number = likes_number + ? WHERE id = ?"
+    ),
+    COMMENT(
+            "INSERT INTO comment_like (id, app_user_id, comment_id, is_liked) VALUES (nextval('like_sequence'), ?, ?, true) " +
+                    "ON CONFLICT (comment_id, app_user_id) DO NOTHING",
+            "DELETE FROM comment_like WHERE app_user_id = ? AND comment_id = ?",
+            "UPDATE comment SET likes_number = likes_number + ? WHERE id = ?"
+    );
+
+    final String insertSql;
+    final String deleteSql;
+    final String counterSql;
+
+    LikeTarget(String insertSql, String deleteSql, String counterSql) {
+        this.insertSql = insertSql;
+        this.deleteSql = deleteSql;
+        this.counterSql = counterSql;
+    }
+}
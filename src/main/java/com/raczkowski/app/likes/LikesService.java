@@ -8,15 +8,13 @@ import org.springframework.stereotype.Service;
 @Service
 @AllArgsConstructor
 public class LikesService {
-
-    private final ArticleLikeRepository articleLikeRepository;
-    private final CommentLikeRepository commentLikeRepository;
+    private final LikeBuffer likeBuffer;
 
     public int getLikesCountForArticle(Article article){
-        return articleLikeRepository.findAllByArticle(article).size();
+        return article.getLikesNumber() + likeBuffer.pendingDelta(LikeTarget.ARTICLE, article.getId());
     }
 
     public int getLikesCountForComment(Comment comment){
-        return commentLikeRepository.findAllByComment(comment).size();
+        return comment.getLikesNumber() + likeBuffer.pendingDelta(LikeTarget.COMMENT, comment.getId());
     }
 }
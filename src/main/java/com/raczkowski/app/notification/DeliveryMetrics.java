@@ -0,0 +1,64 @@
+package com.raczkowski.app.notification;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of the notification dispatcher and the delivery latency (time from enqueueing to the
+ * push) of the most recent deliveries.
+ */
+@Component
+class DeliveryMetrics {
+    private static final int LATENCY_SAMPLES = 1024;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    private long latencyCount;
+
+    void delivered(int count) {
+        delivered.addAndGet(count);
+    }
+
+    void retried(int count) {
+        retried.addAndGet(count);
+    }
+
+    void deadLettered(int count) {
+        deadLettered.addAndGet(count);
+    }
+
+    synchronized void latency(long millis) {
+        latencies[(int) (latencyCount++ % LATENCY_SAMPLES)] = millis;
+    }
+
+    long getDelivered() {
+        return delivered.get();
+    }
+
+    long getRetried() {
+        return retried.get();
+    }
+
+    long getDeadLettered() {
+        return deadLettered.get();
+    }
+
+    /**
+     * Latency percentiles over the recent deliveries, in the order requested; zeros before the
+     * first delivery.
+     */
+    synchronized long[] latencyPercentiles(double... percentiles) {
+        long[] sorted = Arrays.copyOf(latencies, (int) Math.min(latencyCount, LATENCY_SAMPLES));
+        Arrays.sort(sorted);
+        long[] result = new long[percentiles.length];
+        for (int i = 0; i < percentiles.length && sorted.length > 0; i++) {
+            int index = (int) Math.ceil(percentiles[i] / 100 * sorted.length) - 1;
+            result[i] = sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,134 @@
+package com.raczkowski.app.notification;
+
+import com.raczkowski.app.websockets.MessageBroadcaster;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the notification outbox on its own thread, so a slow subscriber or broker never holds
+ * up the transaction that created the notification. Due entries are claimed in batches, grouped
+ * by user and broadcast as one STOMP message per user, reaching whichever node holds the user's
+ * session. Failed pushes are retried with exponential backoff and moved to the dead-letter table
+ * after {@value #MAX_ATTEMPTS} attempts.
+ */
+@Component
+public class NotificationDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+    private static final int BATCH_SIZE = 200;
+    private static final int MAX_ATTEMPTS = 8;
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(200);
+    private static final Duration FIRST_RETRY = Duration.ofSeconds(1);
+    private static final Duration MAX_RETRY = Duration.ofMinutes(5);
+
+    private final NotificationOutbox outbox;
+    private final NotificationRepository notificationRepository;
+    private final MessageBroadcaster broadcaster;
+    private final DeliveryMetrics metrics;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    private final Clock clock = Clock.systemUTC();
+
+    public NotificationDispatcher(NotificationOutbox outbox, NotificationRepository notificationRepository,
+                                  MessageBroadcaster broadcaster, DeliveryMetrics metrics,
+                                  PlatformTransactionManager transactionManager) {
+        this.outbox = outbox;
+        this.notificationRepository = notificationRepository;
+        this.broadcaster = broadcaster;
+        this.metrics = metrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        scheduler.setThreadNamePrefix("notification-dispatcher-");
+        scheduler.initialize();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::drain, POLL_INTERVAL);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    public void drain() {
+        try {
+            Integer claimed;
+            do {
+                claimed = transactionTemplate.execute(status -> dispatchBatch());
+            } while (claimed != null && claimed == BATCH_SIZE);
+        } catch (RuntimeException e) {
+            logger.error("Notification dispatch failed", e);
+        }
+    }
+
+    private int dispatchBatch() {
+        Instant now = clock.instant();
+        List<NotificationOutbox.Entry> entries = outbox.claim(now, BATCH_SIZE);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Notification> notifications = notificationRepository.findAllById(entries.stream()
+                        .map(NotificationOutbox.Entry::getNotificationId)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Notification::getId, Function.identity()));
+        Map<String, List<NotificationOutbox.Entry>> byUser = entries.stream()
+                .collect(Collectors.groupingBy(NotificationOutbox.Entry::getUserId, LinkedHashMap::new, Collectors.toList()));
+
+        byUser.forEach((userId, userEntries) -> {
+            List<Notification> payload = userEntries.stream()
+                    .map(entry -> notifications.get(entry.getNotificationId()))
+                    .filter(Objects::nonNull)
+                    .toList();
+            try {
+                if (!payload.isEmpty()) {
+                    broadcaster.broadcast("/topic/notifications/" + userId, payload);
+                }
+                outbox.remove(userEntries);
+                Instant delivered = clock.instant();
+                userEntries.forEach(entry -> metrics.latency(Duration.between(entry.getCreatedAt(), delivered).toMillis()));
+                metrics.delivered(userEntries.size());
+            } catch (RuntimeException e) {
+                fail(userId, userEntries, e, now);
+            }
+        });
+        return entries.size();
+    }
+
+    private void fail(String userId, List<NotificationOutbox.Entry> entries, RuntimeException e, Instant now) {
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        int attempts = entries.stream().mapToInt(NotificationOutbox.Entry::getAttempts).max().orElse(0) + 1;
+        if (attempts >= MAX_ATTEMPTS) {
+            logger.error("Giving up on {} notifications for user {} after {} attempts", entries.size(), userId, attempts, e);
+            outbox.deadLetter(entries, now, error);
+            metrics.deadLettered(entries.size());
+        } else {
+            logger.warn("Pushing {} notifications to user {} failed, retrying", entries.size(), userId, e);
+            outbox.retry(entries, now.plus(backoff(attempts)), error);
+            metrics.retried(entries.size());
+        }
+    }
+
+    private static Duration backoff(int attempts) {
+        Duration delay = FIRST_RETRY.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_RETRY) > 0 ? MAX_RETRY : delay;
+    }
+}
@@ -0,0 +1,94 @@
+package com.raczkowski.app.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The {@code notification_outbox} table holding notifications waiting to be pushed, and the
+ * {@code notification_dead_letter} table for those that kept failing.
+ */
+@Component
+@AllArgsConstructor
+class NotificationOutbox {
+    private static final String INSERT_SQL =
+            "INSERT INTO notification_outbox (notification_id, user_id, created_at, next_attempt_at) VALUES (?, ?, ?, ?)";
+    private static final String CLAIM_SQL =
+            "SELECT id, notification_id, user_id, created_at, attempts FROM notification_outbox " +
+                    "WHERE next_attempt_at <= ? ORDER BY next_attempt_at, id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String DELETE_SQL = "DELETE FROM notification_outbox WHERE id = ?";
+    private static final String RETRY_SQL =
+            "UPDATE notification_outbox SET attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?";
+    private static final String DEAD_LETTER_SQL =
+            "INSERT INTO notification_dead_letter (notification_id, user_id, created_at, failed_at, attempts, last_error) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    void add(Notification notification, Instant now) {
+        jdbcTemplate.update(INSERT_SQL, notification.getId(), notification.getUserId(),
+                Timestamp.from(now), Timestamp.from(now));
+    }
+
+    /**
+     * Locks up to {@code limit} due entries for the current transaction, skipping those already
+     * claimed by another dispatcher.
+     */
+    List<Entry> claim(Instant now, int limit) {
+        return jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new Entry(
+                rs.getLong("id"),
+                rs.getLong("notification_id"),
+                rs.getString("user_id"),
+                rs.getTimestamp("created_at").toInstant(),
+                rs.getInt("attempts")
+        ), Timestamp.from(now), limit);
+    }
+
+    void remove(List<Entry> entries) {
+        jdbcTemplate.batchUpdate(DELETE_SQL, entries.stream()
+                .map(entry -> new Object[]{entry.id})
+                .toList());
+    }
+
+    void retry(List<Entry> entries, Instant nextAttemptAt, String error) {
+        jdbcTemplate.batchUpdate(RETRY_SQL, entries.stream()
+                .map(entry -> new Object[]{entry.attempts + 1, Timestamp.from(nextAttemptAt), error, entry.id})
+                .toList());
+    }
+
+    void deadLetter(List<Entry> entries, Instant now, String error) {
+        jdbcTemplate.batchUpdate(DEAD_LETTER_SQL, entries.stream()
+                .map(entry -> new Object[]{entry.notificationId, entry.userId, Timestamp.from(entry.createdAt),
+                        Timestamp.from(now), entry.attempts + 1, error})
+                .toList());
+        remove(entries);
+    }
+
+    long countPending() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notification_outbox", Long.class);
+    }
+
+    long countDeadLetters() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notification_dead_letter", Long.class);
+    }
+
+    Instant oldestPending() {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM notification_outbox", Timestamp.class);
+        return oldest == null ? null : oldest.toInstant();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Entry {
+        private final long id;
+        private final long notificationId;
+        private final String userId;
+        private final Instant createdAt;
+        private final int attempts;
+    }
+}
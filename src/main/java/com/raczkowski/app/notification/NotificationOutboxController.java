@@ -0,0 +1,20 @@
+package com.raczkowski.app.notification;
+
+import com.raczkowski.app.dto.NotificationOutboxStatsDto;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/webapi/v1/notification")
+@AllArgsConstructor
+public class NotificationOutboxController {
+    private final NotificationService notificationService;
+
+    @GetMapping("/outbox/stats")
+    ResponseEntity<NotificationOutboxStatsDto> getOutboxStats() {
+        return ResponseEntity.ok(notificationService.getOutboxStats());
+    }
+}
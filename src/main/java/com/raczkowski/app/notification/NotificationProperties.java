@@ -0,0 +1,15 @@
+package com.raczkowski.app.notification;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "notification")
+@Getter
+@Setter
+public class NotificationProperties {
+    private int retentionDays = 90;
+    private int archiveBatchSize = 5_000;
+}
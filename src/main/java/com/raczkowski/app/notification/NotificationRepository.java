@@ -1,5 +1,7 @@
 package com.raczkowski.app.notification;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -16,8 +18,25 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("SELECT n from Notification n WHERE n.userId = :id")
     List<Notification> getAllNotificationsForUser(@Param("id") String id);
 
+    Slice<Notification> findByUserIdOrderByCreatedAtDescIdDesc(String userId, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<Notification> findByUserIdBefore(@Param("userId") String userId,
+                                           @Param("createdAt") ZonedDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.timestampRead = :timestamp " +
+            "WHERE n.id = :id AND n.userId = :userId AND n.isRead = false")
+    int markNotificationAsRead(@Param("id") Long id, @Param("userId") String userId, @Param("timestamp") ZonedDateTime timestamp);
+
     @Transactional
     @Modifying
-    @Query("UPDATE Notification n SET n.isRead = true, n.timestampRead = :timestamp where n.id = :id ")
-    void markNotificationAsRead(@Param("id") Long id, @Param("timestamp") ZonedDateTime timestamp);
+    @Query("UPDATE Notification n SET n.isRead = true, n.timestampRead = :timestamp " +
+            "WHERE n.userId = :userId AND n.isRead = false AND n.id <= :upToId")
+    int markAllNotificationsAsRead(@Param("userId") String userId, @Param("upToId") Long upToId, @Param("timestamp") ZonedDateTime timestamp);
 }
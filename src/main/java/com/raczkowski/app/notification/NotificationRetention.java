@@ -0,0 +1,52 @@
+package com.raczkowski.app.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Moves read notifications older than {@code notification.retention-days} from the inbox into
+ * {@code notification_archive}, one batch per statement so no run holds long locks.
+ */
+@Component
+public class NotificationRetention {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetention.class);
+    private static final String ARCHIVE_SQL =
+            "WITH moved AS (" +
+                    "DELETE FROM notification WHERE id IN (" +
+                    "SELECT id FROM notification WHERE is_read = true AND created_at < ? ORDER BY created_at LIMIT ?) " +
+                    "RETURNING id, user_id, type, title, message, is_read, created_at, timestamp_read, created_by, target_url) " +
+                    "INSERT INTO notification_archive " +
+                    "(id, user_id, type, title, message, is_read, created_at, timestamp_read, created_by, target_url, archived_at) " +
+                    "SELECT id, user_id, type, title, message, is_read, created_at, timestamp_read, created_by, target_url, ? " +
+                    "FROM moved";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationProperties properties;
+
+    public NotificationRetention(JdbcTemplate jdbcTemplate, NotificationProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    public void archiveReadNotifications() {
+        Instant now = Instant.now();
+        Timestamp cutoff = Timestamp.from(now.minus(Duration.ofDays(properties.getRetentionDays())));
+        int total = 0;
+        int moved;
+        do {
+            moved = jdbcTemplate.update(ARCHIVE_SQL, cutoff, properties.getArchiveBatchSize(), Timestamp.from(now));
+            total += moved;
+        } while (moved == properties.getArchiveBatchSize());
+        if (total > 0) {
+            logger.info("Archived {} read notifications", total);
+        }
+    }
+}
@@ -1,10 +1,21 @@
 package com.raczkowski.app.notification;
 
+import com.raczkowski.app.admin.common.PermissionValidator;
+import com.raczkowski.app.common.CursorPageResponse;
+import com.raczkowski.app.common.PageCursor;
+import com.raczkowski.app.dto.NotificationOutboxStatsDto;
+import com.raczkowski.app.exceptions.ResponseException;
+import com.raczkowski.app.user.UserService;
 import lombok.AllArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -12,20 +23,101 @@ import java.util.List;
 @Service
 @AllArgsConstructor
 public class NotificationService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationOutbox notificationOutbox;
+    private final DeliveryMetrics deliveryMetrics;
+    private final PermissionValidator permissionValidator;
+    private final UnreadCounter unreadCounter;
+    private final UserService userService;
 
-    public void sendNotification(String userId, Notification notification) {
-        String destination = "/topic/notifications/" + userId;
-        messagingTemplate.convertAndSend(destination, notification);
+    /**
+     * Saves the notification and queues it for {@link NotificationDispatcher} in the caller's
+     * transaction, so it is pushed only if that transaction commits.
+     */
+    @Transactional
+    public void sendNotification(Notification notification) {
+        notificationRepository.save(notification);
+        unreadCounter.increment(notification.getUserId());
+        notificationOutbox.add(notification, Instant.now());
     }
 
     @Transactional
     public void markNotificationAsRead(Long id) {
-        notificationRepository.markNotificationAsRead(id, ZonedDateTime.now(ZoneOffset.UTC));
+        String userId = loggedUserId();
+        int marked = notificationRepository.markNotificationAsRead(id, userId, ZonedDateTime.now(ZoneOffset.UTC));
+        unreadCounter.decrement(userId, marked);
+    }
+
+    /**
+     * Marks every unread notification of the logged user with an id up to {@code upToId} (all of
+     * them when null) as read in a single statement.
+     */
+    @Transactional
+    public int markAllNotificationsAsRead(Long upToId) {
+        String userId = loggedUserId();
+        int marked = notificationRepository.markAllNotificationsAsRead(
+                userId, upToId == null ? Long.MAX_VALUE : upToId, ZonedDateTime.now(ZoneOffset.UTC));
+        unreadCounter.decrement(userId, marked);
+        return marked;
+    }
+
+    public long getUnreadCount() {
+        return unreadCounter.get(loggedUserId());
+    }
+
+    /**
+     * The logged user's notifications, newest first. The cursor holds the creation time in
+     * microseconds, the precision it is stored with, and the id of the last notification.
+     */
+    public CursorPageResponse<Notification> getInbox(String cursor, int size) {
+        if (size < 1) {
+            throw new ResponseException("Page size must be at least 1");
+        }
+        String userId = loggedUserId();
+        Pageable pageable = PageRequest.of(0, Math.min(size, MAX_PAGE_SIZE));
+        Slice<Notification> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = notificationRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, pageable);
+        } else {
+            PageCursor pageCursor = PageCursor.decode(cursor);
+            ZonedDateTime createdAt = Instant.EPOCH.plus(pageCursor.getKey(), ChronoUnit.MICROS).atZone(ZoneOffset.UTC);
+            slice = notificationRepository.findByUserIdBefore(userId, createdAt, pageCursor.getId(), pageable);
+        }
+
+        List<Notification> notifications = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext() && !notifications.isEmpty()) {
+            Notification last = notifications.get(notifications.size() - 1);
+            nextCursor = new PageCursor(ChronoUnit.MICROS.between(Instant.EPOCH, last.getCreatedAt().toInstant()), last.getId()).encode();
+        }
+        return new CursorPageResponse<>(notifications, nextCursor, nextCursor != null);
     }
 
     public List<Notification> getAllNotificationsForUser(String id) {
         return notificationRepository.getAllNotificationsForUser(id);
     }
+
+    public NotificationOutboxStatsDto getOutboxStats() {
+        permissionValidator.validateIfUserIaAdmin();
+        Instant oldest = notificationOutbox.oldestPending();
+        long[] latency = deliveryMetrics.latencyPercentiles(50, 95, 99, 100);
+        return new NotificationOutboxStatsDto(
+                notificationOutbox.countPending(),
+                oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis(),
+                notificationOutbox.countDeadLetters(),
+                deliveryMetrics.getDelivered(),
+                deliveryMetrics.getRetried(),
+                deliveryMetrics.getDeadLettered(),
+                latency[0],
+                latency[1],
+                latency[2],
+                latency[3]
+        );
+    }
+
+    private String loggedUserId() {
+        return String.valueOf(userService.getLoggedUser().getId());
+    }
 }
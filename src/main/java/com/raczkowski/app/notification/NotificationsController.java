@@ -1,5 +1,6 @@
 package com.raczkowski.app.notification;
 
+import com.raczkowski.app.common.CursorPageResponse;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +18,24 @@ public class NotificationsController {
         notificationService.markNotificationAsRead(id);
     }
 
+    @PostMapping("/read/all")
+    ResponseEntity<Integer> readAllNotifications(@RequestParam(name = "upToId", required = false) Long upToId) {
+        return ResponseEntity.ok(notificationService.markAllNotificationsAsRead(upToId));
+    }
+
+    @GetMapping("/unread/count")
+    ResponseEntity<Long> getUnreadCount() {
+        return ResponseEntity.ok(notificationService.getUnreadCount());
+    }
+
+    @GetMapping("/inbox")
+    ResponseEntity<CursorPageResponse<Notification>> getInbox(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(notificationService.getInbox(cursor, size));
+    }
+
     @GetMapping("/get/user")
     ResponseEntity<List<Notification>> getNotificationsForUser(@RequestParam String id) {
         return ResponseEntity.ok(notificationService.getAllNotificationsForUser(id));
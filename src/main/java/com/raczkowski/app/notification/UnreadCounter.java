@@ -0,0 +1,39 @@
+package com.raczkowski.app.notification;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Per-user count of unread notifications in {@code notification_unread_counter}, adjusted in the
+ * same transaction as the notifications themselves so reading it is a primary-key lookup.
+ */
+@Component
+@AllArgsConstructor
+class UnreadCounter {
+    private static final String INCREMENT_SQL =
+            "INSERT INTO notification_unread_counter (user_id, unread) VALUES (?, 1) " +
+                    "ON CONFLICT (user_id) DO UPDATE SET unread = notification_unread_counter.unread + 1";
+    private static final String DECREMENT_SQL =
+            "UPDATE notification_unread_counter SET unread = GREATEST(unread - ?, 0) WHERE user_id = ?";
+    private static final String SELECT_SQL = "SELECT unread FROM notification_unread_counter WHERE user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    void increment(String userId) {
+        jdbcTemplate.update(INCREMENT_SQL, userId);
+    }
+
+    void decrement(String userId, int count) {
+        if (count > 0) {
+            jdbcTemplate.update(DECREMENT_SQL, count, userId);
+        }
+    }
+
+    long get(String userId) {
+        List<Long> unread = jdbcTemplate.queryForList(SELECT_SQL, Long.class, userId);
+        return unread.isEmpty() ? 0 : unread.get(0);
+    }
+}
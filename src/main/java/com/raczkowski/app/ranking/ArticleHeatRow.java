@@ -0,0 +1,19 @@
+package com.raczkowski.app.ranking;
+
+import java.time.ZonedDateTime;
+
+public interface ArticleHeatRow {
+    Long getId();
+
+    int getLikesNumber();
+
+    int getCommentsNumber();
+
+    ZonedDateTime getAcceptedAt();
+
+    ZonedDateTime getScheduledForDate();
+
+    default ZonedDateTime getPublishedAt() {
+        return getScheduledForDate() != null ? getScheduledForDate() : getAcceptedAt();
+    }
+}
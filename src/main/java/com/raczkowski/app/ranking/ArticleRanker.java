@@ -0,0 +1,203 @@
+package com.raczkowski.app.ranking;
+
+import com.raczkowski.app.article.ArticleDeletedEvent;
+import com.raczkowski.app.article.ArticleEngagementEvent;
+import com.raczkowski.app.article.ArticlePublishedEvent;
+import com.raczkowski.app.article.ArticleRepository;
+import com.raczkowski.app.likes.LikeBuffer;
+import com.raczkowski.app.likes.LikeTarget;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Hot rankings of recently published articles, one per {@link RankingWindow}. Scores are
+ * computed when an article is published and updated on every like and comment, so the feed is
+ * served from memory without sorting. The rankings are rebuilt from the stored counters every
+ * ten minutes, which picks up engagement recorded by other nodes and corrects any drift.
+ */
+@Component
+public class ArticleRanker {
+    private static final Logger logger = LoggerFactory.getLogger(ArticleRanker.class);
+    private static final int COMMENT_WEIGHT = 2;
+    private static final double DECAY_SECONDS = 45_000;
+    private static final Duration RETENTION = RankingWindow.WEEK.getDuration();
+
+    private final ArticleRepository articleRepository;
+    private final LikeBuffer likeBuffer;
+    private final Clock clock = Clock.systemUTC();
+
+    private Map<Long, Heat> heats = new HashMap<>();
+    private volatile Map<RankingWindow, WindowRanking> rankings = emptyRankings();
+    private List<Runnable> eventsDuringRebuild;
+
+    public ArticleRanker(ArticleRepository articleRepository, LikeBuffer likeBuffer) {
+        this.articleRepository = articleRepository;
+        this.likeBuffer = likeBuffer;
+    }
+
+    /**
+     * log10 of the engagement plus the publication time scaled so that every 12.5 hours of age
+     * weighs as much as a tenfold difference in engagement. The order is the same as that of
+     * engagement decayed exponentially with age, but a score never changes as time passes.
+     */
+    static double score(int likes, int comments, long publishedAt) {
+        int points = Math.max(likes + COMMENT_WEIGHT * comments, 1);
+        return Math.log10(points) + publishedAt / DECAY_SECONDS;
+    }
+
+    /**
+     * Reads the stored counters, plus the likes still waiting in {@link LikeBuffer}, into fresh
+     * rankings. Events handled while the rows are streamed are applied to the old rankings and
+     * replayed on the new ones once they are swapped in, so none of them is lost. One that is
+     * already in the streamed rows counts twice until the next rebuild.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelay = 600_000, initialDelay = 600_000)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (this) {
+            eventsDuringRebuild = new ArrayList<>();
+        }
+        Map<Long, Heat> rebuiltHeats = new HashMap<>();
+        Map<RankingWindow, WindowRanking> rebuiltRankings = emptyRankings();
+        try {
+            Instant now = clock.instant();
+            try (Stream<ArticleHeatRow> rows = articleRepository.streamApprovedHeatRowsSince(
+                    now.minus(RETENTION).atZone(ZoneOffset.UTC))) {
+                rows.forEach(row -> put(rebuiltHeats, rebuiltRankings, row,
+                        likeBuffer.pendingDelta(LikeTarget.ARTICLE, row.getId()), now));
+            }
+
+            synchronized (this) {
+                heats = rebuiltHeats;
+                rankings = rebuiltRankings;
+                eventsDuringRebuild.forEach(Runnable::run);
+            }
+        } finally {
+            synchronized (this) {
+                eventsDuringRebuild = null;
+            }
+        }
+        logger.info("Hot ranking built for {} articles", rebuiltHeats.size());
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public synchronized void expire() {
+        Instant now = clock.instant();
+        rankings.values().forEach(ranking -> ranking.expire(now));
+        long cutoff = now.minus(RETENTION).getEpochSecond();
+        heats.values().removeIf(heat -> heat.ranked.publishedAt() < cutoff);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlePublished(ArticlePublishedEvent event) {
+        ArticleHeatRow row = articleRepository.findApprovedHeatRow(event.getArticleId());
+        if (row != null) {
+            apply(() -> put(heats, rankings, row, 0, clock.instant()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleEngagement(ArticleEngagementEvent event) {
+        apply(() -> engage(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleDeleted(ArticleDeletedEvent event) {
+        apply(() -> {
+            Heat heat = heats.remove(event.getArticleId());
+            if (heat != null) {
+                rankings.values().forEach(ranking -> ranking.remove(heat.ranked));
+            }
+        });
+    }
+
+    private synchronized void apply(Runnable change) {
+        change.run();
+        if (eventsDuringRebuild != null) {
+            eventsDuringRebuild.add(change);
+        }
+    }
+
+    private void engage(ArticleEngagementEvent event) {
+        Heat heat = heats.get(event.getArticleId());
+        if (heat == null) {
+            return;
+        }
+        heat.likes += event.getLikesDelta();
+        heat.comments += event.getCommentsDelta();
+        RankedArticle previous = heat.ranked;
+        heat.ranked = new RankedArticle(previous.articleId(),
+                score(heat.likes, heat.comments, previous.publishedAt()), previous.publishedAt());
+        rankings.values().forEach(ranking -> {
+            if (ranking.covers(previous.publishedAt(), clock.instant())) {
+                ranking.put(previous, heat.ranked);
+            }
+        });
+    }
+
+    /**
+     * The next {@code limit} articles of the window after {@code after}, or the hottest ones
+     * when it is null.
+     */
+    public List<RankedArticle> page(RankingWindow window, RankedArticle after, int limit) {
+        return rankings.get(window).page(after, limit);
+    }
+
+    private static void put(Map<Long, Heat> heats, Map<RankingWindow, WindowRanking> rankings,
+                            ArticleHeatRow row, int pendingLikes, Instant now) {
+        if (row.getPublishedAt() == null) {
+            return;
+        }
+        long publishedAt = row.getPublishedAt().toEpochSecond();
+        int likes = row.getLikesNumber() + pendingLikes;
+        Heat heat = new Heat(likes, row.getCommentsNumber(), new RankedArticle(
+                row.getId(), score(likes, row.getCommentsNumber(), publishedAt), publishedAt));
+        Heat previous = heats.put(row.getId(), heat);
+        rankings.values().forEach(ranking -> {
+            if (previous != null) {
+                ranking.remove(previous.ranked);
+            }
+            if (ranking.covers(publishedAt, now)) {
+                ranking.put(null, heat.ranked);
+            }
+        });
+    }
+
+    private static Map<RankingWindow, WindowRanking> emptyRankings() {
+        Map<RankingWindow, WindowRanking> rankings = new EnumMap<>(RankingWindow.class);
+        for (RankingWindow window : RankingWindow.values()) {
+            rankings.put(window, new WindowRanking(window.getDuration()));
+        }
+        return rankings;
+    }
+
+    private static class Heat {
+        private int likes;
+        private int comments;
+        private RankedArticle ranked;
+
+        Heat(int likes, int comments, RankedArticle ranked) {
+            this.likes = likes;
+            this.comments = comments;
+            this.ranked = ranked;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.raczkowski.app.ranking;
+
+import com.raczkowski.app.common.CursorPageResponse;
+import com.raczkowski.app.dto.ArticleDto;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/articles/hot")
+@AllArgsConstructor
+public class HotArticleController {
+    private final HotFeedService hotFeedService;
+
+    @GetMapping
+    ResponseEntity<CursorPageResponse<ArticleDto>> getHotArticles(
+            @RequestParam(name = "window", defaultValue = "day") String window,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(hotFeedService.getHotArticles(window, cursor, size));
+    }
+}
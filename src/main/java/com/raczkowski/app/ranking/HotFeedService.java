@@ -0,0 +1,73 @@
+package com.raczkowski.app.ranking;
+
+import com.raczkowski.app.article.Article;
+import com.raczkowski.app.article.ArticleFeedService;
+import com.raczkowski.app.article.ArticleRepository;
+import com.raczkowski.app.common.CursorPageResponse;
+import com.raczkowski.app.common.PageCursor;
+import com.raczkowski.app.dto.ArticleDto;
+import com.raczkowski.app.enums.ArticleStatus;
+import com.raczkowski.app.exceptions.ResponseException;
+import com.raczkowski.app.user.UserService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@AllArgsConstructor
+public class HotFeedService {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ArticleRanker articleRanker;
+    private final ArticleRepository articleRepository;
+    private final ArticleFeedService articleFeedService;
+    private final UserService userService;
+
+    /**
+     * Hottest articles published within the window, with pinned articles in front of the first
+     * page. The cursor carries the score and id of the last ranked article.
+     */
+    public CursorPageResponse<ArticleDto> getHotArticles(String window, String cursor, int size) {
+        if (size < 1) {
+            throw new ResponseException("Page size must be at least 1");
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        RankingWindow rankingWindow = RankingWindow.of(window);
+        boolean firstPage = cursor == null || cursor.isBlank();
+        RankedArticle after = null;
+        if (!firstPage) {
+            PageCursor pageCursor = PageCursor.decode(cursor);
+            after = new RankedArticle(pageCursor.getId(), Double.longBitsToDouble(pageCursor.getKey()), 0);
+        }
+
+        List<RankedArticle> ranked = articleRanker.page(rankingWindow, after, pageSize + 1);
+        boolean hasNext = ranked.size() > pageSize;
+        List<RankedArticle> page = hasNext ? ranked.subList(0, pageSize) : ranked;
+
+        Map<Long, Integer> positions = new HashMap<>();
+        page.forEach(article -> positions.put(article.articleId(), positions.size()));
+        List<Article> articles = new ArrayList<>();
+        if (firstPage) {
+            articles.addAll(articleRepository.findPinnedApproved());
+        }
+        articles.addAll(articleRepository.findAllById(positions.keySet()).stream()
+                .filter(article -> article.getStatus() == ArticleStatus.APPROVED && !article.isPinned())
+                .sorted(Comparator.comparing(article -> positions.get(article.getId())))
+                .toList());
+
+        RankedArticle last = page.isEmpty() ? null : page.get(page.size() - 1);
+        String nextCursor = hasNext
+                ? new PageCursor(Double.doubleToLongBits(last.score()), last.articleId()).encode()
+                : null;
+        return new CursorPageResponse<>(
+                articleFeedService.toFeed(articles, userService.getLoggedUser()),
+                nextCursor,
+                hasNext
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package com.raczkowski.app.ranking;
+
+import java.util.Comparator;
+
+/**
+ * Position of an article in a ranking: hottest first, ties broken by the newer id.
+ */
+record RankedArticle(long articleId, double score, long publishedAt) {
+    static final Comparator<RankedArticle> HOTTEST_FIRST = Comparator
+            .comparingDouble(RankedArticle::score).reversed()
+            .thenComparing(Comparator.comparingLong(RankedArticle::articleId).reversed());
+    static final Comparator<RankedArticle> OLDEST_FIRST = Comparator
+            .comparingLong(RankedArticle::publishedAt)
+            .thenComparingLong(RankedArticle::articleId);
+}
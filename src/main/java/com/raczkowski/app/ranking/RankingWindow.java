@@ -0,0 +1,26 @@
+package com.raczkowski.app.ranking;
+
+import com.raczkowski.app.exceptions.ResponseException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+@AllArgsConstructor
+public enum RankingWindow {
+    HOUR(Duration.ofHours(1)),
+    DAY(Duration.ofDays(1)),
+    WEEK(Duration.ofDays(7));
+
+    private final Duration duration;
+
+    public static RankingWindow of(String window) {
+        for (RankingWindow value : values()) {
+            if (value.name().equalsIgnoreCase(window)) {
+                return value;
+            }
+        }
+        throw new ResponseException("Unknown ranking window " + window);
+    }
+}
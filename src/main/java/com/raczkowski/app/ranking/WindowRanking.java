@@ -0,0 +1,70 @@
+package com.raczkowski.app.ranking;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Articles published within one window, kept sorted by hotness in a skip list so a page is a
+ * walk from the head or from the cursor. Writers are serialized by the caller; readers iterate
+ * the skip list without locking.
+ */
+class WindowRanking {
+    private final Duration duration;
+    private final NavigableSet<RankedArticle> byScore = new ConcurrentSkipListSet<>(RankedArticle.HOTTEST_FIRST);
+    private final NavigableSet<RankedArticle> byAge = new TreeSet<>(RankedArticle.OLDEST_FIRST);
+
+    WindowRanking(Duration duration) {
+        this.duration = duration;
+    }
+
+    boolean covers(long publishedAt, Instant now) {
+        return publishedAt >= now.minus(duration).getEpochSecond();
+    }
+
+    void put(RankedArticle previous, RankedArticle current) {
+        if (previous != null) {
+            remove(previous);
+        }
+        byScore.add(current);
+        byAge.add(current);
+    }
+
+    void remove(RankedArticle article) {
+        byScore.remove(article);
+        byAge.remove(article);
+    }
+
+    /**
+     * Drops articles that have aged out of the window.
+     */
+    void expire(Instant now) {
+        long cutoff = now.minus(duration).getEpochSecond();
+        while (!byAge.isEmpty() && byAge.first().publishedAt() < cutoff) {
+            byScore.remove(byAge.pollFirst());
+        }
+    }
+
+    /**
+     * Up to {@code limit} articles ranked after {@code after}, or from the top when it is null.
+     */
+    List<RankedArticle> page(RankedArticle after, int limit) {
+        Iterator<RankedArticle> iterator = after == null
+                ? byScore.iterator()
+                : byScore.tailSet(after, false).iterator();
+        List<RankedArticle> page = new ArrayList<>(Math.min(limit, byScore.size()));
+        while (iterator.hasNext() && page.size() < limit) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+
+    int size() {
+        return byScore.size();
+    }
+}
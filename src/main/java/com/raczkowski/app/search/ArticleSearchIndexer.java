@@ -0,0 +1,114 @@
+package com.raczkowski.app.search;
+
+import com.raczkowski.app.article.ArticleDeletedEvent;
+import com.raczkowski.app.article.ArticlePublishedEvent;
+import com.raczkowski.app.article.ArticleRepository;
+import com.raczkowski.app.article.ArticleUpdatedEvent;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Keeps {@link SearchIndex} in line with approved articles: incrementally from article events,
+ * and on startup by reconciling the committed index with the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArticleSearchIndexer {
+    private static final Logger logger = LoggerFactory.getLogger(ArticleSearchIndexer.class);
+    private static final Duration CATCH_UP_MARGIN = Duration.ofMinutes(5);
+    private static final int BATCH_SIZE = 500;
+
+    private final SearchIndex searchIndex;
+    private final ArticleRepository articleRepository;
+
+    /**
+     * Indexes approved articles missing from the index or changed since its last commit, and
+     * drops indexed articles that are no longer approved. Both sides are walked in id order.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void catchUp() {
+        ZonedDateTime changedSince = searchIndex.getCheckpoint().minus(CATCH_UP_MARGIN).atZone(ZoneOffset.UTC);
+        long[] indexed = searchIndex.liveArticleIds();
+        int cursor = 0;
+        int removed = 0;
+        List<Long> pending = new ArrayList<>(BATCH_SIZE);
+        int reindexed = 0;
+
+        try (Stream<ArticleSearchState> states = articleRepository.streamApprovedSearchStates()) {
+            Iterator<ArticleSearchState> iterator = states.iterator();
+            while (iterator.hasNext()) {
+                ArticleSearchState state = iterator.next();
+                while (cursor < indexed.length && indexed[cursor] < state.getId()) {
+                    searchIndex.delete(indexed[cursor++]);
+                    removed++;
+                }
+                boolean present = cursor < indexed.length && indexed[cursor] == state.getId();
+                if (present) {
+                    cursor++;
+                }
+                if (!present || (state.getChangedAt() != null && state.getChangedAt().isAfter(changedSince))) {
+                    pending.add(state.getId());
+                }
+                if (pending.size() == BATCH_SIZE) {
+                    reindexed += index(pending);
+                }
+            }
+        }
+        while (cursor < indexed.length) {
+            searchIndex.delete(indexed[cursor++]);
+            removed++;
+        }
+        reindexed += index(pending);
+        searchIndex.flush();
+        logger.info("Search index caught up: {} articles indexed, {} removed", reindexed, removed);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlePublished(ArticlePublishedEvent event) {
+        reindex(event.getArticleId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleUpdated(ArticleUpdatedEvent event) {
+        reindex(event.getArticleId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleDeleted(ArticleDeletedEvent event) {
+        searchIndex.delete(event.getArticleId());
+    }
+
+    private void reindex(Long articleId) {
+        List<ArticleSearchRow> rows = articleRepository.findApprovedSearchRowsByIdIn(List.of(articleId));
+        if (rows.isEmpty()) {
+            searchIndex.delete(articleId);
+        } else {
+            rows.forEach(row -> searchIndex.index(row.getId(), row.getTitle(), row.getContent()));
+        }
+    }
+
+    private int index(List<Long> articleIds) {
+        if (articleIds.isEmpty()) {
+            return 0;
+        }
+        List<ArticleSearchRow> rows = articleRepository.findApprovedSearchRowsByIdIn(articleIds);
+        rows.forEach(row -> searchIndex.index(row.getId(), row.getTitle(), row.getContent()));
+        articleIds.clear();
+        return rows.size();
+    }
+}
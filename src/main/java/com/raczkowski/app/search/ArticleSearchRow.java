@@ -0,0 +1,9 @@
+package com.raczkowski.app.search;
+
+public interface ArticleSearchRow {
+    Long getId();
+
+    String getTitle();
+
+    String getContent();
+}
@@ -0,0 +1,22 @@
+package com.raczkowski.app.search;
+
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+public interface ArticleSearchState {
+    Long getId();
+
+    ZonedDateTime getAcceptedAt();
+
+    ZonedDateTime getScheduledForDate();
+
+    ZonedDateTime getUpdatedAt();
+
+    default ZonedDateTime getChangedAt() {
+        return Stream.of(getAcceptedAt(), getScheduledForDate(), getUpdatedAt())
+                .filter(Objects::nonNull)
+                .max(ZonedDateTime::compareTo)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,46 @@
+package com.raczkowski.app.search;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Article title and content tokenized into one position space, title first.
+ */
+@Getter
+class IndexedDocument {
+    private final long articleId;
+    private final int length;
+    private final Map<String, Posting> postings;
+
+    private IndexedDocument(long articleId, int length, Map<String, Posting> postings) {
+        this.articleId = articleId;
+        this.length = length;
+        this.postings = postings;
+    }
+
+    static IndexedDocument of(long articleId, String title, String content) {
+        List<String> titleTokens = SearchTokenizer.tokenize(title);
+        List<String> tokens = new ArrayList<>(titleTokens);
+        tokens.addAll(SearchTokenizer.tokenize(content));
+
+        Map<String, List<Integer>> positions = new HashMap<>();
+        for (int position = 0; position < tokens.size(); position++) {
+            positions.computeIfAbsent(tokens.get(position), term -> new ArrayList<>()).add(position);
+        }
+
+        Map<String, Posting> postings = new HashMap<>();
+        positions.forEach((term, termPositions) -> {
+            int[] values = termPositions.stream().mapToInt(Integer::intValue).toArray();
+            int titleFreq = 0;
+            while (titleFreq < values.length && values[titleFreq] < titleTokens.size()) {
+                titleFreq++;
+            }
+            postings.put(term, new Posting(articleId, tokens.size(), titleFreq, values));
+        });
+        return new IndexedDocument(articleId, tokens.size(), postings);
+    }
+}
@@ -0,0 +1,265 @@
+package com.raczkowski.app.search;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Read-only segment backed by a memory-mapped file written by {@link SegmentWriter}. Only the
+ * document table is copied to the heap; terms and postings are read straight from the mapping.
+ */
+class MappedSegment extends Segment {
+    @Getter
+    private final String name;
+    @Getter
+    private final Path file;
+    private final long[] articleIds;
+    private final int[] docLengths;
+    private final long totalLength;
+    private final int termCount;
+    private final MappedByteBuffer termIndex;
+    private final MappedByteBuffer terms;
+    private final MappedByteBuffer postings;
+    private final MappedByteBuffer positions;
+
+    private MappedSegment(String name, Path file, long[] articleIds, int[] docLengths, long totalLength,
+                          int termCount, MappedByteBuffer termIndex, MappedByteBuffer terms,
+                          MappedByteBuffer postings, MappedByteBuffer positions) {
+        this.name = name;
+        this.file = file;
+        this.articleIds = articleIds;
+        this.docLengths = docLengths;
+        this.totalLength = totalLength;
+        this.termCount = termCount;
+        this.termIndex = termIndex;
+        this.terms = terms;
+        this.postings = postings;
+        this.positions = positions;
+    }
+
+    static MappedSegment open(String name, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, SegmentFormat.HEADER_SIZE);
+            if (header.getInt() != SegmentFormat.MAGIC || header.getInt() != SegmentFormat.VERSION) {
+                throw new IOException("Unsupported search segment " + file);
+            }
+            int docCount = header.getInt();
+            int termCount = header.getInt();
+            long totalLength = header.getLong();
+            long termsLength = header.getLong();
+            long postingsLength = header.getLong();
+            long positionsLength = header.getLong();
+
+            long offset = SegmentFormat.HEADER_SIZE;
+            ByteBuffer docs = channel.map(FileChannel.MapMode.READ_ONLY, offset, (long) docCount * SegmentFormat.DOC_ENTRY_SIZE);
+            long[] articleIds = new long[docCount];
+            int[] docLengths = new int[docCount];
+            for (int i = 0; i < docCount; i++) {
+                articleIds[i] = docs.getLong();
+                docLengths[i] = docs.getInt();
+            }
+            offset += (long) docCount * SegmentFormat.DOC_ENTRY_SIZE;
+
+            MappedByteBuffer termIndex = channel.map(FileChannel.MapMode.READ_ONLY, offset, termCount * 4L);
+            offset += termCount * 4L;
+            MappedByteBuffer terms = channel.map(FileChannel.MapMode.READ_ONLY, offset, termsLength);
+            offset += termsLength;
+            MappedByteBuffer postings = channel.map(FileChannel.MapMode.READ_ONLY, offset, postingsLength);
+            offset += postingsLength;
+            MappedByteBuffer positions = channel.map(FileChannel.MapMode.READ_ONLY, offset, positionsLength);
+
+            return new MappedSegment(name, file, articleIds, docLengths, totalLength, termCount,
+                    termIndex, terms, postings, positions);
+        }
+    }
+
+    @Override
+    int docCount() {
+        return articleIds.length;
+    }
+
+    @Override
+    long totalLength() {
+        return totalLength;
+    }
+
+    @Override
+    boolean contains(long articleId) {
+        return Arrays.binarySearch(articleIds, articleId) >= 0;
+    }
+
+    @Override
+    int docFreq(String term) {
+        int index = find(term);
+        return index < 0 ? 0 : terms.getInt(termEnd(index));
+    }
+
+    @Override
+    PostingsIterator postings(String term, boolean withPositions) {
+        int index = find(term);
+        if (index < 0) {
+            return null;
+        }
+        int entry = termEnd(index);
+        return new MappedPostingsIterator(
+                terms.getInt(entry),
+                terms.getInt(entry + 4),
+                withPositions ? terms.getInt(entry + 8) : -1
+        );
+    }
+
+    @Override
+    Iterator<String> termsFrom(String from) {
+        int start = find(from);
+        int first = start >= 0 ? start : -start - 1;
+        return new Iterator<>() {
+            private int index = first;
+
+            @Override
+            public boolean hasNext() {
+                return index < termCount;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return termAt(index++);
+            }
+        };
+    }
+
+    @Override
+    void collectPrefixDocFreqs(String prefix, int maxTerms, Map<String, Integer> docFreqs) {
+        int start = find(prefix);
+        int first = start >= 0 ? start : -start - 1;
+        for (int index = first; index < termCount && index - first < maxTerms; index++) {
+            String term = termAt(index);
+            if (!term.startsWith(prefix)) {
+                return;
+            }
+            docFreqs.merge(term, terms.getInt(termEnd(index)), Integer::sum);
+        }
+    }
+
+    @Override
+    long[] articleIds() {
+        return articleIds;
+    }
+
+    @Override
+    int[] docLengths() {
+        return docLengths;
+    }
+
+    /**
+     * Binary search over the sorted term index; returns {@code -(insertion point) - 1} when missing.
+     */
+    private int find(String term) {
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = termAt(middle).compareTo(term);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private String termAt(int index) {
+        int offset = termIndex.getInt(index * 4);
+        int length = terms.getShort(offset) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        terms.get(offset + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int termEnd(int index) {
+        int offset = termIndex.getInt(index * 4);
+        return offset + 2 + (terms.getShort(offset) & 0xFFFF);
+    }
+
+    private class MappedPostingsIterator implements PostingsIterator {
+        private final int docFreq;
+        private final SegmentFormat.Input postingsInput;
+        private final SegmentFormat.Input positionsInput;
+        private int read;
+        private long articleId;
+        private int freq;
+        private int titleFreq;
+        private int docLength;
+        private int[] currentPositions;
+
+        MappedPostingsIterator(int docFreq, int postingsOffset, int positionsOffset) {
+            this.docFreq = docFreq;
+            this.postingsInput = new SegmentFormat.Input(postings, postingsOffset);
+            this.positionsInput = positionsOffset < 0 ? null : new SegmentFormat.Input(positions, positionsOffset);
+        }
+
+        @Override
+        public boolean next() {
+            if (read == docFreq) {
+                return false;
+            }
+            read++;
+            articleId += postingsInput.readVarLong();
+            freq = postingsInput.readVarInt();
+            titleFreq = postingsInput.readVarInt();
+            docLength = postingsInput.readVarInt();
+            if (positionsInput != null) {
+                currentPositions = new int[freq];
+                int position = 0;
+                for (int i = 0; i < freq; i++) {
+                    position += positionsInput.readVarInt();
+                    currentPositions[i] = position;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public long articleId() {
+            return articleId;
+        }
+
+        @Override
+        public int freq() {
+            return freq;
+        }
+
+        @Override
+        public int titleFreq() {
+            return titleFreq;
+        }
+
+        @Override
+        public int docLength() {
+            return docLength;
+        }
+
+        @Override
+        public int[] positions() {
+            if (positionsInput == null) {
+                throw new IllegalStateException("Postings were opened without positions");
+            }
+            return currentPositions;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.raczkowski.app.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mutable segment collecting recent changes until they are written to disk. Unlike file
+ * segments it removes documents in place.
+ */
+class MemorySegment extends Segment {
+    private static final Comparator<Posting> BY_ARTICLE_ID = Comparator.comparingLong(Posting::getArticleId);
+
+    private final Map<String, List<Posting>> postings = new HashMap<>();
+    private final TreeMap<Long, IndexedDocument> documents = new TreeMap<>();
+    private long totalLength;
+
+    void add(IndexedDocument document) {
+        delete(document.getArticleId());
+        documents.put(document.getArticleId(), document);
+        totalLength += document.getLength();
+        document.getPostings().forEach((term, posting) -> {
+            List<Posting> termPostings = postings.computeIfAbsent(term, t -> new ArrayList<>());
+            if (termPostings.isEmpty() || termPostings.get(termPostings.size() - 1).getArticleId() < posting.getArticleId()) {
+                termPostings.add(posting);
+            } else {
+                termPostings.add(-Collections.binarySearch(termPostings, posting, BY_ARTICLE_ID) - 1, posting);
+            }
+        });
+    }
+
+    @Override
+    void delete(long articleId) {
+        IndexedDocument document = documents.remove(articleId);
+        if (document == null) {
+            return;
+        }
+        totalLength -= document.getLength();
+        document.getPostings().forEach((term, posting) -> {
+            List<Posting> termPostings = postings.get(term);
+            termPostings.remove(Collections.binarySearch(termPostings, posting, BY_ARTICLE_ID));
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        });
+    }
+
+    boolean isEmpty() {
+        return documents.isEmpty();
+    }
+
+    @Override
+    int docCount() {
+        return documents.size();
+    }
+
+    @Override
+    long totalLength() {
+        return totalLength;
+    }
+
+    @Override
+    boolean contains(long articleId) {
+        return documents.containsKey(articleId);
+    }
+
+    @Override
+    int docFreq(String term) {
+        List<Posting> termPostings = postings.get(term);
+        return termPostings == null ? 0 : termPostings.size();
+    }
+
+    @Override
+    PostingsIterator postings(String term, boolean withPositions) {
+        List<Posting> termPostings = postings.get(term);
+        return termPostings == null ? null : new ListPostingsIterator(termPostings.iterator());
+    }
+
+    @Override
+    Iterator<String> termsFrom(String from) {
+        return postings.keySet().stream()
+                .filter(term -> term.compareTo(from) >= 0)
+                .sorted()
+                .iterator();
+    }
+
+    @Override
+    void collectPrefixDocFreqs(String prefix, int maxTerms, Map<String, Integer> docFreqs) {
+        postings.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(prefix))
+                .limit(maxTerms)
+                .forEach(entry -> docFreqs.merge(entry.getKey(), entry.getValue().size(), Integer::sum));
+    }
+
+    @Override
+    long[] articleIds() {
+        return documents.keySet().stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @Override
+    int[] docLengths() {
+        return documents.values().stream().mapToInt(IndexedDocument::getLength).toArray();
+    }
+
+    private static class ListPostingsIterator implements PostingsIterator {
+        private final Iterator<Posting> iterator;
+        private Posting current;
+
+        ListPostingsIterator(Iterator<Posting> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean next() {
+            current = iterator.hasNext() ? iterator.next() : null;
+            return current != null;
+        }
+
+        @Override
+        public long articleId() {
+            return current.getArticleId();
+        }
+
+        @Override
+        public int freq() {
+            return current.getFreq();
+        }
+
+        @Override
+        public int titleFreq() {
+            return current.getTitleFreq();
+        }
+
+        @Override
+        public int docLength() {
+            return current.getDocLength();
+        }
+
+        @Override
+        public int[] positions() {
+            return current.getPositions();
+        }
+    }
+}
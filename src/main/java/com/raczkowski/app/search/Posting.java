@@ -0,0 +1,21 @@
+package com.raczkowski.app.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One document's occurrences of a term. Title tokens come first in {@code positions}, so the
+ * first {@code titleFreq} positions are the title hits.
+ */
+@Getter
+@AllArgsConstructor
+class Posting {
+    private final long articleId;
+    private final int docLength;
+    private final int titleFreq;
+    private final int[] positions;
+
+    int getFreq() {
+        return positions.length;
+    }
+}
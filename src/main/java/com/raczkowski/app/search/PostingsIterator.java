@@ -0,0 +1,34 @@
+package com.raczkowski.app.search;
+
+/**
+ * Walks the postings of one term in ascending article id order.
+ */
+interface PostingsIterator {
+    boolean next();
+
+    long articleId();
+
+    int freq();
+
+    int titleFreq();
+
+    int docLength();
+
+    /**
+     * Only available when the iterator was opened with positions.
+     */
+    int[] positions();
+
+    default boolean advance(long target) {
+        while (next()) {
+            if (articleId() >= target) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    default Posting toPosting() {
+        return new Posting(articleId(), docLength(), titleFreq(), positions());
+    }
+}
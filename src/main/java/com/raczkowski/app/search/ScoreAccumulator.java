@@ -0,0 +1,98 @@
+package com.raczkowski.app.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Open-addressing map from article id to score, so summing scores of hundreds of thousands of
+ * postings doesn't box every id.
+ */
+class ScoreAccumulator {
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private float[] scores;
+    private int size;
+
+    ScoreAccumulator(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        scores = new float[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    void add(long articleId, float score) {
+        int slot = slot(articleId);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = articleId;
+            if (++size * 2 > keys.length) {
+                grow();
+                slot = slot(articleId);
+            }
+        }
+        scores[slot] += score;
+    }
+
+    boolean contains(long articleId) {
+        return keys[slot(articleId)] != EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Highest scoring ids accepted by the filter, best first.
+     */
+    List<SearchHit> top(int limit, ScoreAccumulator filter) {
+        PriorityQueue<SearchHit> top = new PriorityQueue<>(Comparator.comparingDouble(SearchHit::getScore));
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == EMPTY || (filter != null && !filter.contains(keys[i]))) {
+                continue;
+            }
+            if (top.size() < limit) {
+                top.add(new SearchHit(keys[i], scores[i]));
+            } else if (top.peek().getScore() < scores[i]) {
+                top.poll();
+                top.add(new SearchHit(keys[i], scores[i]));
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>(top);
+        hits.sort(Comparator.comparingDouble(SearchHit::getScore).reversed()
+                .thenComparing(Comparator.comparingLong(SearchHit::getArticleId).reversed()));
+        return hits;
+    }
+
+    private int slot(long articleId) {
+        int mask = keys.length - 1;
+        int slot = (int) (mix(articleId) & mask);
+        while (keys[slot] != EMPTY && keys[slot] != articleId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        float[] oldScores = scores;
+        keys = new long[oldKeys.length * 2];
+        scores = new float[oldScores.length * 2];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                scores[slot] = oldScores[i];
+            }
+        }
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        return value ^ value >>> 33;
+    }
+}
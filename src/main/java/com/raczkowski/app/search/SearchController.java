@@ -0,0 +1,34 @@
+package com.raczkowski.app.search;
+
+import com.raczkowski.app.dto.ArticleDto;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@AllArgsConstructor
+public class SearchController {
+    private final SearchService searchService;
+
+    @GetMapping("/articles")
+    ResponseEntity<List<ArticleDto>> searchArticles(
+            @RequestParam(name = "query") String query,
+            @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(searchService.searchArticles(query, size));
+    }
+
+    @GetMapping("/suggestions")
+    ResponseEntity<List<String>> suggest(
+            @RequestParam(name = "prefix") String prefix,
+            @RequestParam(name = "limit", defaultValue = "5") int limit
+    ) {
+        return ResponseEntity.ok(searchService.suggest(prefix, limit));
+    }
+}
@@ -0,0 +1,11 @@
+package com.raczkowski.app.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SearchHit {
+    private final long articleId;
+    private final float score;
+}
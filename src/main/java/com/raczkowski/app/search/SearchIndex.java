@@ -0,0 +1,494 @@
+package com.raczkowski.app.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Positional inverted index over article title and content, ranked with BM25.
+ * <p>
+ * Changes go to an in-memory segment that is periodically written to an immutable,
+ * memory-mapped segment file; replaced and removed articles are hidden by per-segment
+ * deletion sets. A manifest lists the committed segments and the time of the last commit,
+ * so a restart only has to catch up on changes made after it.
+ */
+@Component
+public class SearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndex.class);
+    private static final String MANIFEST = "segments.properties";
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int TITLE_BOOST = 3;
+    private static final int MAX_SUGGESTION_SCAN = 10_000;
+    private static final int INITIAL_ACCUMULATOR_SIZE = 1 << 16;
+
+    private final SearchProperties properties;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object mergeLock = new Object();
+
+    private Path directory;
+    private List<MappedSegment> segments = new ArrayList<>();
+    private MemorySegment buffer = new MemorySegment();
+    private long nextSegment;
+    private Instant checkpoint = Instant.EPOCH;
+    private boolean dirty;
+
+    public SearchIndex(SearchProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        directory = Paths.get(properties.getDirectory());
+        Files.createDirectories(directory);
+        try {
+            load();
+        } catch (IOException e) {
+            logger.warn("Search index in {} is unreadable, starting from an empty index", directory, e);
+            segments = new ArrayList<>();
+            nextSegment = 0;
+            checkpoint = Instant.EPOCH;
+        }
+        logger.info("Search index opened with {} segments and {} documents", segments.size(), size());
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    /**
+     * Time of the last commit; every change made before it is on disk.
+     */
+    public Instant getCheckpoint() {
+        lock.readLock().lock();
+        try {
+            return checkpoint;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segments.stream().mapToInt(Segment::liveDocCount).sum() + buffer.docCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(long articleId, String title, String content) {
+        IndexedDocument document = IndexedDocument.of(articleId, title, content);
+        lock.writeLock().lock();
+        try {
+            segments.forEach(segment -> segment.delete(articleId));
+            buffer.add(document);
+            dirty = true;
+            if (buffer.docCount() >= properties.getFlushThreshold()) {
+                commit();
+            }
+        } catch (IOException e) {
+            logger.error("Writing search segment failed, keeping {} documents in memory", buffer.docCount(), e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void delete(long articleId) {
+        lock.writeLock().lock();
+        try {
+            segments.forEach(segment -> segment.delete(articleId));
+            buffer.delete(articleId);
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sorted ids of every indexed article.
+     */
+    public long[] liveArticleIds() {
+        lock.readLock().lock();
+        try {
+            List<Segment> all = new ArrayList<>(segments);
+            all.add(buffer);
+            return all.stream()
+                    .flatMapToLong(segment -> Arrays.stream(segment.articleIds()).filter(id -> !segment.isDeleted(id)))
+                    .sorted()
+                    .distinct()
+                    .toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<SearchHit> search(String text, int limit) {
+        SearchQuery query = SearchQuery.parse(text);
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Segment> all = new ArrayList<>(segments);
+            all.add(buffer);
+
+            long docCount = 0;
+            long totalLength = 0;
+            for (Segment segment : all) {
+                docCount += segment.docCount();
+                totalLength += segment.totalLength();
+            }
+            if (docCount == 0) {
+                return List.of();
+            }
+            float averageLength = (float) totalLength / docCount;
+
+            Map<String, Integer> docFreqs = new HashMap<>();
+            for (String term : query.getTerms()) {
+                docFreqs.put(term, all.stream().mapToInt(segment -> segment.docFreq(term)).sum());
+            }
+
+            ScoreAccumulator scores = new ScoreAccumulator(
+                    Math.min(INITIAL_ACCUMULATOR_SIZE, docFreqs.values().stream().mapToInt(Integer::intValue).sum()));
+            for (String term : query.getTerms()) {
+                int docFreq = docFreqs.get(term);
+                if (docFreq == 0) {
+                    continue;
+                }
+                float idf = (float) Math.log(1 + (docCount - docFreq + 0.5) / (docFreq + 0.5));
+                for (Segment segment : all) {
+                    PostingsIterator postings = segment.postings(term, false);
+                    if (postings == null) {
+                        continue;
+                    }
+                    while (postings.next()) {
+                        if (!segment.isDeleted(postings.articleId())) {
+                            scores.add(postings.articleId(), bm25(postings, idf, averageLength));
+                        }
+                    }
+                }
+            }
+
+            ScoreAccumulator filter = null;
+            for (List<String> phrase : query.getPhrases()) {
+                ScoreAccumulator matches = new ScoreAccumulator(16);
+                for (Segment segment : all) {
+                    collectPhraseMatches(segment, phrase, filter, matches);
+                }
+                filter = matches;
+            }
+            return scores.top(limit, filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexed terms completing the last word of {@code prefix}, most frequent first.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        List<String> tokens = SearchTokenizer.tokenize(prefix);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String start = tokens.get(tokens.size() - 1);
+
+        lock.readLock().lock();
+        try {
+            List<Segment> all = new ArrayList<>(segments);
+            all.add(buffer);
+
+            Map<String, Integer> completions = new HashMap<>();
+            for (Segment segment : all) {
+                segment.collectPrefixDocFreqs(start, MAX_SUGGESTION_SCAN, completions);
+            }
+            return completions.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelay = 30_000)
+    public void flush() {
+        lock.writeLock().lock();
+        try {
+            if (dirty) {
+                commit();
+            }
+        } catch (IOException e) {
+            logger.error("Committing search index failed", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the smallest segments into one when there are too many of them, and any segment
+     * where more than a third of the documents have been deleted.
+     */
+    @Scheduled(fixedDelay = 300_000)
+    public void merge() {
+        synchronized (mergeLock) {
+            Map<MappedSegment, Set<Long>> candidates = selectMergeCandidates();
+            if (candidates.isEmpty()) {
+                return;
+            }
+            try {
+                String name = "seg-" + reserveSegmentNumber();
+                Path file = directory.resolve(name);
+                SegmentWriter.write(file, new ArrayList<>(candidates.keySet()));
+                MappedSegment merged = MappedSegment.open(name, file);
+
+                lock.writeLock().lock();
+                try {
+                    candidates.forEach((candidate, deletedBefore) -> candidate.getDeleted().stream()
+                            .filter(id -> !deletedBefore.contains(id))
+                            .forEach(merged::delete));
+                    writeDeletions(merged);
+                    List<MappedSegment> updated = new ArrayList<>(segments);
+                    updated.removeAll(candidates.keySet());
+                    updated.add(merged);
+                    segments = updated;
+                    writeManifest();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+
+                for (MappedSegment candidate : candidates.keySet()) {
+                    Files.deleteIfExists(candidate.getFile());
+                    Files.deleteIfExists(deletionsFile(candidate.getName()));
+                }
+                logger.info("Merged {} search segments into {} with {} documents",
+                        candidates.size(), name, merged.liveDocCount());
+            } catch (IOException e) {
+                logger.error("Merging search segments failed", e);
+            }
+        }
+    }
+
+    /**
+     * Segments to merge, each with a copy of the deletions already excluded from the merge output.
+     */
+    private Map<MappedSegment, Set<Long>> selectMergeCandidates() {
+        lock.readLock().lock();
+        try {
+            List<MappedSegment> candidates = segments.stream()
+                    .filter(segment -> segment.getDeleted().size() * 3 > segment.docCount())
+                    .collect(Collectors.toCollection(ArrayList::new));
+            if (segments.size() > properties.getMaxSegments()) {
+                int mergedDocs = candidates.stream().mapToInt(Segment::liveDocCount).sum();
+                List<MappedSegment> bySize = segments.stream()
+                        .filter(segment -> !candidates.contains(segment))
+                        .sorted(Comparator.comparingInt(Segment::liveDocCount))
+                        .toList();
+                for (MappedSegment segment : bySize) {
+                    if (candidates.size() >= 2 && mergedDocs + segment.liveDocCount() > properties.getMaxMergedDocs()) {
+                        break;
+                    }
+                    candidates.add(segment);
+                    mergedDocs += segment.liveDocCount();
+                }
+            }
+
+            Map<MappedSegment, Set<Long>> snapshot = new LinkedHashMap<>();
+            candidates.forEach(candidate -> snapshot.put(candidate, new HashSet<>(candidate.getDeleted())));
+            return snapshot;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void commit() throws IOException {
+        Instant committedAt = Instant.now();
+        if (!buffer.isEmpty()) {
+            String name = "seg-" + reserveSegmentNumber();
+            Path file = directory.resolve(name);
+            SegmentWriter.write(file, List.of(buffer));
+            List<MappedSegment> updated = new ArrayList<>(segments);
+            updated.add(MappedSegment.open(name, file));
+            segments = updated;
+            buffer = new MemorySegment();
+        }
+        for (MappedSegment segment : segments) {
+            writeDeletions(segment);
+        }
+        checkpoint = committedAt;
+        writeManifest();
+        dirty = false;
+    }
+
+    private synchronized long reserveSegmentNumber() {
+        return nextSegment++;
+    }
+
+    private void load() throws IOException {
+        Path manifest = directory.resolve(MANIFEST);
+        if (!Files.exists(manifest)) {
+            return;
+        }
+        Properties values = new Properties();
+        try (InputStream in = Files.newInputStream(manifest)) {
+            values.load(in);
+        }
+        nextSegment = Long.parseLong(values.getProperty("nextSegment", "0"));
+        checkpoint = Instant.ofEpochMilli(Long.parseLong(values.getProperty("checkpoint", "0")));
+
+        List<MappedSegment> loaded = new ArrayList<>();
+        for (String name : values.getProperty("segments", "").split(",")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            MappedSegment segment = MappedSegment.open(name, directory.resolve(name));
+            readDeletions(segment);
+            loaded.add(segment);
+        }
+        segments = loaded;
+        removeUnreferencedFiles(loaded.stream().map(MappedSegment::getName).collect(Collectors.toSet()));
+    }
+
+    private void writeManifest() throws IOException {
+        Properties values = new Properties();
+        values.setProperty("nextSegment", String.valueOf(nextSegment));
+        values.setProperty("checkpoint", String.valueOf(checkpoint.toEpochMilli()));
+        values.setProperty("segments", segments.stream().map(MappedSegment::getName).collect(Collectors.joining(",")));
+
+        Path tmp = directory.resolve(MANIFEST + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            values.store(out, null);
+        }
+        Files.move(tmp, directory.resolve(MANIFEST), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void writeDeletions(MappedSegment segment) throws IOException {
+        Set<Long> deleted = segment.getDeleted();
+        if (deleted.isEmpty()) {
+            return;
+        }
+        Path tmp = directory.resolve(segment.getName() + ".del.tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            List<Long> ids = new ArrayList<>(deleted);
+            out.writeInt(ids.size());
+            for (long id : ids) {
+                out.writeLong(id);
+            }
+        }
+        Files.move(tmp, deletionsFile(segment.getName()), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void readDeletions(MappedSegment segment) throws IOException {
+        Path file = deletionsFile(segment.getName());
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                segment.delete(in.readLong());
+            }
+        }
+    }
+
+    private Path deletionsFile(String segmentName) {
+        return directory.resolve(segmentName + ".del");
+    }
+
+    private void removeUnreferencedFiles(Set<String> live) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.startsWith("seg-") && !live.contains(name.replaceFirst("\\.del$", ""))) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static float bm25(PostingsIterator postings, float idf, float averageLength) {
+        float tf = postings.freq() + (TITLE_BOOST - 1) * postings.titleFreq();
+        float norm = K1 * (1 - B + B * postings.docLength() / averageLength);
+        return idf * tf * (K1 + 1) / (tf + norm);
+    }
+
+    private static void collectPhraseMatches(Segment segment, List<String> phrase,
+                                             ScoreAccumulator filter, ScoreAccumulator matches) {
+        PostingsIterator[] postings = new PostingsIterator[phrase.size()];
+        for (int i = 0; i < phrase.size(); i++) {
+            postings[i] = segment.postings(phrase.get(i), true);
+            if (postings[i] == null || !postings[i].next()) {
+                return;
+            }
+        }
+
+        while (true) {
+            long target = Arrays.stream(postings).mapToLong(PostingsIterator::articleId).max().orElseThrow();
+            for (PostingsIterator iterator : postings) {
+                if (iterator.articleId() < target && !iterator.advance(target)) {
+                    return;
+                }
+            }
+            boolean aligned = Arrays.stream(postings).allMatch(iterator -> iterator.articleId() == target);
+            if (!aligned) {
+                continue;
+            }
+            if (!segment.isDeleted(target) && (filter == null || filter.contains(target)) && containsPhrase(postings)) {
+                matches.add(target, 1);
+            }
+            for (PostingsIterator iterator : postings) {
+                if (!iterator.next()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static boolean containsPhrase(PostingsIterator[] postings) {
+        for (int start : postings[0].positions()) {
+            boolean matched = true;
+            for (int i = 1; i < postings.length && matched; i++) {
+                matched = Arrays.binarySearch(postings[i].positions(), start + i) >= 0;
+            }
+            if (matched) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
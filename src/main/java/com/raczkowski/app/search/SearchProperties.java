@@ -0,0 +1,17 @@
+package com.raczkowski.app.search;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "search.index")
+@Getter
+@Setter
+public class SearchProperties {
+    private String directory = "search-index";
+    private int flushThreshold = 5_000;
+    private int maxSegments = 8;
+    private int maxMergedDocs = 250_000;
+}
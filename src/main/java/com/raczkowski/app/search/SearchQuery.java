@@ -0,0 +1,42 @@
+package com.raczkowski.app.search;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Free-text query: every term contributes to the score, quoted phrases must match in order.
+ */
+@Getter
+class SearchQuery {
+    private final Set<String> terms;
+    private final List<List<String>> phrases;
+
+    private SearchQuery(Set<String> terms, List<List<String>> phrases) {
+        this.terms = terms;
+        this.phrases = phrases;
+    }
+
+    static SearchQuery parse(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        List<List<String>> phrases = new ArrayList<>();
+
+        String[] parts = query.split("\"", -1);
+        for (int i = 0; i < parts.length; i++) {
+            List<String> tokens = SearchTokenizer.tokenize(parts[i]);
+            terms.addAll(tokens);
+            boolean quoted = i % 2 == 1 && i < parts.length - 1;
+            if (quoted && tokens.size() > 1) {
+                phrases.add(tokens);
+            }
+        }
+        return new SearchQuery(terms, phrases);
+    }
+
+    boolean isEmpty() {
+        return terms.isEmpty();
+    }
+}
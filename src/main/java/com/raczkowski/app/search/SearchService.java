@@ -0,0 +1,56 @@
+package com.raczkowski.app.search;
+
+import com.raczkowski.app.article.Article;
+import com.raczkowski.app.article.ArticleFeedService;
+import com.raczkowski.app.article.ArticleRepository;
+import com.raczkowski.app.dto.ArticleDto;
+import com.raczkowski.app.enums.ArticleStatus;
+import com.raczkowski.app.exceptions.ResponseException;
+import com.raczkowski.app.user.UserService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@AllArgsConstructor
+public class SearchService {
+    private static final int MAX_RESULTS = 100;
+    private static final int MAX_SUGGESTIONS = 20;
+
+    private final SearchIndex searchIndex;
+    private final ArticleRepository articleRepository;
+    private final ArticleFeedService articleFeedService;
+    private final UserService userService;
+
+    public List<ArticleDto> searchArticles(String query, int size) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseException("Search query can't be empty");
+        }
+
+        List<SearchHit> hits = searchIndex.search(query, Math.min(size, MAX_RESULTS));
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> ranks = new HashMap<>();
+        for (int i = 0; i < hits.size(); i++) {
+            ranks.put(hits.get(i).getArticleId(), i);
+        }
+        List<Article> articles = articleRepository.findAllById(ranks.keySet()).stream()
+                .filter(article -> article.getStatus() == ArticleStatus.APPROVED)
+                .sorted(Comparator.comparing(article -> ranks.get(article.getId())))
+                .toList();
+        return articleFeedService.toFeed(articles, userService.getLoggedUser());
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        return searchIndex.suggest(prefix, Math.min(limit, MAX_SUGGESTIONS));
+    }
+}
@@ -0,0 +1,62 @@
+package com.raczkowski.app.search;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A self-contained part of the index. Documents replaced or removed after the segment was
+ * written are hidden through {@link #delete(long)} instead of rewriting it.
+ */
+abstract class Segment {
+    private final Set<Long> deleted = ConcurrentHashMap.newKeySet();
+
+    abstract int docCount();
+
+    abstract long totalLength();
+
+    abstract boolean contains(long articleId);
+
+    abstract int docFreq(String term);
+
+    /**
+     * Postings of the term, or {@code null} when the segment doesn't contain it.
+     */
+    abstract PostingsIterator postings(String term, boolean withPositions);
+
+    /**
+     * Terms greater than or equal to {@code from}, in sorted order.
+     */
+    abstract Iterator<String> termsFrom(String from);
+
+    /**
+     * Adds the document frequency of up to {@code maxTerms} terms starting with {@code prefix}.
+     */
+    abstract void collectPrefixDocFreqs(String prefix, int maxTerms, Map<String, Integer> docFreqs);
+
+    /**
+     * Sorted ids of every document written to the segment, deleted ones included.
+     */
+    abstract long[] articleIds();
+
+    abstract int[] docLengths();
+
+    void delete(long articleId) {
+        if (contains(articleId)) {
+            deleted.add(articleId);
+        }
+    }
+
+    boolean isDeleted(long articleId) {
+        return !deleted.isEmpty() && deleted.contains(articleId);
+    }
+
+    Set<Long> getDeleted() {
+        return deleted;
+    }
+
+    int liveDocCount() {
+        return docCount() - deleted.size();
+    }
+}
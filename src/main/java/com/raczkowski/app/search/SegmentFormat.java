@@ -0,0 +1,97 @@
+package com.raczkowski.app.search;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Layout of a segment file, all regions back to back:
+ * <pre>
+ * header     magic, version, docCount, termCount, totalLength, termsLength, postingsLength, positionsLength
+ * docs       docCount x (long articleId, int docLength), ascending by article id
+ * term index termCount x int offset into terms
+ * terms      per term: short byte length, UTF-8 bytes, int docFreq, int postings offset, int positions offset
+ * postings   per document: varlong article id delta, varint freq, varint title freq, varint doc length
+ * positions  per document: freq x varint position delta
+ * </pre>
+ */
+class SegmentFormat {
+    static final int MAGIC = 0x44534731;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 4 * 4 + 8 * 4;
+    static final int DOC_ENTRY_SIZE = 8 + 4;
+
+    static class Output {
+        private final OutputStream out;
+        private long position;
+
+        Output(OutputStream out) {
+            this.out = out;
+        }
+
+        long position() {
+            return position;
+        }
+
+        void writeVarInt(int value) throws IOException {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+                position++;
+            }
+            out.write((int) value);
+            position++;
+        }
+
+        void writeShort(int value) throws IOException {
+            out.write(value >>> 8);
+            out.write(value);
+            position += 2;
+        }
+
+        void writeInt(int value) throws IOException {
+            writeShort(value >>> 16);
+            writeShort(value & 0xFFFF);
+        }
+
+        void writeLong(long value) throws IOException {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        void write(byte[] bytes) throws IOException {
+            out.write(bytes);
+            position += bytes.length;
+        }
+    }
+
+    static class Input {
+        private final ByteBuffer buffer;
+        private int position;
+
+        Input(ByteBuffer buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(position++);
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
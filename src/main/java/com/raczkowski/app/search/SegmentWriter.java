@@ -0,0 +1,296 @@
+package com.raczkowski.app.search;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Writes the live documents of one or more segments into a single segment file. Terms and
+ * postings are merged in sorted order, so only one term's postings are held in memory at a time.
+ */
+class SegmentWriter {
+    private static final int MAX_TERM_BYTES = 0xFFFF;
+
+    static void write(Path file, List<? extends Segment> sources) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Path postingsFile = file.resolveSibling(file.getFileName() + ".postings.tmp");
+        Path positionsFile = file.resolveSibling(file.getFileName() + ".positions.tmp");
+        try {
+            Docs docs = mergeDocs(sources);
+
+            ByteArrayOutputStream termsBytes = new ByteArrayOutputStream();
+            SegmentFormat.Output terms = new SegmentFormat.Output(termsBytes);
+            List<Integer> termOffsets = new ArrayList<>();
+            long postingsLength;
+            long positionsLength;
+
+            try (OutputStream postingsStream = new BufferedOutputStream(Files.newOutputStream(postingsFile));
+                 OutputStream positionsStream = new BufferedOutputStream(Files.newOutputStream(positionsFile))) {
+                SegmentFormat.Output postings = new SegmentFormat.Output(postingsStream);
+                SegmentFormat.Output positions = new SegmentFormat.Output(positionsStream);
+
+                TermMerger merger = new TermMerger(sources);
+                while (merger.hasNext()) {
+                    String term = merger.nextTerm();
+                    byte[] termBytes = term.getBytes(StandardCharsets.UTF_8);
+                    long postingsStart = postings.position();
+                    long positionsStart = positions.position();
+                    int docFreq = writePostings(merger.postings(), postings, positions);
+                    if (docFreq == 0 || termBytes.length > MAX_TERM_BYTES) {
+                        continue;
+                    }
+                    termOffsets.add(toInt(terms.position()));
+                    terms.writeShort(termBytes.length);
+                    terms.write(termBytes);
+                    terms.writeInt(docFreq);
+                    terms.writeInt(toInt(postingsStart));
+                    terms.writeInt(toInt(positionsStart));
+                }
+                postingsLength = postings.position();
+                positionsLength = positions.position();
+            }
+
+            try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+                SegmentFormat.Output out = new SegmentFormat.Output(stream);
+                out.writeInt(SegmentFormat.MAGIC);
+                out.writeInt(SegmentFormat.VERSION);
+                out.writeInt(docs.ids.length);
+                out.writeInt(termOffsets.size());
+                out.writeLong(docs.totalLength);
+                out.writeLong(termsBytes.size());
+                out.writeLong(postingsLength);
+                out.writeLong(positionsLength);
+                for (int i = 0; i < docs.ids.length; i++) {
+                    out.writeLong(docs.ids[i]);
+                    out.writeInt(docs.lengths[i]);
+                }
+                for (int offset : termOffsets) {
+                    out.writeInt(offset);
+                }
+                termsBytes.writeTo(stream);
+            }
+            try (FileChannel target = FileChannel.open(tmp, StandardOpenOption.APPEND)) {
+                append(postingsFile, target);
+                append(positionsFile, target);
+                target.force(true);
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+            Files.deleteIfExists(postingsFile);
+            Files.deleteIfExists(positionsFile);
+        }
+    }
+
+    private static int writePostings(List<PostingsIterator> sources, SegmentFormat.Output postings,
+                                     SegmentFormat.Output positions) throws IOException {
+        PriorityQueue<PostingsIterator> queue = new PriorityQueue<>(
+                (first, second) -> Long.compare(first.articleId(), second.articleId()));
+        for (PostingsIterator source : sources) {
+            if (source.next()) {
+                queue.add(source);
+            }
+        }
+
+        int docFreq = 0;
+        long previousId = 0;
+        while (!queue.isEmpty()) {
+            PostingsIterator head = queue.poll();
+            postings.writeVarLong(head.articleId() - previousId);
+            postings.writeVarInt(head.freq());
+            postings.writeVarInt(head.titleFreq());
+            postings.writeVarInt(head.docLength());
+            int previousPosition = 0;
+            for (int position : head.positions()) {
+                positions.writeVarInt(position - previousPosition);
+                previousPosition = position;
+            }
+            previousId = head.articleId();
+            docFreq++;
+            if (head.next()) {
+                queue.add(head);
+            }
+        }
+        return docFreq;
+    }
+
+    private static Docs mergeDocs(List<? extends Segment> sources) {
+        int capacity = sources.stream().mapToInt(Segment::docCount).sum();
+        long[] ids = new long[capacity];
+        int[] lengths = new int[capacity];
+        int count = 0;
+        long totalLength = 0;
+
+        long[][] sourceIds = new long[sources.size()][];
+        int[][] sourceLengths = new int[sources.size()][];
+        int[] cursors = new int[sources.size()];
+        for (int i = 0; i < sources.size(); i++) {
+            sourceIds[i] = sources.get(i).articleIds();
+            sourceLengths[i] = sources.get(i).docLengths();
+        }
+
+        while (true) {
+            int next = -1;
+            for (int i = 0; i < sources.size(); i++) {
+                if (cursors[i] < sourceIds[i].length
+                        && (next < 0 || sourceIds[i][cursors[i]] < sourceIds[next][cursors[next]])) {
+                    next = i;
+                }
+            }
+            if (next < 0) {
+                break;
+            }
+            long id = sourceIds[next][cursors[next]];
+            int length = sourceLengths[next][cursors[next]];
+            cursors[next]++;
+            if (!sources.get(next).isDeleted(id)) {
+                ids[count] = id;
+                lengths[count] = length;
+                totalLength += length;
+                count++;
+            }
+        }
+        return new Docs(Arrays.copyOf(ids, count), Arrays.copyOf(lengths, count), totalLength);
+    }
+
+    private static void append(Path source, FileChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long transferred = 0;
+            while (transferred < size) {
+                transferred += channel.transferTo(transferred, size - transferred, target);
+            }
+        }
+    }
+
+    private static int toInt(long offset) throws IOException {
+        if (offset > Integer.MAX_VALUE) {
+            throw new IOException("Search segment region exceeds 2GB");
+        }
+        return (int) offset;
+    }
+
+    private record Docs(long[] ids, int[] lengths, long totalLength) {
+    }
+
+    /**
+     * Walks the union of the sources' terms in sorted order.
+     */
+    private static class TermMerger {
+        private final PriorityQueue<TermSource> queue = new PriorityQueue<>(
+                (first, second) -> first.term.compareTo(second.term));
+        private final List<Segment> current = new ArrayList<>();
+        private String currentTerm;
+
+        TermMerger(List<? extends Segment> sources) {
+            for (Segment source : sources) {
+                TermSource termSource = new TermSource(source, source.termsFrom(""));
+                if (termSource.advance()) {
+                    queue.add(termSource);
+                }
+            }
+        }
+
+        boolean hasNext() {
+            return !queue.isEmpty();
+        }
+
+        String nextTerm() {
+            current.clear();
+            String term = queue.peek().term;
+            while (!queue.isEmpty() && queue.peek().term.equals(term)) {
+                TermSource source = queue.poll();
+                current.add(source.segment);
+                if (source.advance()) {
+                    queue.add(source);
+                }
+            }
+            currentTerm = term;
+            return term;
+        }
+
+        /**
+         * Postings of the last returned term from every source holding it, deleted documents skipped.
+         */
+        List<PostingsIterator> postings() {
+            List<PostingsIterator> postings = new ArrayList<>(current.size());
+            for (Segment segment : current) {
+                postings.add(new LivePostingsIterator(segment, segment.postings(currentTerm, true)));
+            }
+            return postings;
+        }
+    }
+
+    private static class TermSource {
+        private final Segment segment;
+        private final Iterator<String> terms;
+        private String term;
+
+        TermSource(Segment segment, Iterator<String> terms) {
+            this.segment = segment;
+            this.terms = terms;
+        }
+
+        boolean advance() {
+            term = terms.hasNext() ? terms.next() : null;
+            return term != null;
+        }
+    }
+
+    private static class LivePostingsIterator implements PostingsIterator {
+        private final Segment segment;
+        private final PostingsIterator delegate;
+
+        LivePostingsIterator(Segment segment, PostingsIterator delegate) {
+            this.segment = segment;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean next() {
+            while (delegate.next()) {
+                if (!segment.isDeleted(delegate.articleId())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public long articleId() {
+            return delegate.articleId();
+        }
+
+        @Override
+        public int freq() {
+            return delegate.freq();
+        }
+
+        @Override
+        public int titleFreq() {
+            return delegate.titleFreq();
+        }
+
+        @Override
+        public int docLength() {
+            return delegate.docLength();
+        }
+
+        @Override
+        public int[] positions() {
+            return delegate.positions();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.raczkowski.app.surveys.survey;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SurveyChangedEvent {
+    private final Long surveyId;
+}
@@ -5,6 +5,7 @@ import com.raczkowski.app.surveys.answers.Answers;
 import com.raczkowski.app.surveys.questions.Question;
 import com.raczkowski.app.user.UserService;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import javax.persistence.EntityNotFoundException;
@@ -18,6 +19,7 @@ import java.util.stream.Collectors;
 public class SurveyService {
     private SurveysRepository surveyRepository;
     private UserService userService;
+    private ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Survey createNewSurvey(SurveyRequest surveyRequest) {
@@ -58,6 +60,7 @@ public class SurveyService {
                 .orElseThrow(() -> new EntityNotFoundException("Survey not found"));
 
         surveyRepository.delete(survey);
+        eventPublisher.publishEvent(new SurveyChangedEvent(surveyId));
     }
 
     public Survey getSurveyById(Long id) {
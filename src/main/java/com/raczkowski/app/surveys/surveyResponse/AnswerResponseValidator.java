@@ -1,70 +1,64 @@
 package com.raczkowski.app.surveys.surveyResponse;
 
 import com.raczkowski.app.exceptions.ResponseException;
-import com.raczkowski.app.surveys.answers.Answers;
-import com.raczkowski.app.surveys.questions.Question;
-import com.raczkowski.app.surveys.survey.Survey;
 import org.springframework.stereotype.Component;
 
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 @Component
 public class AnswerResponseValidator {
 
-    public void checkResponseDate(Survey survey) {
-        if (survey.getEndTime().isBefore(ZonedDateTime.now(ZoneOffset.UTC))) {
+    /**
+     * Validates a whole submission against the survey's plan with hash lookups only, so the cost
+     * is linear in the number of submitted answers.
+     */
+    public void validate(SurveyValidationPlan plan, SurveyResponseRequest surveyResponseRequest) {
+        if (plan.getEndTime().isBefore(ZonedDateTime.now(ZoneOffset.UTC))) {
             throw new ResponseException("Survey already ended");
         }
-    }
 
-    public void validateRequiredQuestions(List<Question> requiredQuestions, Map<Long, List<String>> providedAnswers) {
-        for (Question requiredQuestion : requiredQuestions) {
-            if (!providedAnswers.containsKey(requiredQuestion.getId()) ||
-                    providedAnswers.get(requiredQuestion.getId()) == null) {
-                throw new ResponseException("Question " + requiredQuestion.getId() + " is required.");
+        List<AnswerResponseRequest> answerResponses = surveyResponseRequest.getAnswerResponses() == null
+                ? List.of() : surveyResponseRequest.getAnswerResponses();
+        Set<Long> answeredQuestions = new HashSet<>();
+        for (AnswerResponseRequest answerResponseRequest : answerResponses) {
+            SurveyValidationPlan.QuestionRule rule = plan.getQuestions().get(answerResponseRequest.getQuestionId());
+            if (rule == null) {
+                throw new ResponseException("Question not found for ID: " + answerResponseRequest.getQuestionId());
+            }
+            if (!answeredQuestions.add(rule.getQuestionId())) {
+                throw new ResponseException("Question " + rule.getQuestionId() + " is answered more than once.");
             }
+            validateAnswerResponse(answerResponseRequest, rule);
         }
-    }
 
-    public void validateAnswerResponse(AnswerResponseRequest answerResponseRequest, List<Question> questions) {
-        Question question = findQuestionById(answerResponseRequest.getQuestionId(), questions);
-        if (question == null) {
-            throw new ResponseException("Question not found for ID: " + answerResponseRequest.getQuestionId());
+        for (Long requiredQuestionId : plan.getRequiredQuestionIds()) {
+            if (!answeredQuestions.contains(requiredQuestionId)) {
+                throw new ResponseException("Question " + requiredQuestionId + " is required.");
+            }
         }
+    }
 
-        if (question.isRequired() && (answerResponseRequest.getAnswerValues() == null || answerResponseRequest.getAnswerValues().isEmpty())) {
+    private void validateAnswerResponse(AnswerResponseRequest answerResponseRequest, SurveyValidationPlan.QuestionRule rule) {
+        List<String> answerValues = answerResponseRequest.getAnswerValues();
+        if (rule.isRequired() && (answerValues == null || answerValues.isEmpty())) {
             throw new ResponseException("Answer is required for this question.");
         }
 
-        if (answerResponseRequest.getAnswerValues() != null) {
-            int selectedCount = answerResponseRequest.getAnswerValues().size();
-            if (selectedCount < question.getMinSelected() || selectedCount > question.getMaxSelected()) {
-                throw new ResponseException("Number of selected answers must be between " + question.getMinSelected() + " and " + question.getMaxSelected());
+        if (answerValues != null) {
+            int selectedCount = answerValues.size();
+            if (selectedCount < rule.getMinSelected() || selectedCount > rule.getMaxSelected()) {
+                throw new ResponseException("Number of selected answers must be between " + rule.getMinSelected() + " and " + rule.getMaxSelected());
             }
 
-            validateAnswerValues(answerResponseRequest.getAnswerValues(), question);
-        }
-    }
-
-    private void validateAnswerValues(List<String> answerValues, Question question) {
-        List<String> validAnswers = question.getAnswers().stream()
-                .map(Answers::getValue)
-                .toList();
-
-        for (String answer : answerValues) {
-            if (!validAnswers.contains(answer)) {
-                throw new ResponseException("Invalid answer value: " + answer);
+            for (String answer : answerValues) {
+                if (!rule.getValidAnswers().contains(answer)) {
+                    throw new ResponseException("Invalid answer value: " + answer);
+                }
             }
         }
     }
-
-    protected Question findQuestionById(Long questionId, List<Question> questions) {
-        return questions.stream()
-                .filter(question -> question.getId().equals(questionId))
-                .findFirst()
-                .orElse(null);
-    }
-}
\ No newline at end of file
+}
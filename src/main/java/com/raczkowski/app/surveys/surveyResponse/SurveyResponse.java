@@ -13,11 +13,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = SurveyResponse.SURVEY_USER_CONSTRAINT, columnNames = {"survey_id", "user_id"}))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class SurveyResponse {
+    static final String SURVEY_USER_CONSTRAINT = "uc_survey_response_survey_user";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,18 +1,24 @@
 package com.raczkowski.app.surveys.surveyResponse;
 
-import com.raczkowski.app.surveys.questions.Question;
-import com.raczkowski.app.surveys.survey.Survey;
-import com.raczkowski.app.user.AppUser;
+import com.raczkowski.app.export.SurveyAnswerExportRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
 public interface SurveyResponseRepository extends JpaRepository<SurveyResponse, Long> {
     @Query("SELECT COUNT(sr) FROM SurveyResponse sr WHERE sr.survey.id = :surveyId")
     int countResponsesBySurveyId(@Param("surveyId") Long surveyId);
 
-    boolean existsBySurveyAndUser(Survey survey, AppUser user);
-
-    @Query("SELECT COUNT(ar) FROM AnswerResponse ar WHERE ar.question = :question AND :answer MEMBER OF ar.answerValues")
-    int countByQuestionAndAnswer(@Param("question") Question question, @Param("answer") String answer);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT sr.id AS responseId, sr.user.id AS userId, sr.submittedAt AS submittedAt, " +
+            "q.id AS questionId, v AS answerValue " +
+            "FROM SurveyResponse sr LEFT JOIN sr.answerResponses ar LEFT JOIN ar.question q LEFT JOIN ar.answerValues v " +
+            "WHERE sr.survey.id = :surveyId ORDER BY sr.id")
+    Stream<SurveyAnswerExportRow> streamExportRowsBySurveyId(@Param("surveyId") Long surveyId);
 }
@@ -1,22 +1,29 @@
 package com.raczkowski.app.surveys.surveyResponse;
 
+import com.raczkowski.app.enums.SurveyQuestionType;
 import com.raczkowski.app.exceptions.ResponseException;
 import com.raczkowski.app.surveys.answers.Answers;
 import com.raczkowski.app.surveys.questions.Question;
+import com.raczkowski.app.surveys.questions.QuestionRepository;
 import com.raczkowski.app.surveys.survey.Survey;
 import com.raczkowski.app.surveys.survey.SurveysRepository;
 import com.raczkowski.app.user.AppUser;
 import com.raczkowski.app.user.UserRepository;
 import lombok.AllArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.TreeMap;
 
 @Service
 @AllArgsConstructor
@@ -26,56 +33,68 @@ public class SurveyResponseService {
     private UserRepository userRepository;
     private SurveyResponseRepository surveyResponseRepository;
     private AnswerResponseValidator answerResponseValidator;
-
+    private SurveyTally surveyTally;
+    private ApplicationEventPublisher eventPublisher;
+    private SurveyValidationPlans validationPlans;
+    private QuestionRepository questionRepository;
+
+    /**
+     * Validates the submission against the survey's cached {@link SurveyValidationPlan} and
+     * inserts it; the unique (survey, user) constraint rejects a second response from the same
+     * user, so no existence check precedes the insert.
+     */
     @Transactional
     public void saveSurveyResponse(SurveyResponseRequest surveyResponseRequest) {
-        Survey survey = surveysRepository.findSurveyById(surveyResponseRequest.getSurveyId());
+        SurveyValidationPlan plan = validationPlans.get(surveyResponseRequest.getSurveyId());
         AppUser user = userRepository.getAppUserById(surveyResponseRequest.getUserId());
 
-        if (survey == null || user == null) {
+        if (plan == null || user == null) {
             throw new ResponseException("Survey or user not found");
         }
-        answerResponseValidator.checkResponseDate(survey);
-
-        List<Question> requiredQuestions = survey.getQuestions().stream()
-                .filter(Question::isRequired)
-                .toList();
-
-        Map<Long, List<String>> providedAnswers = surveyResponseRequest.getAnswerResponses().stream()
-                .filter(answerRequest -> answerRequest.getAnswerValues() != null)
-                .collect(Collectors.toMap(
-                        AnswerResponseRequest::getQuestionId,
-                        AnswerResponseRequest::getAnswerValues
-                ));
-
-        answerResponseValidator.validateRequiredQuestions(requiredQuestions, providedAnswers);
+        answerResponseValidator.validate(plan, surveyResponseRequest);
 
         SurveyResponse surveyResponse = new SurveyResponse();
-        surveyResponse.setSurvey(survey);
+        surveyResponse.setSurvey(surveysRepository.getReferenceById(plan.getSurveyId()));
         surveyResponse.setUser(user);
         surveyResponse.setSubmittedAt(ZonedDateTime.now(ZoneOffset.UTC));
 
-        for (AnswerResponseRequest answerRequest : surveyResponseRequest.getAnswerResponses()) {
-            answerResponseValidator.validateAnswerResponse(answerRequest, survey.getQuestions());
-
-            Question question = answerResponseValidator.findQuestionById(answerRequest.getQuestionId(), survey.getQuestions());
-
-            if (surveyResponseRepository.existsBySurveyAndUser(survey, user)) {
-                throw new ResponseException("User has already answered this question.");
-            }
-
-            if (answerRequest.getAnswerValues() == null && !question.isRequired()) continue;
+        List<AnswerResponseRequest> answerRequests = surveyResponseRequest.getAnswerResponses() == null
+                ? List.of() : surveyResponseRequest.getAnswerResponses();
+        Map<Long, List<String>> answerValues = new HashMap<>();
+        for (AnswerResponseRequest answerRequest : answerRequests) {
+            if (answerRequest.getAnswerValues() == null) continue;
 
             AnswerResponse answerResponse = new AnswerResponse();
-            answerResponse.setQuestion(question);
+            answerResponse.setQuestion(questionRepository.getReferenceById(answerRequest.getQuestionId()));
             answerResponse.setSurveyResponse(surveyResponse);
             answerResponse.setAnswerValues(answerRequest.getAnswerValues());
             surveyResponse.getAnswerResponses().add(answerResponse);
+            answerValues.put(answerRequest.getQuestionId(), answerRequest.getAnswerValues());
+        }
+
+        try {
+            surveyResponseRepository.saveAndFlush(surveyResponse);
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, SurveyResponse.SURVEY_USER_CONSTRAINT)) {
+                throw new ResponseException("User has already answered this survey.");
+            }
+            throw e;
         }
+        eventPublisher.publishEvent(new SurveyResponseSubmittedEvent(plan.getSurveyId(), answerValues));
+    }
 
-        surveyResponseRepository.save(surveyResponse);
+    private static boolean violates(Throwable exception, String constraintName) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return constraintName.equalsIgnoreCase(violation.getConstraintName());
+            }
+        }
+        return false;
     }
 
+    /**
+     * Builds the results from the live {@link SurveyTally} counters, one lookup per answer option.
+     */
     public SurveyResults getSurveyResults(Long surveyId) {
         Survey survey = surveysRepository.findSurveyById(surveyId);
 
@@ -89,21 +108,62 @@ public class SurveyResponseService {
             List<SurveyResults.AnswerResult> answerResults = new ArrayList<>();
 
             for (Answers answer : question.getAnswers()) {
-                int count = surveyResponseRepository.countByQuestionAndAnswer(question, answer.getValue());
+                int count = (int) surveyTally.count(survey.getId(), question.getId(), answer.getValue());
                 answerResults.add(new SurveyResults.AnswerResult(answer.getValue(), count));
             }
 
-            questionResults.add(new SurveyResults.QuestionResult(question.getValue(), answerResults));
+            SurveyResults.RatingSummary rating = question.getType() == SurveyQuestionType.RATING
+                    ? ratingSummary(answerResults) : null;
+            questionResults.add(new SurveyResults.QuestionResult(question.getValue(), answerResults, rating));
         }
 
-        int totalResponses = surveyResponseRepository.countResponsesBySurveyId(survey.getId());
-
         return new SurveyResults(
                 survey.getTitle(),
                 survey.getDescription(),
-                totalResponses,
+                (int) surveyTally.responses(survey.getId()),
                 survey.getEndTime(),
                 questionResults
         );
     }
+
+    private static SurveyResults.RatingSummary ratingSummary(List<SurveyResults.AnswerResult> answerResults) {
+        TreeMap<Double, SurveyResults.AnswerResult> byRating = new TreeMap<>();
+        for (SurveyResults.AnswerResult answer : answerResults) {
+            try {
+                byRating.put(Double.parseDouble(answer.getAnswerText().trim()), answer);
+            } catch (NumberFormatException e) {
+                // non-numeric options do not take part in rating statistics
+            }
+        }
+
+        Map<String, Integer> histogram = new LinkedHashMap<>();
+        long total = 0;
+        double sum = 0;
+        for (Map.Entry<Double, SurveyResults.AnswerResult> entry : byRating.entrySet()) {
+            int count = entry.getValue().getCount();
+            histogram.put(entry.getValue().getAnswerText(), count);
+            total += count;
+            sum += entry.getKey() * count;
+        }
+        if (total == 0) {
+            return new SurveyResults.RatingSummary(0, 0, histogram);
+        }
+
+        long lowerMiddle = (total - 1) / 2;
+        long upperMiddle = total / 2;
+        Double lower = null;
+        Double upper = null;
+        long seen = 0;
+        for (Map.Entry<Double, SurveyResults.AnswerResult> entry : byRating.entrySet()) {
+            seen += entry.getValue().getCount();
+            if (lower == null && seen > lowerMiddle) {
+                lower = entry.getKey();
+            }
+            if (seen > upperMiddle) {
+                upper = entry.getKey();
+                break;
+            }
+        }
+        return new SurveyResults.RatingSummary(sum / total, (lower + upper) / 2, histogram);
+    }
 }
@@ -0,0 +1,14 @@
+package com.raczkowski.app.surveys.surveyResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class SurveyResponseSubmittedEvent {
+    private final Long surveyId;
+    private final Map<Long, List<String>> answerValues;
+}
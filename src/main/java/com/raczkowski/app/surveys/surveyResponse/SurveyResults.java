@@ -6,6 +6,7 @@ import lombok.Setter;
 
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -23,6 +24,7 @@ public class SurveyResults {
     public static class QuestionResult {
         private String questionText;
         private List<AnswerResult> answerResults;
+        private RatingSummary rating;
     }
 
     @Getter
@@ -32,4 +34,17 @@ public class SurveyResults {
         private String answerText;
         private int count;
     }
+
+    /**
+     * Statistics over the numeric answers of a RATING question; the histogram maps each rating
+     * to its count in ascending order of rating.
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class RatingSummary {
+        private double mean;
+        private double median;
+        private Map<String, Integer> histogram;
+    }
 }
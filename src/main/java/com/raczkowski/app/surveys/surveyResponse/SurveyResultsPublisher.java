@@ -0,0 +1,42 @@
+package com.raczkowski.app.surveys.surveyResponse;
+
+import com.raczkowski.app.websockets.MessageBroadcaster;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Pushes the results of open surveys to {@code /topic/surveys/{id}/results} at most once per
+ * interval, and only for surveys that received responses since the previous push.
+ */
+@Component
+@AllArgsConstructor
+public class SurveyResultsPublisher {
+    private static final Logger logger = LoggerFactory.getLogger(SurveyResultsPublisher.class);
+
+    private final SurveyTally surveyTally;
+    private final SurveyResponseService surveyResponseService;
+    private final MessageBroadcaster broadcaster;
+
+    @Scheduled(fixedDelay = 2_000)
+    @Transactional(readOnly = true)
+    public void publishChangedResults() {
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        for (Long surveyId : surveyTally.drainChangedSurveys()) {
+            try {
+                SurveyResults results = surveyResponseService.getSurveyResults(surveyId);
+                if (results.getEndTime() != null && results.getEndTime().isAfter(now)) {
+                    broadcaster.broadcast("/topic/surveys/" + surveyId + "/results", results);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Pushing live results of survey {} failed", surveyId, e);
+            }
+        }
+    }
+}
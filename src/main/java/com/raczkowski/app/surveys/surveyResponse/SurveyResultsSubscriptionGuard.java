@@ -0,0 +1,40 @@
+package com.raczkowski.app.surveys.surveyResponse;
+
+import com.raczkowski.app.surveys.survey.Survey;
+import com.raczkowski.app.surveys.survey.SurveysRepository;
+import com.raczkowski.app.user.AppUser;
+import com.raczkowski.app.websockets.SubscriptionGuard;
+import lombok.AllArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Only the owner of a survey may follow its live results.
+ */
+@Component
+@AllArgsConstructor
+public class SurveyResultsSubscriptionGuard implements SubscriptionGuard {
+    private static final Pattern DESTINATION = Pattern.compile("^/topic/surveys/(\\d+)/results$");
+
+    private final SurveysRepository surveysRepository;
+
+    @Override
+    public boolean supports(String destination) {
+        return destination.startsWith("/topic/surveys/");
+    }
+
+    @Override
+    public boolean canSubscribe(Principal user, String destination) {
+        Matcher matcher = DESTINATION.matcher(destination);
+        if (!matcher.matches() || !(user instanceof Authentication authentication)
+                || !(authentication.getPrincipal() instanceof AppUser appUser)) {
+            return false;
+        }
+        Survey survey = surveysRepository.findSurveyById(Long.parseLong(matcher.group(1)));
+        return survey != null && survey.getOwner().getId().equals(appUser.getId());
+    }
+}
@@ -0,0 +1,236 @@
+package com.raczkowski.app.surveys.surveyResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running per-(question, answer) counts of survey responses. Committed responses bump
+ * {@link LongAdder} counters in memory; every few seconds the accumulated deltas are added to
+ * {@code survey_tally} and the stored totals are read back, which also brings in responses
+ * counted by other nodes. A count is the stored total plus whatever this node has not
+ * checkpointed yet, so reading results costs one map lookup per answer option.
+ */
+@Component
+public class SurveyTally {
+    private static final Logger logger = LoggerFactory.getLogger(SurveyTally.class);
+    private static final long IDLE_EVICTION_MILLIS = 3_600_000;
+    private static final String SELECT_TALLY_SQL =
+            "SELECT question_id, answer_value, responses FROM survey_tally WHERE survey_id = ?";
+    private static final String SELECT_COUNT_SQL =
+            "SELECT responses FROM survey_response_count WHERE survey_id = ?";
+    private static final String UPSERT_TALLY_SQL =
+            "INSERT INTO survey_tally (survey_id, question_id, answer_value, responses) VALUES (?, ?, ?, ?) " +
+                    "ON CONFLICT (survey_id, question_id, answer_value) " +
+                    "DO UPDATE SET responses = survey_tally.responses + EXCLUDED.responses";
+    private static final String UPSERT_COUNT_SQL =
+            "INSERT INTO survey_response_count (survey_id, responses) VALUES (?, ?) " +
+                    "ON CONFLICT (survey_id) DO UPDATE SET responses = survey_response_count.responses + EXCLUDED.responses";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentHashMap<Long, SurveyCounters> surveys = new ConcurrentHashMap<>();
+    private final Set<Long> changedSurveys = ConcurrentHashMap.newKeySet();
+    private final Object checkpointLock = new Object();
+
+    public SurveyTally(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResponseSubmitted(SurveyResponseSubmittedEvent event) {
+        SurveyCounters counters = counters(event.getSurveyId());
+        event.getAnswerValues().forEach((questionId, values) -> values.stream()
+                .distinct()
+                .forEach(value -> counters.answers
+                        .computeIfAbsent(new AnswerKey(questionId, value), key -> new Counter())
+                        .pending.increment()));
+        counters.responses.pending.increment();
+        changedSurveys.add(event.getSurveyId());
+    }
+
+    public long count(Long surveyId, Long questionId, String answerValue) {
+        Counter counter = readCounters(surveyId).answers.get(new AnswerKey(questionId, answerValue));
+        return counter == null ? 0 : counter.value();
+    }
+
+    public long responses(Long surveyId) {
+        return readCounters(surveyId).responses.value();
+    }
+
+    /**
+     * Returns the surveys that received responses since the previous call.
+     */
+    public Set<Long> drainChangedSurveys() {
+        Set<Long> drained = new HashSet<>(changedSurveys);
+        changedSurveys.removeAll(drained);
+        return drained;
+    }
+
+    @Scheduled(fixedDelay = 5_000)
+    public void checkpoint() {
+        synchronized (checkpointLock) {
+            long now = System.currentTimeMillis();
+            surveys.forEach((surveyId, counters) -> {
+                try {
+                    flush(surveyId, counters);
+                    reload(surveyId, counters);
+                } catch (RuntimeException e) {
+                    logger.warn("Checkpointing tally of survey {} failed, keeping it in memory", surveyId, e);
+                }
+                surveys.computeIfPresent(surveyId, (id, current) ->
+                        now - current.lastAccess > IDLE_EVICTION_MILLIS && !current.hasPending() ? null : current);
+            });
+        }
+    }
+
+    @PreDestroy
+    public void checkpointOnShutdown() {
+        checkpoint();
+    }
+
+    /**
+     * The survey's counters, loaded and cached on first use. The stored totals are read before
+     * the entry is published, so no map bin is held locked during the queries; when two threads
+     * load the same survey the first one to publish wins. Touching goes through the map so it
+     * cannot interleave with the idle eviction in {@link #checkpoint}.
+     */
+    private SurveyCounters counters(Long surveyId) {
+        SurveyCounters counters = touch(surveyId);
+        return counters != null ? counters : cache(surveyId, load(surveyId));
+    }
+
+    /**
+     * Like {@link #counters}, but a survey that has nothing stored is not cached, so looking up
+     * results of unanswered surveys does not fill the map with empty entries.
+     */
+    private SurveyCounters readCounters(Long surveyId) {
+        SurveyCounters counters = touch(surveyId);
+        if (counters != null) {
+            return counters;
+        }
+        SurveyCounters loaded = load(surveyId);
+        return loaded.isEmpty() ? loaded : cache(surveyId, loaded);
+    }
+
+    private SurveyCounters touch(Long surveyId) {
+        return surveys.computeIfPresent(surveyId, (id, counters) -> {
+            counters.lastAccess = System.currentTimeMillis();
+            return counters;
+        });
+    }
+
+    private SurveyCounters load(Long surveyId) {
+        SurveyCounters counters = new SurveyCounters();
+        reload(surveyId, counters);
+        return counters;
+    }
+
+    private SurveyCounters cache(Long surveyId, SurveyCounters loaded) {
+        SurveyCounters cached = surveys.putIfAbsent(surveyId, loaded);
+        return cached == null ? loaded : Objects.requireNonNullElse(touch(surveyId), cached);
+    }
+
+    private void flush(Long surveyId, SurveyCounters counters) {
+        Map<AnswerKey, Long> answerDeltas = new HashMap<>();
+        counters.answers.forEach((key, counter) -> {
+            long delta = counter.drain();
+            if (delta != 0) {
+                answerDeltas.put(key, delta);
+            }
+        });
+        long responseDelta = counters.responses.drain();
+        if (answerDeltas.isEmpty() && responseDelta == 0) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Object[]> rows = new ArrayList<>();
+                answerDeltas.forEach((key, delta) -> rows.add(new Object[]{surveyId, key.questionId, key.answerValue, delta}));
+                jdbcTemplate.batchUpdate(UPSERT_TALLY_SQL, rows);
+                if (responseDelta != 0) {
+                    jdbcTemplate.update(UPSERT_COUNT_SQL, surveyId, responseDelta);
+                }
+            });
+        } catch (RuntimeException e) {
+            answerDeltas.forEach((key, delta) -> counters.answers.get(key).restore(delta));
+            counters.responses.restore(responseDelta);
+            throw e;
+        }
+    }
+
+    private void reload(Long surveyId, SurveyCounters counters) {
+        jdbcTemplate.query(SELECT_TALLY_SQL, rs -> {
+            counters.answers.computeIfAbsent(new AnswerKey(rs.getLong("question_id"), rs.getString("answer_value")),
+                    key -> new Counter()).stored.set(rs.getLong("responses"));
+        }, surveyId);
+        List<Long> responses = jdbcTemplate.queryForList(SELECT_COUNT_SQL, Long.class, surveyId);
+        counters.responses.stored.set(responses.isEmpty() ? 0 : responses.get(0));
+    }
+
+    private static class SurveyCounters {
+        private final ConcurrentHashMap<AnswerKey, Counter> answers = new ConcurrentHashMap<>();
+        private final Counter responses = new Counter();
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        boolean isEmpty() {
+            return answers.isEmpty() && responses.value() == 0;
+        }
+
+        boolean hasPending() {
+            return responses.pending.sum() != 0 || answers.values().stream().anyMatch(counter -> counter.pending.sum() != 0);
+        }
+    }
+
+    /**
+     * {@code stored} mirrors the checkpointed total; {@code pending} collects increments made
+     * since. Draining moves pending into stored first, so a concurrent read never misses them.
+     */
+    private static class Counter {
+        private final AtomicLong stored = new AtomicLong();
+        private final LongAdder pending = new LongAdder();
+
+        long value() {
+            return stored.get() + pending.sum();
+        }
+
+        long drain() {
+            long delta = pending.sumThenReset();
+            stored.addAndGet(delta);
+            return delta;
+        }
+
+        void restore(long delta) {
+            stored.addAndGet(-delta);
+            pending.add(delta);
+        }
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class AnswerKey {
+        private final Long questionId;
+        private final String answerValue;
+    }
+}
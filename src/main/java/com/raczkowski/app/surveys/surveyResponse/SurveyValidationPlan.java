@@ -0,0 +1,54 @@
+package com.raczkowski.app.surveys.surveyResponse;
+
+import com.raczkowski.app.surveys.answers.Answers;
+import com.raczkowski.app.surveys.questions.Question;
+import com.raczkowski.app.surveys.survey.Survey;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable view of everything needed to validate a response to one survey: its end time, and
+ * per question the selection bounds and the set of valid answers, keyed by question id.
+ */
+@Getter
+@AllArgsConstructor
+public class SurveyValidationPlan {
+    private final Long surveyId;
+    private final ZonedDateTime endTime;
+    private final Map<Long, QuestionRule> questions;
+    private final Set<Long> requiredQuestionIds;
+
+    public static SurveyValidationPlan of(Survey survey) {
+        Map<Long, QuestionRule> questions = survey.getQuestions().stream()
+                .map(QuestionRule::of)
+                .collect(Collectors.toUnmodifiableMap(QuestionRule::getQuestionId, Function.identity()));
+        Set<Long> required = questions.values().stream()
+                .filter(QuestionRule::isRequired)
+                .map(QuestionRule::getQuestionId)
+                .collect(Collectors.toUnmodifiableSet());
+        return new SurveyValidationPlan(survey.getId(), survey.getEndTime(), questions, required);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class QuestionRule {
+        private final Long questionId;
+        private final boolean required;
+        private final int minSelected;
+        private final int maxSelected;
+        private final Set<String> validAnswers;
+
+        static QuestionRule of(Question question) {
+            return new QuestionRule(question.getId(), question.isRequired(), question.getMinSelected(),
+                    question.getMaxSelected(), question.getAnswers().stream()
+                    .map(Answers::getValue)
+                    .collect(Collectors.toUnmodifiableSet()));
+        }
+    }
+}
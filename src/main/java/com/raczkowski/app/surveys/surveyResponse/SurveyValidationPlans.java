@@ -0,0 +1,71 @@
+package com.raczkowski.app.surveys.surveyResponse;
+
+import com.raczkowski.app.surveys.survey.Survey;
+import com.raczkowski.app.surveys.survey.SurveyChangedEvent;
+import com.raczkowski.app.surveys.survey.SurveysRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of {@link SurveyValidationPlan}s. Entries are dropped when the survey changes on this
+ * node and expire after a few minutes so changes made on other nodes are picked up too.
+ */
+@Component
+public class SurveyValidationPlans {
+    private static final int MAX_SIZE = 1_000;
+    private static final long TTL_NANOS = Duration.ofMinutes(5).toNanos();
+
+    private final SurveysRepository surveysRepository;
+    private final Map<Long, Entry> plans = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    public SurveyValidationPlans(SurveysRepository surveysRepository) {
+        this.surveysRepository = surveysRepository;
+    }
+
+    /**
+     * Returns the plan of the survey, or {@code null} when there is no such survey. Loading a
+     * plan walks the survey's questions and answers, so it must run inside a transaction.
+     */
+    public SurveyValidationPlan get(Long surveyId) {
+        long now = System.nanoTime();
+        synchronized (plans) {
+            Entry entry = plans.get(surveyId);
+            if (entry != null && now - entry.loadedAt < TTL_NANOS) {
+                return entry.plan;
+            }
+        }
+
+        Survey survey = surveysRepository.findSurveyById(surveyId);
+        if (survey == null) {
+            return null;
+        }
+        SurveyValidationPlan plan = SurveyValidationPlan.of(survey);
+        synchronized (plans) {
+            plans.put(surveyId, new Entry(plan, now));
+        }
+        return plan;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSurveyChanged(SurveyChangedEvent event) {
+        synchronized (plans) {
+            plans.remove(event.getSurveyId());
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final SurveyValidationPlan plan;
+        private final long loadedAt;
+    }
+}
@@ -0,0 +1,141 @@
+package com.raczkowski.app.timeline;
+
+import com.raczkowski.app.article.ArticlePublishedEvent;
+import com.raczkowski.app.article.ArticleRepository;
+import com.raczkowski.app.user.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fan-out-on-write part of the follower timeline. When an article is approved its id is
+ * written to the timeline of every follower of the author, both to the {@code timeline_entry}
+ * table and to the in-memory ring of followers whose timeline is currently buffered. Authors
+ * with more than {@code timeline.celebrity-followers} followers are skipped; their articles are
+ * pulled when a timeline is read. An author who drops below the threshold has their newest
+ * {@code timeline.buffer-size} articles fanned out before reads stop pulling them.
+ */
+@Component
+public class FollowerTimeline {
+    private static final Logger logger = LoggerFactory.getLogger(FollowerTimeline.class);
+
+    private final TimelineStore timelineStore;
+    private final UserRepository userRepository;
+    private final ArticleRepository articleRepository;
+    private final TimelineProperties properties;
+    private final Map<Long, TimelineBuffer> buffers;
+
+    private volatile Set<Long> celebrityIds = Set.of();
+    private volatile Set<Long> demotedIds = Set.of();
+
+    public FollowerTimeline(TimelineStore timelineStore, UserRepository userRepository,
+                            ArticleRepository articleRepository, TimelineProperties properties) {
+        this.timelineStore = timelineStore;
+        this.userRepository = userRepository;
+        this.articleRepository = articleRepository;
+        this.properties = properties;
+        this.buffers = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, TimelineBuffer> eldest) {
+                return size() > properties.getMaxBufferedUsers();
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelay = 600_000, initialDelay = 600_000)
+    public synchronized void refreshCelebrities() {
+        Set<Long> refreshed = Set.copyOf(userRepository.findIdsWithMoreFollowersThan(properties.getCelebrityFollowers()));
+        Set<Long> demoted = new HashSet<>(celebrityIds);
+        demoted.removeAll(refreshed);
+
+        demotedIds = Set.copyOf(demoted);
+        celebrityIds = refreshed;
+        try {
+            demoted.forEach(this::fanOutRecentArticles);
+        } finally {
+            demotedIds = Set.of();
+        }
+        logger.info("{} authors are read into timelines on demand, {} were fanned out again",
+                refreshed.size(), demoted.size());
+    }
+
+    /**
+     * Whether reads have to pull the author's articles. Demoted authors keep being pulled until
+     * their recent articles are in the timelines of their followers.
+     */
+    public boolean isCelebrity(Long userId) {
+        return celebrityIds.contains(userId) || demotedIds.contains(userId);
+    }
+
+    private void fanOutRecentArticles(Long authorId) {
+        List<Long> followerIds = userRepository.findFollowerIdsByUserId(authorId);
+        if (followerIds.isEmpty()) {
+            return;
+        }
+        List<Long> articleIds = articleRepository.findApprovedIdsByAuthorsBefore(
+                List.of(authorId), Long.MAX_VALUE, PageRequest.of(0, properties.getBufferSize()));
+        for (Long articleId : articleIds) {
+            timelineStore.append(followerIds, articleId);
+        }
+        followerIds.forEach(buffers::remove);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlePublished(ArticlePublishedEvent event) {
+        Long authorId = articleRepository.findApprovedAuthorId(event.getArticleId());
+        if (authorId == null || celebrityIds.contains(authorId)) {
+            return;
+        }
+        List<Long> followerIds = userRepository.findFollowerIdsByUserId(authorId);
+        if (followerIds.size() > properties.getCelebrityFollowers()) {
+            Set<Long> updated = new HashSet<>(celebrityIds);
+            updated.add(authorId);
+            celebrityIds = Set.copyOf(updated);
+            return;
+        }
+        if (followerIds.isEmpty()) {
+            return;
+        }
+
+        timelineStore.append(followerIds, event.getArticleId());
+        for (Long followerId : followerIds) {
+            TimelineBuffer buffer = buffers.get(followerId);
+            if (buffer != null) {
+                buffer.add(event.getArticleId());
+            }
+        }
+    }
+
+    /**
+     * Ids of articles fanned out to the user, lower than {@code beforeId}, highest first. Served
+     * from the user's ring when it covers the page and from the table otherwise.
+     */
+    public List<Long> findArticleIds(Long userId, long beforeId, int limit) {
+        TimelineBuffer buffer = buffers.computeIfAbsent(userId, id -> new TimelineBuffer(properties.getBufferSize()));
+        if (!buffer.isLoaded()) {
+            List<Long> newest = timelineStore.findArticleIds(userId, Long.MAX_VALUE, properties.getBufferSize());
+            buffer.load(newest, newest.size() < properties.getBufferSize());
+        }
+
+        List<Long> articleIds = new ArrayList<>(buffer.before(beforeId, limit));
+        if (articleIds.size() < limit && !buffer.isComplete()) {
+            long from = articleIds.isEmpty() ? beforeId : articleIds.get(articleIds.size() - 1);
+            articleIds.addAll(timelineStore.findArticleIds(userId, from, limit - articleIds.size()));
+        }
+        return articleIds;
+    }
+}
@@ -0,0 +1,100 @@
+package com.raczkowski.app.timeline;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded ring of the newest article ids of one user's timeline, kept in ascending order so a
+ * page is a binary search plus a walk backwards. When full, the oldest id is overwritten. Ids
+ * pushed out of the ring (or too old to enter it) are still in the timeline table; {@link
+ * #isComplete()} tells whether the ring holds the whole timeline.
+ */
+class TimelineBuffer {
+    private final long[] ring;
+    private int head;
+    private int size;
+    private boolean loaded;
+    private boolean complete = true;
+
+    TimelineBuffer(int capacity) {
+        this.ring = new long[capacity];
+    }
+
+    synchronized void add(long articleId) {
+        int index = find(articleId);
+        if (index >= 0) {
+            return;
+        }
+        int position = -index - 1;
+        if (size == ring.length) {
+            complete = false;
+            if (position == 0) {
+                return;
+            }
+            head = (head + 1) % ring.length;
+            size--;
+            position--;
+        }
+        for (int i = size; i > position; i--) {
+            ring[slot(i)] = ring[slot(i - 1)];
+        }
+        ring[slot(position)] = articleId;
+        size++;
+    }
+
+    /**
+     * Fills the ring with the newest ids read from the table. Ids added while the rows were
+     * being read are kept, so a concurrent fan-out is never lost.
+     */
+    synchronized void load(List<Long> newestFirst, boolean complete) {
+        newestFirst.forEach(this::add);
+        this.complete = complete && this.complete;
+        loaded = true;
+    }
+
+    synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    synchronized boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Up to {@code limit} ids lower than {@code beforeId}, highest first.
+     */
+    synchronized List<Long> before(long beforeId, int limit) {
+        int index = find(beforeId);
+        int start = (index >= 0 ? index : -index - 1) - 1;
+        List<Long> result = new ArrayList<>(Math.min(limit, start + 1));
+        for (int i = start; i >= 0 && result.size() < limit; i--) {
+            result.add(ring[slot(i)]);
+        }
+        return result;
+    }
+
+    /**
+     * Binary search over the logical (oldest-first) order; returns {@code -(insertion point) - 1}
+     * when missing.
+     */
+    private int find(long articleId) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long value = ring[slot(middle)];
+            if (value < articleId) {
+                low = middle + 1;
+            } else if (value > articleId) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int slot(int index) {
+        return (head + index) % ring.length;
+    }
+}
@@ -0,0 +1,25 @@
+package com.raczkowski.app.timeline;
+
+import com.raczkowski.app.common.CursorPageResponse;
+import com.raczkowski.app.dto.ArticleDto;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/timeline")
+@AllArgsConstructor
+public class TimelineController {
+    private final TimelineService timelineService;
+
+    @GetMapping
+    ResponseEntity<CursorPageResponse<ArticleDto>> getTimeline(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(timelineService.getTimeline(cursor, size));
+    }
+}
@@ -0,0 +1,16 @@
+package com.raczkowski.app.timeline;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "timeline")
+@Getter
+@Setter
+public class TimelineProperties {
+    private int bufferSize = 200;
+    private int maxBufferedUsers = 10_000;
+    private int celebrityFollowers = 5_000;
+}
@@ -0,0 +1,89 @@
+package com.raczkowski.app.timeline;
+
+import com.raczkowski.app.article.Article;
+import com.raczkowski.app.article.ArticleFeedService;
+import com.raczkowski.app.article.ArticleRepository;
+import com.raczkowski.app.common.CursorPageResponse;
+import com.raczkowski.app.common.PageCursor;
+import com.raczkowski.app.dto.ArticleDto;
+import com.raczkowski.app.enums.ArticleStatus;
+import com.raczkowski.app.exceptions.ResponseException;
+import com.raczkowski.app.user.AppUser;
+import com.raczkowski.app.user.UserRepository;
+import com.raczkowski.app.user.UserService;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@AllArgsConstructor
+public class TimelineService {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final FollowerTimeline followerTimeline;
+    private final ArticleRepository articleRepository;
+    private final ArticleFeedService articleFeedService;
+    private final UserRepository userRepository;
+    private final UserService userService;
+
+    /**
+     * Articles of followed authors, newest first: the ids fanned out to the user merged with the
+     * newest articles of followed authors that are too popular to fan out.
+     */
+    public CursorPageResponse<ArticleDto> getTimeline(String cursor, int size) {
+        if (size < 1) {
+            throw new ResponseException("Page size must be at least 1");
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        AppUser user = userService.getLoggedUser();
+        long beforeId = PageCursor.decode(cursor).getId();
+        Set<Long> followedIds = new HashSet<>(userRepository.findFollowingIdsByUserId(user.getId()));
+
+        List<Long> pushed = followerTimeline.findArticleIds(user.getId(), beforeId, pageSize + 1);
+        List<Long> celebrityIds = followedIds.stream()
+                .filter(followerTimeline::isCelebrity)
+                .toList();
+        List<Long> pulled = celebrityIds.isEmpty()
+                ? List.of()
+                : articleRepository.findApprovedIdsByAuthorsBefore(celebrityIds, beforeId, PageRequest.of(0, pageSize + 1));
+
+        List<Long> articleIds = mergeDescending(pushed, pulled, pageSize + 1);
+        boolean hasNext = articleIds.size() > pageSize;
+        List<Long> pageIds = hasNext ? articleIds.subList(0, pageSize) : articleIds;
+
+        List<Article> articles = articleRepository.findAllById(pageIds).stream()
+                .filter(article -> article.getStatus() == ArticleStatus.APPROVED)
+                .filter(article -> followedIds.contains(article.getAppUser().getId()))
+                .sorted(Comparator.comparing(Article::getId).reversed())
+                .toList();
+
+        String nextCursor = hasNext
+                ? new PageCursor(pageIds.get(pageIds.size() - 1), pageIds.get(pageIds.size() - 1)).encode()
+                : null;
+        return new CursorPageResponse<>(articleFeedService.toFeed(articles, user), nextCursor, hasNext);
+    }
+
+    private static List<Long> mergeDescending(List<Long> first, List<Long> second, int limit) {
+        List<Long> merged = new ArrayList<>(limit);
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < first.size() || j < second.size())) {
+            long next;
+            if (j == second.size() || (i < first.size() && first.get(i) >= second.get(j))) {
+                next = first.get(i++);
+            } else {
+                next = second.get(j++);
+            }
+            if (merged.isEmpty() || merged.get(merged.size() - 1) != next) {
+                merged.add(next);
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,33 @@
+package com.raczkowski.app.timeline;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * The {@code timeline_entry} table: one (user, article) row per delivered article, keyed so a
+ * timeline page is a single index range scan.
+ */
+@Component
+@AllArgsConstructor
+class TimelineStore {
+    private static final String INSERT_SQL =
+            "INSERT INTO timeline_entry (user_id, article_id) VALUES (?, ?) ON CONFLICT DO NOTHING";
+    private static final String SELECT_SQL =
+            "SELECT article_id FROM timeline_entry WHERE user_id = ? AND article_id < ? " +
+                    "ORDER BY article_id DESC LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    void append(List<Long> userIds, long articleId) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, userIds.stream()
+                .map(userId -> new Object[]{userId, articleId})
+                .toList());
+    }
+
+    List<Long> findArticleIds(long userId, long beforeId, int limit) {
+        return jdbcTemplate.queryForList(SELECT_SQL, Long.class, userId, beforeId, limit);
+    }
+}
@@ -153,13 +153,13 @@ public class AppUser implements UserDetails {
         return enabled;
     }
 
-    public void followUser(AppUser user) {
-        followedUsers.add(user);
+    public boolean followUser(AppUser user) {
         user.getFollowers().add(this);
+        return followedUsers.add(user);
     }
 
-    public void unfollowUser(AppUser user) {
-        followedUsers.remove(user);
+    public boolean unfollowUser(AppUser user) {
         user.getFollowers().remove(this);
+        return followedUsers.remove(user);
     }
 }
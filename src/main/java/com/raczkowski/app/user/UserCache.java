@@ -0,0 +1,58 @@
+package com.raczkowski.app.user;
+
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+@Component
+public class UserCache {
+    private static final int MAX_SIZE = 1_000;
+    private static final long TTL_NANOS = Duration.ofSeconds(60).toNanos();
+
+    private final Map<String, Entry> users = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    public AppUser get(String email, Function<String, AppUser> loader) {
+        long now = System.nanoTime();
+        synchronized (users) {
+            Entry entry = users.get(email);
+            if (entry != null && now - entry.loadedAt < TTL_NANOS) {
+                return entry.user;
+            }
+        }
+
+        AppUser user = loader.apply(email);
+        if (user != null) {
+            synchronized (users) {
+                users.put(email, new Entry(user, now));
+            }
+        }
+        return user;
+    }
+
+    public void invalidate(String email) {
+        synchronized (users) {
+            users.remove(email);
+        }
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (users) {
+            users.values().removeIf(entry -> userId.equals(entry.user.getId()));
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final AppUser user;
+        private final long loadedAt;
+    }
+}
@@ -60,4 +60,13 @@ public interface UserRepository extends JpaRepository<AppUser, Long> {
     @Query("SELECT uf FROM AppUser u JOIN u.followedUsers uf WHERE u.id = :userId")
     List<AppUser> findFollowingByUserId(@Param("userId") Long userId);
 
+    @Query("SELECT uf.id FROM AppUser u JOIN u.followers uf WHERE u.id = :userId")
+    List<Long> findFollowerIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT uf.id FROM AppUser u JOIN u.followedUsers uf WHERE u.id = :userId")
+    List<Long> findFollowingIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT u.id FROM AppUser u JOIN u.followers uf GROUP BY u.id HAVING COUNT(uf) > :followers")
+    List<Long> findIdsWithMoreFollowersThan(@Param("followers") long followers);
+
 }
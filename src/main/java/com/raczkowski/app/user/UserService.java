@@ -7,12 +7,14 @@ import com.raczkowski.app.dtoMappers.UserDtoMapper;
 import com.raczkowski.app.exceptions.ResponseException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -23,12 +25,18 @@ import java.util.stream.Collectors;
 public class UserService implements UserDetailsService {
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final UserCache userCache;
+    private final UserStatsStore userStatsStore;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         return userRepository.findByEmail(email);
     }
 
+    public AppUser loadAuthenticatedUser(String email) {
+        return userCache.get(email, userRepository::findByEmail);
+    }
+
     public String signUpUser(AppUser appUser) {
         if (userRepository.findByEmail(appUser.getEmail()) != null) {
             throw new ResponseException("User already exists");
@@ -53,19 +61,15 @@ public class UserService implements UserDetailsService {
     }
 
     public AppUser getLoggedUser() {
-        return userRepository.findByEmail(
-                SecurityContextHolder
-                        .getContext()
-                        .getAuthentication()
-                        .getName());
-    }
-
-    public int userFollowersCount(AppUser user) {
-        return userRepository.findFollowersByUserId(getUserById(user.getId()).getId()).size();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof AppUser user) {
+            return user;
+        }
+        return userRepository.findByEmail(authentication.getName());
     }
 
-    public int userFollowingCount(AppUser user) {
-        return userRepository.findFollowingByUserId(getUserById(user.getId()).getId()).size();
+    public void evictCachedUser(Long id) {
+        userCache.invalidate(id);
     }
 
     public AppUser getUserById(Long id) {
@@ -84,8 +88,9 @@ public class UserService implements UserDetailsService {
         return userRepository.findFollowingByUserId(userId);
     }
 
+    @Transactional
     public void followUser(Long userIdToFollow) {
-        AppUser currentUser = getLoggedUser();
+        AppUser currentUser = userRepository.getAppUserById(getLoggedUser().getId());
         AppUser userToFollow = userRepository.findById(userIdToFollow)
                 .orElseThrow(() -> new ResponseException("User not found"));
 
@@ -93,16 +98,21 @@ public class UserService implements UserDetailsService {
             throw new ResponseException("You cannot follow yourself.");
         }
 
-        currentUser.followUser(userToFollow);
-        userRepository.save(currentUser);
+        if (currentUser.followUser(userToFollow)) {
+            userRepository.save(currentUser);
+            userStatsStore.adjustFollow(currentUser.getId(), userToFollow.getId(), 1);
+        }
     }
 
+    @Transactional
     public void unfollowUser(Long userIdToUnfollow) {
-        AppUser currentUser = getLoggedUser();
+        AppUser currentUser = userRepository.getAppUserById(getLoggedUser().getId());
         AppUser userToUnfollow = userRepository.findById(userIdToUnfollow)
                 .orElseThrow(() -> new ResponseException("User not found"));
 
-        currentUser.unfollowUser(userToUnfollow);
-        userRepository.save(currentUser);
+        if (currentUser.unfollowUser(userToUnfollow)) {
+            userRepository.save(currentUser);
+            userStatsStore.adjustFollow(currentUser.getId(), userToUnfollow.getId(), -1);
+        }
     }
 }
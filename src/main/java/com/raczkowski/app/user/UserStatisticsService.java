@@ -1,30 +1,21 @@
 package com.raczkowski.app.user;
 
-import com.raczkowski.app.article.ArticleService;
-import com.raczkowski.app.comment.CommentService;
 import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
 
+import java.util.List;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 public class UserStatisticsService {
-    private final ArticleService articleService;
-    private final CommentService commentService;
-    private final UserService userService;
-
-    public int getArticlesCount(AppUser user) {
-        return articleService.getArticlesCountForUser(user);
-    }
-
-    public int getCommentsCount(AppUser user) {
-        return commentService.getCommentsCountForUser(user);
-    }
+    private final UserStatsStore userStatsStore;
 
-    public int getFollowersCount(AppUser user) {
-        return userService.userFollowersCount(user);
+    public UserStats getStats(AppUser user) {
+        return userStatsStore.get(List.of(user.getId())).get(user.getId());
     }
 
-    public int getFollowingCount(AppUser user) {
-        return userService.userFollowingCount(user);
+    public Map<Long, UserStats> getStats(List<AppUser> users) {
+        return userStatsStore.get(users.stream().map(AppUser::getId).toList());
     }
 }
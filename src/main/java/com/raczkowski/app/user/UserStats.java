@@ -0,0 +1,15 @@
+package com.raczkowski.app.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UserStats {
+    public static final UserStats EMPTY = new UserStats(0, 0, 0, 0);
+
+    private final int articles;
+    private final int comments;
+    private final int followers;
+    private final int following;
+}
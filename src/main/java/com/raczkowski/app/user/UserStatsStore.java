@@ -0,0 +1,105 @@
+package com.raczkowski.app.user;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@code user_stats} projection: per-user article, comment, follower and following counts,
+ * adjusted in the same transaction as the rows they count so profiles and user lists read them
+ * by primary key instead of loading and counting whole collections. A user without a row has
+ * nothing to count yet.
+ */
+@Component
+@AllArgsConstructor
+public class UserStatsStore {
+    private static final String ADJUST_SQL =
+            "INSERT INTO user_stats (user_id, articles, comments, followers, following) " +
+                    "VALUES (?, GREATEST(?, 0), GREATEST(?, 0), GREATEST(?, 0), GREATEST(?, 0)) " +
+                    "ON CONFLICT (user_id) DO UPDATE SET " +
+                    "articles = GREATEST(user_stats.articles + ?, 0), " +
+                    "comments = GREATEST(user_stats.comments + ?, 0), " +
+                    "followers = GREATEST(user_stats.followers + ?, 0), " +
+                    "following = GREATEST(user_stats.following + ?, 0)";
+    private static final String SELECT_SQL =
+            "SELECT user_id, articles, comments, followers, following FROM user_stats WHERE user_id = ANY (?)";
+    private static final String RECONCILE_SQL =
+            "INSERT INTO user_stats (user_id, articles, comments, followers, following) " +
+                    "SELECT u.id, " +
+                    "(SELECT COUNT(*) FROM article a WHERE a.app_user_id = u.id), " +
+                    "(SELECT COUNT(*) FROM comment c WHERE c.app_user_id = u.id), " +
+                    "(SELECT COUNT(*) FROM user_followers f WHERE f.followed_id = u.id), " +
+                    "(SELECT COUNT(*) FROM user_followers f WHERE f.follower_id = u.id) " +
+                    "FROM app_user u " +
+                    "ON CONFLICT (user_id) DO UPDATE SET " +
+                    "articles = EXCLUDED.articles, comments = EXCLUDED.comments, " +
+                    "followers = EXCLUDED.followers, following = EXCLUDED.following " +
+                    "WHERE (user_stats.articles, user_stats.comments, user_stats.followers, user_stats.following) " +
+                    "IS DISTINCT FROM (EXCLUDED.articles, EXCLUDED.comments, EXCLUDED.followers, EXCLUDED.following)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void adjustArticles(Long userId, int delta) {
+        adjust(userId, delta, 0, 0, 0);
+    }
+
+    public void adjustComments(Map<Long, Integer> deltaByUser) {
+        jdbcTemplate.batchUpdate(ADJUST_SQL, deltaByUser.entrySet().stream()
+                .map(entry -> adjustArguments(entry.getKey(), 0, entry.getValue(), 0, 0))
+                .toList());
+    }
+
+    public void adjustComments(Long userId, int delta) {
+        adjust(userId, 0, delta, 0, 0);
+    }
+
+    void adjustFollow(Long followerId, Long followedId, int delta) {
+        adjust(followerId, 0, 0, 0, delta);
+        adjust(followedId, 0, 0, delta, 0);
+    }
+
+    /**
+     * Returns the stats of all given users with a single query; users without a row get
+     * {@link UserStats#EMPTY}.
+     */
+    public Map<Long, UserStats> get(Collection<Long> userIds) {
+        Map<Long, UserStats> stats = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return stats;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", userIds.toArray()));
+            return statement;
+        }, rs -> {
+            stats.put(rs.getLong("user_id"), new UserStats(
+                    rs.getInt("articles"),
+                    rs.getInt("comments"),
+                    rs.getInt("followers"),
+                    rs.getInt("following")));
+        });
+        userIds.forEach(userId -> stats.putIfAbsent(userId, UserStats.EMPTY));
+        return stats;
+    }
+
+    /**
+     * Recounts every user from the source tables and rewrites only the rows that drifted;
+     * returns how many were repaired or created.
+     */
+    public int reconcile() {
+        return jdbcTemplate.update(RECONCILE_SQL);
+    }
+
+    private void adjust(Long userId, int articles, int comments, int followers, int following) {
+        jdbcTemplate.update(ADJUST_SQL, adjustArguments(userId, articles, comments, followers, following));
+    }
+
+    private static Object[] adjustArguments(Long userId, int articles, int comments, int followers, int following) {
+        return new Object[]{userId, articles, comments, followers, following, articles, comments, followers, following};
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @AllArgsConstructor
@@ -20,13 +21,7 @@ public class userController {
     @GetMapping("/get")
     ResponseEntity<UserDto> getUserById(@RequestParam Long id){
         AppUser user = userService.getUserById(id);
-        return ResponseEntity.ok(UserDtoMapper.userDto(
-                user,
-                userStatisticsService.getArticlesCount(user),
-                userStatisticsService.getCommentsCount(user),
-                userStatisticsService.getFollowersCount(user),
-                userStatisticsService.getFollowingCount(user)
-                ));
+        return ResponseEntity.ok(userDto(user, userStatisticsService.getStats(user)));
     }
 
     @GetMapping("/get/login")
@@ -46,26 +41,27 @@ public class userController {
 
     @GetMapping("/{userId}/followers")
     public ResponseEntity<List<UserDto>> getFollowers(@PathVariable Long userId) {
-        return ResponseEntity.ok(userService.getFollowers(userId).stream()
-                .map(user -> UserDtoMapper.userDto(
-                        user,
-                        userStatisticsService.getArticlesCount(user),
-                        userStatisticsService.getCommentsCount(user),
-                        userStatisticsService.getFollowersCount(user),
-                        userStatisticsService.getFollowingCount(user)
-                ))
-                .collect(Collectors.toList()));
+        return ResponseEntity.ok(userDtos(userService.getFollowers(userId)));
     }
 
     @GetMapping("/{userId}/following")
     public ResponseEntity<List<UserDto>> getFollowing(@PathVariable Long userId) {
-        return ResponseEntity.ok(userService.getFollowing(userId).stream()
-                .map(user -> UserDtoMapper.userDto(
-                        user,
-                        userStatisticsService.getArticlesCount(user),
-                        userStatisticsService.getCommentsCount(user),
-                        userStatisticsService.getFollowersCount(user),
-                        userStatisticsService.getFollowingCount(user)
-                )).collect(Collectors.toList()));
+        return ResponseEntity.ok(userDtos(userService.getFollowing(userId)));
+    }
+
+    private List<UserDto> userDtos(List<AppUser> users) {
+        Map<Long, UserStats> stats = userStatisticsService.getStats(users);
+        return users.stream()
+                .map(user -> userDto(user, stats.get(user.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private static UserDto userDto(AppUser user, UserStats stats) {
+        return UserDtoMapper.userDto(
+                user,
+                stats.getArticles(),
+                stats.getComments(),
+                stats.getFollowers(),
+                stats.getFollowing());
     }
 }
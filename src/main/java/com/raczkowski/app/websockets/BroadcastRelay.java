@@ -0,0 +1,13 @@
+package com.raczkowski.app.websockets;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Carries serialized STOMP messages to every application node. Each node subscribes once and
+ * delivers what it receives to the sessions connected to its own in-process broker.
+ */
+public interface BroadcastRelay {
+    void publish(String destination, byte[] payload);
+
+    void subscribe(BiConsumer<String, byte[]> listener);
+}
@@ -0,0 +1,45 @@
+package com.raczkowski.app.websockets;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class BroadcastRelayConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "websocket", name = "relay", havingValue = "local", matchIfMissing = true)
+    public BroadcastRelay inMemoryBroadcastRelay() {
+        return new InMemoryBroadcastRelay();
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "websocket", name = "relay", havingValue = "rabbit")
+    static class RabbitRelayConfig {
+
+        @Bean
+        public FanoutExchange broadcastExchange() {
+            return new FanoutExchange(RabbitBroadcastRelay.EXCHANGE, true, false);
+        }
+
+        @Bean
+        public AnonymousQueue broadcastNodeQueue() {
+            return new AnonymousQueue();
+        }
+
+        @Bean
+        public Binding broadcastBinding(FanoutExchange broadcastExchange, AnonymousQueue broadcastNodeQueue) {
+            return BindingBuilder.bind(broadcastNodeQueue).to(broadcastExchange);
+        }
+
+        @Bean
+        public BroadcastRelay rabbitBroadcastRelay(RabbitTemplate rabbitTemplate) {
+            return new RabbitBroadcastRelay(rabbitTemplate);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.raczkowski.app.websockets;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * Relay within one JVM. With a single subscriber it is the single-node mode; sharing one
+ * instance between several brokers lets tests run a cluster in process.
+ */
+public class InMemoryBroadcastRelay implements BroadcastRelay {
+    private final List<BiConsumer<String, byte[]>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String destination, byte[] payload) {
+        listeners.forEach(listener -> listener.accept(destination, payload));
+    }
+
+    @Override
+    public void subscribe(BiConsumer<String, byte[]> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,50 @@
+package com.raczkowski.app.websockets;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Sends a STOMP message to a destination on every node. The payload is serialized once and
+ * handed to the {@link BroadcastRelay}; each node then pushes it to its own subscribers, so a
+ * user receives it whichever node their session is connected to.
+ */
+@Component
+public class MessageBroadcaster {
+    private static final Logger logger = LoggerFactory.getLogger(MessageBroadcaster.class);
+
+    private final BroadcastRelay relay;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+
+    public MessageBroadcaster(BroadcastRelay relay, SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper) {
+        this.relay = relay;
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        relay.subscribe(this::deliver);
+    }
+
+    public void broadcast(String destination, Object payload) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new MessageDeliveryException("Cannot serialize message for " + destination + ": " + e.getMessage());
+        }
+        relay.publish(destination, body);
+    }
+
+    private void deliver(String destination, byte[] body) {
+        try {
+            messagingTemplate.convertAndSend(destination, objectMapper.readTree(body));
+        } catch (IOException e) {
+            logger.warn("Dropping unreadable broadcast for {}", destination, e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.raczkowski.app.websockets;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * Relay through a RabbitMQ fanout exchange. Every node consumes from its own exclusive,
+ * auto-deleted queue bound to the exchange, so each message reaches all running nodes once.
+ */
+public class RabbitBroadcastRelay implements BroadcastRelay {
+    static final String EXCHANGE = "dragon.broadcast";
+    private static final String DESTINATION_HEADER = "stomp-destination";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final List<BiConsumer<String, byte[]>> listeners = new CopyOnWriteArrayList<>();
+
+    public RabbitBroadcastRelay(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    @Override
+    public void publish(String destination, byte[] payload) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setHeader(DESTINATION_HEADER, destination);
+        rabbitTemplate.send(EXCHANGE, "", new Message(payload, properties));
+    }
+
+    @Override
+    public void subscribe(BiConsumer<String, byte[]> listener) {
+        listeners.add(listener);
+    }
+
+    @RabbitListener(queues = "#{broadcastNodeQueue.name}")
+    public void onMessage(Message message) {
+        String destination = message.getMessageProperties().getHeader(DESTINATION_HEADER);
+        listeners.forEach(listener -> listener.accept(destination, message.getBody()));
+    }
+}
@@ -0,0 +1,67 @@
+package com.raczkowski.app.websockets;
+
+import com.raczkowski.app.config.JwtUtil;
+import com.raczkowski.app.user.AppUser;
+import com.raczkowski.app.user.UserService;
+import lombok.AllArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Authenticates STOMP sessions from the {@code Authorization: Bearer} header of the CONNECT
+ * frame and checks SUBSCRIBE frames against the registered {@link SubscriptionGuard}s.
+ * Connecting without a token is still allowed; such sessions only fail guarded subscriptions.
+ */
+@Component
+@AllArgsConstructor
+public class StompAuthenticationInterceptor implements ChannelInterceptor {
+    private final JwtUtil jwtUtil;
+    private final UserService userService;
+    private final List<SubscriptionGuard> subscriptionGuards;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            authenticate(accessor);
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            String destination = accessor.getDestination();
+            for (SubscriptionGuard guard : subscriptionGuards) {
+                if (destination != null && guard.supports(destination) && !guard.canSubscribe(accessor.getUser(), destination)) {
+                    throw new MessageDeliveryException("Not allowed to subscribe to " + destination);
+                }
+            }
+        }
+        return message;
+    }
+
+    private void authenticate(StompHeaderAccessor accessor) {
+        String authHeader = accessor.getFirstNativeHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer")) {
+            return;
+        }
+        String token = authHeader.substring(7);
+        try {
+            AppUser user = userService.loadAuthenticatedUser(jwtUtil.extractUsername(token));
+            if (user != null && jwtUtil.validateToken(token, user)) {
+                accessor.setUser(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+                return;
+            }
+        } catch (RuntimeException e) {
+            throw new MessageDeliveryException("Invalid token");
+        }
+        throw new MessageDeliveryException("Invalid token");
+    }
+}
@@ -0,0 +1,13 @@
+package com.raczkowski.app.websockets;
+
+import java.security.Principal;
+
+/**
+ * Decides whether a STOMP session may subscribe to destinations it {@link #supports supports}.
+ * Destinations no guard supports stay open to every session.
+ */
+public interface SubscriptionGuard {
+    boolean supports(String destination);
+
+    boolean canSubscribe(Principal user, String destination);
+}
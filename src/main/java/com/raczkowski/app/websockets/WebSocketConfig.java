@@ -1,23 +1,58 @@
 package com.raczkowski.app.websockets;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import javax.annotation.PreDestroy;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    private final WebSocketProperties properties;
+    private final StompAuthenticationInterceptor authenticationInterceptor;
+    private final ThreadPoolTaskScheduler heartbeatScheduler = new ThreadPoolTaskScheduler();
+
+    public WebSocketConfig(WebSocketProperties properties, @Lazy StompAuthenticationInterceptor authenticationInterceptor) {
+        this.properties = properties;
+        this.authenticationInterceptor = authenticationInterceptor;
+        heartbeatScheduler.setThreadNamePrefix("websocket-heartbeat-");
+        heartbeatScheduler.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdown();
+    }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        config.enableSimpleBroker("/topic")
+                .setHeartbeatValue(new long[]{properties.getHeartbeatOutgoingMillis(), properties.getHeartbeatIncomingMillis()})
+                .setTaskScheduler(heartbeatScheduler);
         config.setApplicationDestinationPrefixes("/app");
     }
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(authenticationInterceptor);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendBufferSizeLimit(properties.getSendBufferSizeLimit())
+                .setSendTimeLimit(properties.getSendTimeLimitMillis())
+                .setMessageSizeLimit(properties.getMessageSizeLimit());
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws").setAllowedOrigins("*");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package com.raczkowski.app.websockets;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "websocket")
+@Getter
+@Setter
+public class WebSocketProperties {
+    /**
+     * {@code local} delivers only to sessions on this node, {@code rabbit} fans messages out to
+     * every node through RabbitMQ.
+     */
+    private String relay = "local";
+    private long heartbeatOutgoingMillis = 10_000;
+    private long heartbeatIncomingMillis = 10_000;
+    /**
+     * A session whose pending outbound messages exceed the buffer limit, or whose send blocks
+     * longer than the time limit, is treated as a slow consumer and disconnected.
+     */
+    private int sendBufferSizeLimit = 512 * 1024;
+    private int sendTimeLimitMillis = 10_000;
+    private int messageSizeLimit = 64 * 1024;
+}
@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS timeline_entry
+(
+    user_id    BIGINT NOT NULL,
+    article_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, article_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_article_app_user_id ON article (app_user_id, id);
+DROP INDEX IF EXISTS idx_article_app_user;
@@ -0,0 +1,23 @@
+CREATE TABLE IF NOT EXISTS notification_outbox
+(
+    id              BIGSERIAL PRIMARY KEY,
+    notification_id BIGINT                   NOT NULL,
+    user_id         VARCHAR(255)             NOT NULL,
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL,
+    attempts        INT                      NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_error      TEXT
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_next_attempt ON notification_outbox (next_attempt_at, id);
+
+CREATE TABLE IF NOT EXISTS notification_dead_letter
+(
+    id              BIGSERIAL PRIMARY KEY,
+    notification_id BIGINT                   NOT NULL,
+    user_id         VARCHAR(255)             NOT NULL,
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL,
+    failed_at       TIMESTAMP WITH TIME ZONE NOT NULL,
+    attempts        INT                      NOT NULL,
+    last_error      TEXT
+);
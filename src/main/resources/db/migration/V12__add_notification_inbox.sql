@@ -0,0 +1,31 @@
+CREATE INDEX IF NOT EXISTS idx_notification_user_created ON notification (user_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_notification_read_created ON notification (is_read, created_at);
+
+CREATE TABLE IF NOT EXISTS notification_unread_counter
+(
+    user_id VARCHAR(255) PRIMARY KEY,
+    unread  BIGINT NOT NULL
+);
+
+INSERT INTO notification_unread_counter (user_id, unread)
+SELECT user_id, COUNT(*)
+FROM notification
+WHERE is_read = false
+  AND user_id IS NOT NULL
+GROUP BY user_id
+ON CONFLICT (user_id) DO NOTHING;
+
+CREATE TABLE IF NOT EXISTS notification_archive
+(
+    id             BIGINT PRIMARY KEY,
+    user_id        VARCHAR(255),
+    type           VARCHAR(255),
+    title          VARCHAR(255),
+    message        VARCHAR(255),
+    is_read        BOOLEAN NOT NULL,
+    created_at     TIMESTAMP WITH TIME ZONE,
+    timestamp_read TIMESTAMP WITH TIME ZONE,
+    created_by     VARCHAR(255),
+    target_url     VARCHAR(255),
+    archived_at    TIMESTAMP WITH TIME ZONE NOT NULL
+);
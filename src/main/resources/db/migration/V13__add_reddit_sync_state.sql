@@ -0,0 +1,17 @@
+CREATE TABLE IF NOT EXISTS reddit_sync_watermark
+(
+    keyword          VARCHAR(255) PRIMARY KEY,
+    last_fullname    VARCHAR(32)              NOT NULL,
+    last_created_utc BIGINT                   NOT NULL,
+    synced_at        TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS reddit_url_filter
+(
+    id         SMALLINT PRIMARY KEY,
+    version    BIGINT                   NOT NULL,
+    hash_count INT                      NOT NULL,
+    insertions BIGINT                   NOT NULL,
+    bits       BYTEA                    NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
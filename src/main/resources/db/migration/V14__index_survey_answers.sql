@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS idx_question_survey ON question (survey_id);
+CREATE INDEX IF NOT EXISTS idx_answer_response_question ON answer_response (question_id);
+CREATE INDEX IF NOT EXISTS idx_answer_response_values_response ON answer_response_answer_values (answer_response_id);
@@ -0,0 +1,29 @@
+CREATE TABLE IF NOT EXISTS survey_tally
+(
+    survey_id    BIGINT       NOT NULL,
+    question_id  BIGINT       NOT NULL,
+    answer_value VARCHAR(255) NOT NULL,
+    responses    BIGINT       NOT NULL,
+    PRIMARY KEY (survey_id, question_id, answer_value)
+);
+
+CREATE TABLE IF NOT EXISTS survey_response_count
+(
+    survey_id BIGINT PRIMARY KEY,
+    responses BIGINT NOT NULL
+);
+
+INSERT INTO survey_tally (survey_id, question_id, answer_value, responses)
+SELECT q.survey_id, q.id, v.answer_values, COUNT(DISTINCT ar.id)
+FROM answer_response ar
+         JOIN question q ON q.id = ar.question_id
+         JOIN answer_response_answer_values v ON v.answer_response_id = ar.id
+WHERE v.answer_values IS NOT NULL
+GROUP BY q.survey_id, q.id, v.answer_values
+ON CONFLICT DO NOTHING;
+
+INSERT INTO survey_response_count (survey_id, responses)
+SELECT survey_id, COUNT(*)
+FROM survey_response
+GROUP BY survey_id
+ON CONFLICT (survey_id) DO NOTHING;
@@ -0,0 +1,49 @@
+CREATE TEMPORARY TABLE duplicate_survey_response AS
+SELECT sr.id
+FROM survey_response sr
+WHERE EXISTS (SELECT 1
+              FROM survey_response earlier
+              WHERE earlier.survey_id = sr.survey_id
+                AND earlier.user_id = sr.user_id
+                AND earlier.id < sr.id);
+
+DELETE
+FROM answer_response_answer_values
+WHERE answer_response_id IN (SELECT ar.id
+                             FROM answer_response ar
+                             WHERE ar.survey_response_id IN (SELECT id FROM duplicate_survey_response));
+
+DELETE
+FROM answer_response
+WHERE survey_response_id IN (SELECT id FROM duplicate_survey_response);
+
+DELETE
+FROM survey_response
+WHERE id IN (SELECT id FROM duplicate_survey_response);
+
+DROP TABLE duplicate_survey_response;
+
+ALTER TABLE survey_response
+    ADD CONSTRAINT uc_survey_response_survey_user UNIQUE (survey_id, user_id);
+
+DROP INDEX IF EXISTS idx_survey_response_survey_user;
+
+-- the tallies backfilled in V15 counted the removed duplicates
+DELETE
+FROM survey_tally;
+
+INSERT INTO survey_tally (survey_id, question_id, answer_value, responses)
+SELECT q.survey_id, q.id, v.answer_values, COUNT(DISTINCT ar.id)
+FROM answer_response ar
+         JOIN question q ON q.id = ar.question_id
+         JOIN answer_response_answer_values v ON v.answer_response_id = ar.id
+WHERE v.answer_values IS NOT NULL
+GROUP BY q.survey_id, q.id, v.answer_values;
+
+DELETE
+FROM survey_response_count;
+
+INSERT INTO survey_response_count (survey_id, responses)
+SELECT survey_id, COUNT(*)
+FROM survey_response
+GROUP BY survey_id;
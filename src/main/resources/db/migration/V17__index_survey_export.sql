@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS idx_survey_response_survey_id ON survey_response (survey_id, id);
+CREATE INDEX IF NOT EXISTS idx_answer_response_survey_response ON answer_response (survey_response_id);
@@ -0,0 +1,17 @@
+CREATE TABLE IF NOT EXISTS user_stats
+(
+    user_id   BIGINT PRIMARY KEY,
+    articles  BIGINT NOT NULL DEFAULT 0,
+    comments  BIGINT NOT NULL DEFAULT 0,
+    followers BIGINT NOT NULL DEFAULT 0,
+    following BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO user_stats (user_id, articles, comments, followers, following)
+SELECT u.id,
+       (SELECT COUNT(*) FROM article a WHERE a.app_user_id = u.id),
+       (SELECT COUNT(*) FROM comment c WHERE c.app_user_id = u.id),
+       (SELECT COUNT(*) FROM user_followers f WHERE f.followed_id = u.id),
+       (SELECT COUNT(*) FROM user_followers f WHERE f.follower_id = u.id)
+FROM app_user u
+ON CONFLICT (user_id) DO NOTHING;
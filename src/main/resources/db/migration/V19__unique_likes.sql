@@ -0,0 +1,33 @@
+DELETE
+FROM article_like l
+WHERE EXISTS (SELECT 1
+              FROM article_like earlier
+              WHERE earlier.article_id = l.article_id
+                AND earlier.app_user_id = l.app_user_id
+                AND earlier.id < l.id);
+
+DELETE
+FROM comment_like l
+WHERE EXISTS (SELECT 1
+              FROM comment_like earlier
+              WHERE earlier.comment_id = l.comment_id
+                AND earlier.app_user_id = l.app_user_id
+                AND earlier.id < l.id);
+
+ALTER TABLE article_like
+    ADD CONSTRAINT uc_article_like_article_user UNIQUE (article_id, app_user_id);
+
+ALTER TABLE comment_like
+    ADD CONSTRAINT uc_comment_like_comment_user UNIQUE (comment_id, app_user_id);
+
+DROP INDEX IF EXISTS idx_article_like_article_user;
+DROP INDEX IF EXISTS idx_comment_like_comment_user;
+
+-- the counters included the removed duplicates
+UPDATE article a
+SET likes_number = (SELECT COUNT(*) FROM article_like l WHERE l.article_id = a.id)
+WHERE a.likes_number <> (SELECT COUNT(*) FROM article_like l WHERE l.article_id = a.id);
+
+UPDATE comment c
+SET likes_number = (SELECT COUNT(*) FROM comment_like l WHERE l.comment_id = c.id)
+WHERE c.likes_number <> (SELECT COUNT(*) FROM comment_like l WHERE l.comment_id = c.id);
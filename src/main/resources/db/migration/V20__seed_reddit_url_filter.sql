@@ -0,0 +1,4 @@
+-- an empty placeholder row, so the first filter write can lock it like every later one
+INSERT INTO reddit_url_filter (id, version, hash_count, insertions, bits, updated_at)
+VALUES (1, 0, 1, 0, '', now())
+ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,17 @@
+ALTER TABLE article
+    ADD COLUMN IF NOT EXISTS likes_number INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE article
+    ADD COLUMN IF NOT EXISTS comments_number INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE comment
+    ADD COLUMN IF NOT EXISTS likes_number INTEGER NOT NULL DEFAULT 0;
+
+UPDATE article a
+SET likes_number    = (SELECT COUNT(*) FROM article_like l WHERE l.article_id = a.id),
+    comments_number = (SELECT COUNT(*) FROM comment c WHERE c.article_id = a.id);
+
+UPDATE comment c
+SET likes_number = (SELECT COUNT(*) FROM comment_like l WHERE l.comment_id = c.id);
+
+CREATE INDEX IF NOT EXISTS idx_article_pinned_likes ON article (is_pinned, likes_number);
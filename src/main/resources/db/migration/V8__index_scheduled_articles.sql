@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_article_status_scheduled_for_date ON article (status, scheduled_for_date);
@@ -0,0 +1,24 @@
+CREATE INDEX IF NOT EXISTS idx_app_user_email ON app_user (email);
+
+CREATE INDEX IF NOT EXISTS idx_user_followers_followed_follower ON user_followers (followed_id, follower_id);
+CREATE INDEX IF NOT EXISTS idx_user_followers_follower_followed ON user_followers (follower_id, followed_id);
+
+CREATE INDEX IF NOT EXISTS idx_article_app_user ON article (app_user_id);
+CREATE INDEX IF NOT EXISTS idx_article_accepted_by_id ON article (accepted_by_id, id);
+CREATE INDEX IF NOT EXISTS idx_article_hashtag_article ON article_hashtag (article_id, hashtag_id);
+
+CREATE INDEX IF NOT EXISTS idx_article_like_article_user ON article_like (article_id, app_user_id);
+
+CREATE INDEX IF NOT EXISTS idx_comment_article ON comment (article_id);
+CREATE INDEX IF NOT EXISTS idx_comment_app_user ON comment (app_user_id);
+
+CREATE INDEX IF NOT EXISTS idx_comment_like_comment_user ON comment_like (comment_id, app_user_id);
+
+CREATE INDEX IF NOT EXISTS idx_deleted_article_status_deleted_by ON deleted_article (status, deleted_by_id);
+
+CREATE INDEX IF NOT EXISTS idx_notification_user_read_created ON notification (user_id, is_read, created_at);
+
+CREATE INDEX IF NOT EXISTS idx_reddit_post_url ON reddit_post (url);
+
+CREATE INDEX IF NOT EXISTS idx_survey_owner ON survey (owner_id);
+CREATE INDEX IF NOT EXISTS idx_survey_response_survey_user ON survey_response (survey_id, user_id);
@@ -0,0 +1,178 @@
+package com.raczkowski.app.Reddit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedditClientTest {
+    private static final String SEARCH_RESPONSE = "{\"data\":{\"children\":[" +
+            "{\"data\":{\"name\":\"t3_b\",\"title\":\"Spring tips\",\"score\":12,\"url\":\"https://reddit.com/1\",\"selftext\":\"Use records\"," +
+            "\"author\":\"dev\",\"created_utc\":1700000000}}," +
+            "{\"data\":{\"name\":\"t3_a\",\"title\":\"Link post\",\"score\":3,\"url\":\"https://reddit.com/2\",\"selftext\":\"\"," +
+            "\"author\":\"dev\",\"created_utc\":1699999000}}]}}";
+    private static final String EMPTY_RESPONSE = "{\"data\":{\"children\":[]}}";
+
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+    private final AtomicInteger unauthorizedSearches = new AtomicInteger();
+    private final List<String> searchQueries = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private long expiresIn = 3600;
+
+    @BeforeEach
+    void init() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1/access_token", exchange -> {
+            int token = tokenRequests.incrementAndGet();
+            respond(exchange, 200, "{\"access_token\":\"token-" + token + "\",\"expires_in\":" + expiresIn + "}");
+        });
+        server.createContext("/r/java/search.json", exchange -> {
+            searchQueries.add(exchange.getRequestURI().getQuery());
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            if (!("Bearer token-" + tokenRequests.get()).equals(authorization)) {
+                unauthorizedSearches.incrementAndGet();
+                respond(exchange, 401, "{}");
+            } else if (exchange.getRequestURI().getQuery().contains("before=t3_deleted")) {
+                respond(exchange, 200, EMPTY_RESPONSE);
+            } else {
+                respond(exchange, 200, SEARCH_RESPONSE);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void close() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldReuseAccessTokenAcrossConcurrentSearches() throws InterruptedException {
+        // given
+        RedditClient client = client();
+
+        // when
+        List<CompletableFuture<RedditSearchResult>> searches = List.of(
+                client.searchPostsOnSubreddit("spring", null),
+                client.searchPostsOnSubreddit("java", null),
+                client.searchPostsOnSubreddit("jpa", null));
+        List<RedditSearchResult> results = searches.stream().map(CompletableFuture::join).toList();
+
+        // then
+        assertEquals(1, tokenRequests.get());
+        assertEquals(0, unauthorizedSearches.get());
+        assertEquals(1, results.get(1).posts().size());
+        assertEquals("Use records", results.get(1).posts().get(0).getDescription());
+        assertEquals("java", results.get(1).posts().get(0).getSearchedBy());
+        assertEquals(new RedditWatermark("t3_b", 1700000000), results.get(1).newest());
+    }
+
+    @Test
+    void shouldRequestNewTokenWhenCachedOneIsAboutToExpire() throws InterruptedException {
+        // given
+        expiresIn = 30;
+        RedditClient client = client();
+
+        // when
+        client.searchPostsOnSubreddit("spring", null).join();
+        client.searchPostsOnSubreddit("java", null).join();
+
+        // then
+        assertEquals(2, tokenRequests.get());
+    }
+
+    @Test
+    void shouldOnlyAskForPostsNewerThanWatermark() throws InterruptedException {
+        // given
+        RedditClient client = client();
+        RedditWatermark watermark = new RedditWatermark("t3_a", 1699999500);
+
+        // when
+        RedditSearchResult result = client.searchPostsOnSubreddit("java", watermark).join();
+
+        // then
+        assertTrue(searchQueries.get(0).contains("before=t3_a"));
+        assertTrue(searchQueries.get(0).contains("sort=new"));
+        assertEquals(new RedditWatermark("t3_b", 1700000000), result.newest());
+    }
+
+    @Test
+    void shouldKeepWatermarkWhenNothingNewerWasFound() throws InterruptedException {
+        // given
+        RedditClient client = client();
+        RedditWatermark watermark = new RedditWatermark("t3_c", 1700000500);
+
+        // when
+        RedditSearchResult result = client.searchPostsOnSubreddit("java", watermark).join();
+
+        // then
+        assertTrue(result.posts().isEmpty());
+        assertEquals(watermark, result.newest());
+    }
+
+    @Test
+    void shouldFallBackToCreationTimeWhenWatermarkPostWasDeleted() throws InterruptedException {
+        // given
+        RedditClient client = client();
+        RedditWatermark watermark = new RedditWatermark("t3_deleted", 1699999500);
+
+        // when
+        RedditSearchResult result = client.searchPostsOnSubreddit("java", watermark).join();
+
+        // then
+        assertEquals(2, searchQueries.size());
+        assertFalse(searchQueries.get(1).contains("before="));
+        assertEquals(1, result.posts().size());
+        assertEquals("Spring tips", result.posts().get(0).getTitle());
+        assertEquals(new RedditWatermark("t3_b", 1700000000), result.newest());
+    }
+
+    @Test
+    void shouldPaceRequestsOverBurst() {
+        // given
+        TokenBucket bucket = new TokenBucket(2, 1);
+
+        // when
+        long first = bucket.tryAcquire();
+        long second = bucket.tryAcquire();
+        long third = bucket.tryAcquire();
+
+        // then
+        assertEquals(0, first);
+        assertEquals(0, second);
+        assertTrue(third > 0);
+    }
+
+    private RedditClient client() {
+        RedditClientConfig config = new RedditClientConfig();
+        config.getClient().setId("id");
+        config.getClient().setSecret("secret");
+        config.getUser().setAgent("dragon-test");
+        config.getUser().setSubreddit("java");
+        String baseUrl = "http://localhost:" + server.getAddress().getPort();
+        config.getApi().setTokenUrl(baseUrl + "/api/v1/access_token");
+        config.getApi().setBaseUrl(baseUrl);
+        config.getApi().setRequestsPerSecond(100);
+        return new RedditClient(config);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.raczkowski.app.Reddit;
+
+import com.raczkowski.app.article.Article;
+import com.raczkowski.app.article.ArticleService;
+import com.raczkowski.app.comment.Comment;
+import com.raczkowski.app.comment.CommentService;
+import com.raczkowski.app.hashtags.Hashtag;
+import com.raczkowski.app.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RedditPostServiceTest {
+    private final CommentService commentService = mock(CommentService.class);
+    private final ArticleService articleService = mock(ArticleService.class);
+    private final RedditClient redditClient = mock(RedditClient.class);
+    private final RedditWatermarkStore watermarkStore = mock(RedditWatermarkStore.class);
+    private final RedditUrlFilter urlFilter = mock(RedditUrlFilter.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final RedditPostService redditPostService = new RedditPostService(commentService, articleService,
+            redditClient, mock(UserService.class), mock(RedditPostRepository.class), mock(RedditPostWriter.class),
+            watermarkStore, urlFilter, transactionTemplate);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void init() {
+        when(watermarkStore.findAll()).thenReturn(Map.of());
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any(Consumer.class));
+    }
+
+    @Test
+    void shouldCommentPostOnArticlesOfEveryHashtagThatFoundIt() throws Exception {
+        // given
+        Article javaArticle = article(1L, "#java");
+        Article springArticle = article(2L, "#spring");
+        Article bothArticle = article(3L, "#java", "#spring");
+        when(articleService.getAllArticles()).thenReturn(List.of(javaArticle, springArticle, bothArticle));
+        RedditPost post = new RedditPost();
+        post.setUrl("https://reddit.com/r/java/1");
+        when(redditClient.searchPostsOnSubreddit(eq("#java"), any())).thenReturn(CompletableFuture.completedFuture(
+                new RedditSearchResult("#java", List.of(post), null)));
+        when(redditClient.searchPostsOnSubreddit(eq("#spring"), any())).thenReturn(CompletableFuture.completedFuture(
+                new RedditSearchResult("#spring", List.of(post), null)));
+
+        // when
+        redditPostService.getCommentsForArticle();
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Comment>> comments = ArgumentCaptor.forClass(List.class);
+        verify(commentService).createComments(comments.capture());
+        assertEquals(List.of(1L, 3L, 2L), comments.getValue().stream()
+                .map(comment -> comment.getArticle().getId())
+                .toList());
+    }
+
+    private static Article article(Long id, String... tags) {
+        Article article = new Article();
+        article.setId(id);
+        article.setHashtags(Arrays.stream(tags).map(Hashtag::new).toList());
+        return article;
+    }
+}
@@ -0,0 +1,92 @@
+package com.raczkowski.app.Reddit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RedditUrlFilterTest {
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final RedditUrlFilter urlFilter =
+            new RedditUrlFilter(jdbcTemplate, new RedditClientConfig(), mock(TransactionTemplate.class));
+
+    @BeforeEach
+    void init() throws Exception {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class))).thenReturn(List.of(1L));
+        stubStored(false, 1L, filterWith("https://reddit.com/a"));
+        urlFilter.refresh();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void shouldAddToFilterStoredByAnotherNode() throws Exception {
+        // given
+        stubStored(true, 2L, filterWith("https://reddit.com/a", "https://reddit.com/b"));
+
+        // when
+        urlFilter.addAll(List.of("https://reddit.com/c"));
+
+        // then
+        ArgumentCaptor<byte[]> bits = ArgumentCaptor.forClass(byte[].class);
+        verify(jdbcTemplate).update(startsWith("INSERT INTO reddit_url_filter"), eq(3L), anyInt(), eq(3L),
+                bits.capture(), any());
+        UrlBloomFilter saved = UrlBloomFilter.fromBytes(bits.getValue(), filterWith().getHashCount(), 3);
+        assertTrue(saved.mightContain("https://reddit.com/a"));
+        assertTrue(saved.mightContain("https://reddit.com/b"));
+        assertTrue(saved.mightContain("https://reddit.com/c"));
+    }
+
+    @Test
+    void shouldSwitchInMemoryFilterOnlyAfterCommit() throws Exception {
+        // given
+        stubStored(true, 1L, filterWith("https://reddit.com/a"));
+
+        // when
+        urlFilter.addAll(List.of("https://reddit.com/c"));
+
+        // then
+        assertFalse(urlFilter.mightContain("https://reddit.com/c"));
+
+        // when
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // then
+        assertTrue(urlFilter.mightContain("https://reddit.com/c"));
+    }
+
+    private static UrlBloomFilter filterWith(String... urls) {
+        UrlBloomFilter filter = UrlBloomFilter.create(1_000, 0.01);
+        for (String url : urls) {
+            filter.put(url);
+        }
+        return filter;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubStored(boolean locked, long version, UrlBloomFilter filter) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("version")).thenReturn(version);
+        when(rs.getInt("hash_count")).thenReturn(filter.getHashCount());
+        when(rs.getLong("insertions")).thenReturn(filter.getInsertions());
+        when(rs.getBytes("bits")).thenReturn(filter.toBytes());
+        when(jdbcTemplate.query(argThat((String sql) -> sql != null && sql.endsWith("FOR UPDATE") == locked), any(RowMapper.class)))
+                .thenAnswer(invocation -> List.of(invocation.<RowMapper<?>>getArgument(1).mapRow(rs, 0)));
+    }
+}
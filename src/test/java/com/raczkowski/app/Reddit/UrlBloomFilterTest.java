@@ -0,0 +1,51 @@
+package com.raczkowski.app.Reddit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlBloomFilterTest {
+
+    @Test
+    void shouldRecognizeEveryAddedUrlAfterRoundTrip() {
+        // given
+        UrlBloomFilter filter = UrlBloomFilter.create(1_000, 0.01);
+        IntStream.range(0, 1_000).forEach(i -> filter.put("https://reddit.com/r/java/" + i));
+
+        // when
+        UrlBloomFilter restored = UrlBloomFilter.fromBytes(filter.toBytes(), filter.getHashCount(), filter.getInsertions());
+
+        // then
+        assertEquals(1_000, restored.getInsertions());
+        assertTrue(IntStream.range(0, 1_000).allMatch(i -> restored.mightContain("https://reddit.com/r/java/" + i)));
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateNearConfiguredValue() {
+        // given
+        UrlBloomFilter filter = UrlBloomFilter.create(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("https://reddit.com/r/java/" + i));
+
+        // when
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain("https://reddit.com/r/spring/" + i))
+                .count();
+
+        // then
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void shouldReportCapacityItWasSizedFor() {
+        // given
+        UrlBloomFilter filter = UrlBloomFilter.create(10_000, 0.01);
+
+        // when
+        long capacity = filter.capacity(0.01);
+
+        // then
+        assertTrue(capacity >= 10_000 && capacity < 10_100, "capacity: " + capacity);
+    }
+}
@@ -7,16 +7,21 @@ import com.raczkowski.app.admin.moderation.article.ModerationArticleService;
 import com.raczkowski.app.admin.moderation.article.RejectedArticleRepository;
 import com.raczkowski.app.article.Article;
 import com.raczkowski.app.article.ArticleRepository;
+import com.raczkowski.app.article.ArticleStatisticsService;
+import com.raczkowski.app.article.ScheduledArticlePublisher;
 import com.raczkowski.app.dto.ArticleDto;
 import com.raczkowski.app.enums.UserRole;
+import com.raczkowski.app.notification.NotificationService;
 import com.raczkowski.app.user.AppUser;
 import com.raczkowski.app.user.UserRepository;
 import com.raczkowski.app.user.UserService;
+import com.raczkowski.app.user.UserStatsStore;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import static org.mockito.Mockito.*;
 
@@ -44,13 +49,30 @@ public class ArticleToConfirmServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private ScheduledArticlePublisher scheduledArticlePublisher;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserStatsStore userStatsStore;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private ArticleStatisticsService articleStatisticsService;
+
 
     @Test
     public void shouldConfirmArticle() {
         // Given
         Long articleId = 1L;
         ArticleToConfirm articleToConfirm = new ArticleToConfirm();
-        articleToConfirm.setAppUser(new AppUser());
+        AppUser author = new AppUser();
+        author.setId(3L);
+        articleToConfirm.setAppUser(author);
         when(articleToConfirmRepository.getArticleToConfirmById(articleId)).thenReturn(articleToConfirm);
 
         AppUser loggedUser = new AppUser();
@@ -63,5 +85,7 @@ public class ArticleToConfirmServiceTest {
         // Then
         verify(articleToConfirmRepository, times(1)).deleteArticleToConfirmById(articleId);
         verify(articleRepository, times(1)).save(any(Article.class));
+        verify(userStatsStore).adjustArticles(3L, 1);
+        verify(notificationService).sendNotification(any());
     }
 }
@@ -5,6 +5,8 @@ import com.raczkowski.app.admin.moderation.article.ModerationArticleService;
 import com.raczkowski.app.enums.ArticleStatus;
 import com.raczkowski.app.exceptions.ResponseException;
 import com.raczkowski.app.likes.ArticleLikeRepository;
+import com.raczkowski.app.likes.LikeBuffer;
+import com.raczkowski.app.likes.LikeTarget;
 import com.raczkowski.app.user.AppUser;
 import com.raczkowski.app.user.UserRepository;
 import com.raczkowski.app.user.UserService;
@@ -13,6 +15,10 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -32,6 +38,10 @@ public class ArticleServiceTest {
     private ModerationArticleService moderationArticleService;
     @Mock
     private ArticleLikeRepository articleLikeRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private LikeBuffer likeBuffer = new LikeBuffer(mock(JdbcTemplate.class), mock(PlatformTransactionManager.class));
     @InjectMocks
     private ArticleService articleService;
     private final AppUser user = new AppUser("username", "password", "test@test.pl");
@@ -135,7 +145,30 @@ public class ArticleServiceTest {
         articleService.likeArticle(articleId);
 
         // then
-        verify(articleLikeRepository, times(1)).save(any());
+        assertTrue(likeBuffer.isLiked(LikeTarget.ARTICLE, user.getId(), articleId, () -> false));
+        assertEquals(1, likeBuffer.pendingDelta(LikeTarget.ARTICLE, articleId));
+        verify(articleLikeRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(any(ArticleEngagementEvent.class));
+    }
+
+    @Test
+    public void shouldCoalesceLikeAndUnlikeBeforeFlush() {
+        // given
+        Long articleId = 1L;
+        Article article = new Article();
+        article.setId(articleId);
+        when(userService.getLoggedUser()).thenReturn(user);
+        when(articleRepository.findArticleById(articleId)).thenReturn(article);
+        when(articleLikeRepository.existsArticleLikesByAppUserAndArticle(user, article)).thenReturn(false);
+
+        // when
+        articleService.likeArticle(articleId);
+        articleService.likeArticle(articleId);
+
+        // then
+        assertFalse(articleService.isArticleLiked(article, user));
+        assertEquals(0, likeBuffer.pendingDelta(LikeTarget.ARTICLE, articleId));
+        verify(articleLikeRepository, times(1)).existsArticleLikesByAppUserAndArticle(user, article);
     }
 
     @Test
@@ -152,7 +185,9 @@ public class ArticleServiceTest {
         articleService.likeArticle(articleId);
 
         // then
-        verify(articleLikeRepository, times(1)).delete(any());
+        assertFalse(likeBuffer.isLiked(LikeTarget.ARTICLE, user.getId(), articleId, () -> true));
+        assertEquals(-1, likeBuffer.pendingDelta(LikeTarget.ARTICLE, articleId));
+        verify(articleLikeRepository, never()).delete(any());
     }
 
     @Test
@@ -256,6 +291,7 @@ public class ArticleServiceTest {
                 eq("New Content"),
                 any(ZonedDateTime.class)
         );
+        verify(eventPublisher).publishEvent(any(ArticleUpdatedEvent.class));
     }
 
     @Test
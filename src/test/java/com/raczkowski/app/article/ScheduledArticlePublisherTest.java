@@ -0,0 +1,134 @@
+package com.raczkowski.app.article;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ScheduledArticlePublisherTest {
+    private static final ZonedDateTime NOON = ZonedDateTime.of(2024, 1, 2, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final ThreadPoolTaskScheduler scheduler = mock(ThreadPoolTaskScheduler.class);
+    private final Clock clock = mock(Clock.class);
+    private final ScheduledArticlePublisher publisher =
+            new ScheduledArticlePublisher(articleRepository, eventPublisher, scheduler, clock);
+
+    @BeforeEach
+    void init() {
+        doReturn(mock(ScheduledFuture.class)).when(scheduler).schedule(any(Runnable.class), any(Instant.class));
+        when(articleRepository.publishScheduledUntil(any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldRegisterTaskOnlyAfterCommit() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        publisher.schedule(NOON.plusSeconds(30));
+
+        // then
+        verify(scheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+
+        // when
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // then
+        verify(scheduler).schedule(any(Runnable.class), eq(NOON.plusMinutes(1).toInstant()));
+    }
+
+    @Test
+    void shouldShareOneTaskPerMinute() {
+        // when
+        publisher.schedule(NOON.plusSeconds(10));
+        publisher.schedule(NOON.plusSeconds(50));
+        publisher.schedule(NOON.plusMinutes(1).plusSeconds(10));
+
+        // then
+        verify(scheduler).schedule(any(Runnable.class), eq(NOON.plusMinutes(1).toInstant()));
+        verify(scheduler).schedule(any(Runnable.class), eq(NOON.plusMinutes(2).toInstant()));
+        verifyNoMoreInteractions(scheduler);
+    }
+
+    @Test
+    void shouldRegisterPendingArticlesOnStartup() {
+        // given
+        when(clock.instant()).thenReturn(NOON.toInstant());
+        when(articleRepository.findPendingScheduledDates()).thenReturn(List.of(NOON.plusMinutes(5), NOON.plusHours(1)));
+        when(articleRepository.publishScheduledUntil(NOON)).thenReturn(List.of(7L));
+
+        // when
+        publisher.schedulePendingArticles();
+
+        // then
+        verify(scheduler).schedule(any(Runnable.class), eq(NOON.plusMinutes(5).toInstant()));
+        verify(scheduler).schedule(any(Runnable.class), eq(NOON.plusHours(1).toInstant()));
+        verify(eventPublisher).publishEvent(argThat((ArticlePublishedEvent event) -> event.getArticleId().equals(7L)));
+    }
+
+    @Test
+    void shouldNeverPublishBeforeScheduledDate() {
+        // given
+        publisher.schedule(NOON.plusSeconds(30));
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(task.capture(), eq(NOON.plusMinutes(1).toInstant()));
+
+        // when
+        when(clock.instant()).thenReturn(NOON.plusSeconds(59).toInstant());
+        task.getValue().run();
+
+        // then
+        verify(articleRepository).publishScheduledUntil(NOON.plusMinutes(1));
+    }
+
+    @Test
+    void shouldPublishEverythingDueWhenTaskFiresLate() {
+        // given
+        publisher.schedule(NOON);
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(task.capture(), eq(NOON.toInstant()));
+
+        // when
+        when(clock.instant()).thenReturn(NOON.plusSeconds(5).toInstant());
+        task.getValue().run();
+
+        // then
+        verify(articleRepository).publishScheduledUntil(NOON.plusSeconds(5));
+    }
+
+    @Test
+    void shouldPublishOnlyArticlesAlreadyDue() {
+        // given
+        when(clock.instant()).thenReturn(NOON.plusSeconds(20).toInstant());
+
+        // when
+        publisher.publishDueArticles();
+
+        // then
+        verify(articleRepository).publishScheduledUntil(NOON.plusSeconds(20));
+    }
+}
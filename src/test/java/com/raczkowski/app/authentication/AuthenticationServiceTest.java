@@ -1,7 +1,10 @@
 package com.raczkowski.app.authentication;
 
+import com.raczkowski.app.admin.common.PermissionValidator;
 import com.raczkowski.app.config.JwtUtil;
 import com.raczkowski.app.dto.LoginResponseDto;
+import com.raczkowski.app.dto.TokenCacheStatsDto;
+import com.raczkowski.app.exceptions.ResponseException;
 import com.raczkowski.app.user.UserService;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -16,6 +19,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 class AuthenticationServiceTest {
@@ -28,6 +32,9 @@ class AuthenticationServiceTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private PermissionValidator permissionValidator;
+
     @InjectMocks
     private AuthenticationService authenticationService;
 
@@ -95,4 +102,35 @@ class AuthenticationServiceTest {
         assertEquals("Invalid Credentials", emailException.getMessage());
         assertEquals("Invalid Credentials", passwordException.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldReportTokenCacheStats() {
+        // given
+        when(jwtUtil.getCachedTokens()).thenReturn(2);
+        when(jwtUtil.getCacheHits()).thenReturn(3L);
+        when(jwtUtil.getCacheMisses()).thenReturn(1L);
+        when(jwtUtil.getCacheHitRate()).thenReturn(0.75);
+        when(jwtUtil.getAverageVerificationNanos()).thenReturn(40_000L);
+
+        // when
+        TokenCacheStatsDto stats = authenticationService.getTokenCacheStats();
+
+        // then
+        assertEquals(2, stats.getCachedTokens());
+        assertEquals(3, stats.getCacheHits());
+        assertEquals(1, stats.getCacheMisses());
+        assertEquals(0.75, stats.getCacheHitRate());
+        assertEquals(40_000, stats.getAverageVerificationNanos());
+    }
+
+    @Test
+    public void shouldRejectTokenCacheStatsForNonAdmin() {
+        // given
+        when(permissionValidator.validateIfUserIaAdmin())
+                .thenThrow(new ResponseException("You don't have permissions to do this action"));
+
+        // when & then
+        assertThrows(ResponseException.class, () -> authenticationService.getTokenCacheStats());
+        verifyNoInteractions(jwtUtil);
+    }
+}
@@ -0,0 +1,40 @@
+package com.raczkowski.app.common;
+
+import com.raczkowski.app.exceptions.ResponseException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void shouldDecodeEncodedCursor() {
+        // given
+        PageCursor cursor = new PageCursor(42, 1337L);
+
+        // when
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        // then
+        assertEquals(42, decoded.getKey());
+        assertEquals(1337L, decoded.getId());
+    }
+
+    @Test
+    void shouldStartFromFirstPageWhenCursorIsMissing() {
+        assertEquals(Long.MAX_VALUE, PageCursor.decode(null).getId());
+        assertEquals(Long.MAX_VALUE, PageCursor.decode("").getKey());
+    }
+
+    @Test
+    void shouldClampKeyToIntRange() {
+        assertEquals(Integer.MAX_VALUE, PageCursor.decode(null).getKeyAsInt());
+        assertEquals(7, new PageCursor(7, 1L).getKeyAsInt());
+    }
+
+    @Test
+    void shouldThrowExceptionForMalformedCursor() {
+        assertThrows(ResponseException.class, () -> PageCursor.decode("not a cursor"));
+        assertThrows(ResponseException.class, () -> PageCursor.decode(new PageCursor(1, 2L).encode() + "x$"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.raczkowski.app.config;
+
+import com.raczkowski.app.user.AppUser;
+import io.jsonwebtoken.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private final AppUser user = new AppUser("firstName", "lastName", "test@test.pl");
+
+    @Test
+    void shouldVerifyTokenOnlyOncePerFilterPass() {
+        // given
+        String token = jwtUtil.generateToken(user);
+
+        // when
+        String username = jwtUtil.extractUsername(token);
+        boolean valid = jwtUtil.validateToken(token, user);
+
+        // then
+        assertEquals("test@test.pl", username);
+        assertTrue(valid);
+        assertEquals(1, jwtUtil.getCacheMisses());
+        assertEquals(2, jwtUtil.getCacheHits());
+    }
+
+    @Test
+    void shouldServeLaterRequestsFromCache() {
+        // given
+        String token = jwtUtil.generateToken(user);
+        jwtUtil.validateToken(token, user);
+
+        // when
+        jwtUtil.validateToken(token, user);
+
+        // then
+        assertEquals(1, jwtUtil.getCacheMisses());
+        assertEquals(0.75, jwtUtil.getCacheHitRate());
+    }
+
+    @Test
+    void shouldRejectTamperedToken() {
+        // given
+        String token = jwtUtil.generateToken(user);
+        jwtUtil.extractUsername(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // when & then
+        assertThrows(SignatureException.class, () -> jwtUtil.extractUsername(tampered));
+    }
+}
@@ -0,0 +1,74 @@
+package com.raczkowski.app.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowWriterTest {
+
+    @Test
+    void shouldWriteOneJsonObjectPerLine() throws Exception {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        try (RowWriter writer = new JsonLinesRowWriter(new ObjectMapper(), out)) {
+            writer.section("comments", List.of("id", "content"));
+            writer.row(Arrays.asList(1L, "first"));
+            writer.row(Arrays.asList(2L, null));
+        }
+
+        // then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"type\":\"comments\",\"id\":1,\"content\":\"first\"}", lines[0]);
+        assertEquals("{\"type\":\"comments\",\"id\":2,\"content\":null}", lines[1]);
+    }
+
+    @Test
+    void shouldQuoteCsvValuesContainingSeparatorsQuotesAndLineBreaks() throws Exception {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        try (RowWriter writer = new CsvRowWriter(out)) {
+            writer.section("responses", List.of("id", "answer"));
+            writer.row(Arrays.asList(1L, "yes, \"really\"\nsure"));
+            writer.row(Arrays.asList(2L, null));
+        }
+
+        // then
+        assertEquals("id,answer\r\n1,\"yes, \"\"really\"\"\nsure\"\r\n2,\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldWriteSheetPerSectionWithHeaderRow() throws Exception {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        try (RowWriter writer = new XlsxRowWriter(out)) {
+            writer.section("articles", List.of("id", "title"));
+            writer.row(Arrays.asList(1L, "Title"));
+            writer.section("comments", List.of("id"));
+        }
+
+        // then
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet articles = workbook.getSheet("articles");
+            assertEquals("title", articles.getRow(0).getCell(1).getStringCellValue());
+            assertEquals(1, articles.getRow(1).getCell(0).getNumericCellValue());
+            assertEquals("Title", articles.getRow(1).getCell(1).getStringCellValue());
+            assertNotNull(workbook.getSheet("comments"));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.raczkowski.app.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raczkowski.app.admin.common.PermissionValidator;
+import com.raczkowski.app.exceptions.ResponseException;
+import com.raczkowski.app.surveys.questions.Question;
+import com.raczkowski.app.surveys.survey.Survey;
+import com.raczkowski.app.surveys.survey.SurveysRepository;
+import com.raczkowski.app.surveys.surveyResponse.SurveyResponseRepository;
+import com.raczkowski.app.user.AppUser;
+import com.raczkowski.app.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SurveyExportServiceTest {
+    private static final ZonedDateTime SUBMITTED_AT = ZonedDateTime.of(2024, 1, 2, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Mock
+    private SurveysRepository surveysRepository;
+    @Mock
+    private SurveyResponseRepository surveyResponseRepository;
+    @Mock
+    private UserService userService;
+    @Mock
+    private PermissionValidator permissionValidator;
+    @Mock
+    private ObjectMapper objectMapper;
+    @InjectMocks
+    private SurveyExportService surveyExportService;
+
+    private final AppUser owner = new AppUser("firstName", "lastName", "owner@test.pl");
+    private final Survey survey = new Survey();
+
+    @BeforeEach
+    void init() {
+        MockitoAnnotations.openMocks(this);
+        owner.setId(1L);
+        survey.setId(10L);
+        survey.setOwner(owner);
+        survey.setQuestions(List.of(question(101L, "Colour"), question(100L, "Name")));
+        when(surveysRepository.findSurveyById(10L)).thenReturn(survey);
+    }
+
+    @Test
+    void shouldPivotAnswersToOneRowPerResponse() throws Exception {
+        // given
+        when(surveyResponseRepository.streamExportRowsBySurveyId(10L)).thenReturn(Stream.of(
+                row(1L, 5L, 100L, "Ann"),
+                row(1L, 5L, 101L, "red"),
+                row(1L, 5L, 101L, "blue"),
+                row(2L, 6L, null, null)
+        ));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        surveyExportService.export(10L, ExportFormat.CSV, out);
+
+        // then
+        assertEquals("responseId,userId,submittedAt,Name,Colour\r\n" +
+                "1,5," + SUBMITTED_AT + ",Ann,red; blue\r\n" +
+                "2,6," + SUBMITTED_AT + ",,\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldRequireAdminOrOperatorWhenExportingSomeoneElsesSurvey() {
+        // given
+        AppUser other = new AppUser("firstName", "lastName", "other@test.pl");
+        other.setId(2L);
+        when(userService.getLoggedUser()).thenReturn(other);
+        doThrow(new ResponseException("You don't have permission")).when(permissionValidator).validateIfUserIsAdminOrOperator();
+
+        // when & then
+        assertThrows(ResponseException.class, () -> surveyExportService.resolveExportedSurvey(10L));
+    }
+
+    @Test
+    void shouldLetOwnerExportOwnSurvey() {
+        // given
+        when(userService.getLoggedUser()).thenReturn(owner);
+
+        // when
+        Survey exported = surveyExportService.resolveExportedSurvey(10L);
+
+        // then
+        assertSame(survey, exported);
+        verifyNoInteractions(permissionValidator);
+    }
+
+    private static Question question(Long id, String value) {
+        Question question = new Question(id);
+        question.setValue(value);
+        return question;
+    }
+
+    private static SurveyAnswerExportRow row(Long responseId, Long userId, Long questionId, String answerValue) {
+        return new SurveyAnswerExportRow() {
+            @Override
+            public Long getResponseId() {
+                return responseId;
+            }
+
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public ZonedDateTime getSubmittedAt() {
+                return SUBMITTED_AT;
+            }
+
+            @Override
+            public Long getQuestionId() {
+                return questionId;
+            }
+
+            @Override
+            public String getAnswerValue() {
+                return answerValue;
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.raczkowski.app.hashtags;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArticleIdSetTest {
+
+    @Test
+    void shouldReturnIdsBeforeCursorInDescendingOrder() {
+        // given
+        ArticleIdSet ids = new ArticleIdSet();
+        List.of(3L, 70_000L, 1L, 65_536L, 2L).forEach(ids::add);
+
+        // when
+        List<Long> firstPage = ids.descendingBefore(Long.MAX_VALUE, 3);
+        List<Long> secondPage = ids.descendingBefore(firstPage.get(2), 3);
+
+        // then
+        assertEquals(List.of(70_000L, 65_536L, 3L), firstPage);
+        assertEquals(List.of(2L, 1L), secondPage);
+    }
+
+    @Test
+    void shouldKeepContentsWhenChunkBecomesDenseAndSparseAgain() {
+        // given
+        ArticleIdSet ids = new ArticleIdSet();
+        for (long id = 0; id < 10_000; id += 2) {
+            ids.add(id);
+        }
+
+        // when
+        for (long id = 0; id < 8_000; id += 2) {
+            ids.remove(id);
+        }
+
+        // then
+        assertEquals(1_000, ids.cardinality());
+        assertTrue(ids.contains(9_998L));
+        assertFalse(ids.contains(7_998L));
+        assertEquals(List.of(9_998L, 9_996L), ids.descendingBefore(10_000L, 2));
+    }
+
+    @Test
+    void shouldIntersectAndUniteSets() {
+        // given
+        ArticleIdSet first = new ArticleIdSet();
+        ArticleIdSet second = new ArticleIdSet();
+        for (long id = 0; id < 6_000; id++) {
+            first.add(id);
+        }
+        List.of(5L, 5_999L, 6_000L, 200_000L).forEach(second::add);
+
+        // when
+        ArticleIdSet intersection = ArticleIdSet.and(first, second);
+        ArticleIdSet union = ArticleIdSet.or(first, second);
+
+        // then
+        assertEquals(List.of(5_999L, 5L), intersection.descendingBefore(Long.MAX_VALUE, 10));
+        assertEquals(6_002, union.cardinality());
+        assertEquals(List.of(200_000L, 6_000L, 5_999L), union.descendingBefore(Long.MAX_VALUE, 3));
+    }
+
+    @Test
+    void shouldForgetCountsOutsideTheWindow() {
+        // given
+        Instant now = Instant.parse("2024-01-02T12:30:00Z");
+        SlidingWindowCounter counter = new SlidingWindowCounter(
+                Clock.fixed(now, ZoneOffset.UTC), Duration.ofHours(1), 24);
+
+        // when
+        counter.add(1L, now, 1);
+        counter.add(2L, now.minus(Duration.ofHours(2)), 1);
+        counter.add(2L, now, 1);
+        counter.add(3L, now.minus(Duration.ofHours(30)), 5);
+
+        // then
+        List<Map.Entry<Long, Integer>> top = counter.top(5);
+        assertEquals(List.of(Map.entry(2L, 2), Map.entry(1L, 1)), top);
+    }
+}
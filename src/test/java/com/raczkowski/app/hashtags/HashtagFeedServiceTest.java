@@ -0,0 +1,55 @@
+package com.raczkowski.app.hashtags;
+
+import com.raczkowski.app.article.ArticleFeedService;
+import com.raczkowski.app.article.ArticleRepository;
+import com.raczkowski.app.exceptions.ResponseException;
+import com.raczkowski.app.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class HashtagFeedServiceTest {
+
+    @Mock
+    private HashtagIndex hashtagIndex;
+    @Mock
+    private HashtagService hashtagService;
+    @Mock
+    private ArticleRepository articleRepository;
+    @Mock
+    private ArticleFeedService articleFeedService;
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private HashtagFeedService hashtagFeedService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(hashtagService.resolveTagIds(List.of("#java"))).thenReturn(List.of(1L));
+        when(hashtagIndex.findArticleIds(anyList(), anyBoolean(), anyLong(), anyInt())).thenReturn(List.of());
+    }
+
+    @Test
+    void shouldRejectPageSizeBelowOne() {
+        assertThrows(ResponseException.class,
+                () -> hashtagFeedService.getArticlesByTags(List.of("#java"), "or", null, 0));
+        verifyNoInteractions(hashtagIndex);
+    }
+
+    @Test
+    void shouldClampLargePageSize() {
+        hashtagFeedService.getArticlesByTags(List.of("#java"), "or", null, 1_000_000);
+
+        verify(hashtagIndex).findArticleIds(eq(List.of(1L)), eq(false), anyLong(), eq(101));
+    }
+}
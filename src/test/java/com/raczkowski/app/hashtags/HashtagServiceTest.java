@@ -6,9 +6,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.Collection;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 class HashtagServiceTest {
@@ -19,29 +23,30 @@ class HashtagServiceTest {
     @InjectMocks
     private HashtagService hashtagService;
 
+    private long nextId = 1;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(hashtagRepository.findAllByTagIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> tags = invocation.getArgument(0);
+            return tags.stream().map(this::hashtag).toList();
+        });
     }
 
     @Test
     void shouldParseSingleHashtag() {
-        when(hashtagRepository.findByTag("#hashtag1")).thenReturn(null);
-
         String input = "#hashtag1";
         List<Hashtag> hashtags = hashtagService.parseHashtags(input);
 
         assertEquals(1, hashtags.size());
         assertEquals("#hashtag1", hashtags.get(0).getTag());
 
-        verify(hashtagRepository, times(1)).save(any(Hashtag.class));
+        verify(hashtagRepository, times(1)).insertMissingTags("#hashtag1");
     }
 
     @Test
     void shouldParseMultipleHashtags() {
-        when(hashtagRepository.findByTag("#hashtag1")).thenReturn(null);
-        when(hashtagRepository.findByTag("#hashtag2")).thenReturn(null);
-
         String input = "#hashtag1#hashtag2";
         List<Hashtag> hashtags = hashtagService.parseHashtags(input);
 
@@ -49,14 +54,11 @@ class HashtagServiceTest {
         assertEquals("#hashtag1", hashtags.get(0).getTag());
         assertEquals("#hashtag2", hashtags.get(1).getTag());
 
-        verify(hashtagRepository, times(2)).save(any(Hashtag.class));
+        verify(hashtagRepository, times(1)).insertMissingTags("#hashtag1,#hashtag2");
     }
 
     @Test
     void shouldParseHashtagsWithSpaces() {
-        when(hashtagRepository.findByTag("#hashtag1")).thenReturn(null);
-        when(hashtagRepository.findByTag("#hashtag2")).thenReturn(null);
-
         String input = "#hashtag1 #hashtag2";
         List<Hashtag> hashtags = hashtagService.parseHashtags(input);
 
@@ -64,25 +66,49 @@ class HashtagServiceTest {
         assertEquals("#hashtag1", hashtags.get(0).getTag());
         assertEquals("#hashtag2", hashtags.get(1).getTag());
 
-        verify(hashtagRepository, times(2)).save(any(Hashtag.class));
+        verify(hashtagRepository, times(1)).insertMissingTags("#hashtag1,#hashtag2");
     }
 
     @Test
     void shouldParseHashtagsWithDuplicate() {
-        when(hashtagRepository.findByTag("#hashtag1")).thenReturn(new Hashtag("#hashtag1"));
-        when(hashtagRepository.findByTag("#hashtag2")).thenReturn(null);
-
         String input = "#hashtag1#hashtag2#hashtag1";
         List<Hashtag> hashtags = hashtagService.parseHashtags(input);
 
-        assertEquals(3, hashtags.size());
+        assertEquals(2, hashtags.size());
         assertEquals("#hashtag1", hashtags.get(0).getTag());
         assertEquals("#hashtag2", hashtags.get(1).getTag());
-        assertEquals("#hashtag1", hashtags.get(2).getTag());
 
-        verify(hashtagRepository, times(1)).save(any(Hashtag.class));
-        verify(hashtagRepository, times(2)).findByTag("#hashtag1");
-        verify(hashtagRepository, times(1)).findByTag("#hashtag2");
+        verify(hashtagRepository, times(1)).insertMissingTags("#hashtag1,#hashtag2");
+        verify(hashtagRepository, times(1)).findAllByTagIn(List.of("#hashtag1", "#hashtag2"));
+    }
+
+    @Test
+    void shouldResolveKnownHashtagsFromDictionary() {
+        Hashtag known = hashtag("#hashtag1");
+        when(hashtagRepository.findAll()).thenReturn(List.of(known));
+        when(hashtagRepository.getReferenceById(known.getId())).thenReturn(known);
+        hashtagService.warmUpDictionary();
+
+        List<Hashtag> hashtags = hashtagService.parseHashtags("#hashtag1 #hashtag2");
+
+        assertEquals(2, hashtags.size());
+        assertSame(known, hashtags.get(0));
+        assertEquals("#hashtag2", hashtags.get(1).getTag());
+
+        verify(hashtagRepository, times(1)).insertMissingTags("#hashtag2");
+        verify(hashtagRepository, times(1)).findAllByTagIn(List.of("#hashtag2"));
+    }
+
+    @Test
+    void shouldNotQueryAgainForHashtagsCreatedEarlier() {
+        Hashtag first = hashtagService.parseHashtags("#hashtag1").get(0);
+        when(hashtagRepository.getReferenceById(first.getId())).thenReturn(first);
+
+        List<Hashtag> hashtags = hashtagService.parseHashtags("#hashtag1");
+
+        assertSame(first, hashtags.get(0));
+        verify(hashtagRepository, times(1)).insertMissingTags(anyString());
+        verify(hashtagRepository, times(1)).findAllByTagIn(anyCollection());
     }
 
     @Test
@@ -92,22 +118,23 @@ class HashtagServiceTest {
 
         assertEquals(0, hashtags.size());
 
-        verify(hashtagRepository, never()).save(any(Hashtag.class));
+        verify(hashtagRepository, never()).insertMissingTags(anyString());
     }
 
     @Test
     void shouldHandleStringWithoutHash() {
-        when(hashtagRepository.findByTag("#hashtag2")).thenReturn(null);
-
         String input = "hashtag1 #hashtag2";
         List<Hashtag> hashtags = hashtagService.parseHashtags(input);
 
         assertEquals(1, hashtags.size(), "Powinien być tylko jeden hashtag");
         assertEquals("#hashtag2", hashtags.get(0).getTag(), "Powinien być zapisany tylko #hashtag2");
 
-        verify(hashtagRepository, never()).findByTag("hashtag1");
+        verify(hashtagRepository, times(1)).insertMissingTags("#hashtag2");
+    }
 
-        verify(hashtagRepository, times(1)).findByTag("#hashtag2");
-        verify(hashtagRepository, times(1)).save(any(Hashtag.class));
+    private Hashtag hashtag(String tag) {
+        Hashtag hashtag = new Hashtag(tag);
+        hashtag.setId(nextId++);
+        return hashtag;
     }
 }
@@ -0,0 +1,221 @@
+package com.raczkowski.app.likes;
+
+import com.raczkowski.app.exceptions.ResponseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatcher;
+import org.mockito.stubbing.Answer;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LikeBufferTest {
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final Clock clock = mock(Clock.class);
+    private final AtomicLong now = new AtomicLong();
+    private final ThreadPoolTaskScheduler flusher = new ThreadPoolTaskScheduler();
+    private LikeBuffer likeBuffer;
+
+    @BeforeEach
+    void init() {
+        when(clock.millis()).thenAnswer(invocation -> now.get());
+        flusher.initialize();
+        likeBuffer = new LikeBuffer(jdbcTemplate, mock(PlatformTransactionManager.class), flusher, clock);
+    }
+
+    @AfterEach
+    void shutdown() {
+        flusher.shutdown();
+    }
+
+    @Test
+    void shouldFlushBufferedChangesWithOneBatchPerStatement() {
+        // given
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(rowsChanged(1));
+        likeBuffer.toggle(LikeTarget.ARTICLE, 1L, 10L, () -> false);
+        likeBuffer.toggle(LikeTarget.ARTICLE, 2L, 10L, () -> false);
+        likeBuffer.toggle(LikeTarget.COMMENT, 1L, 20L, () -> true);
+
+        // when
+        likeBuffer.flush();
+
+        // then
+        verify(jdbcTemplate).batchUpdate(eq(LikeTarget.ARTICLE.insertSql), argThat((List<Object[]> rows) -> rows.size() == 2));
+        verify(jdbcTemplate).batchUpdate(eq(LikeTarget.ARTICLE.counterSql), argThat(counter(2, 10L)));
+        verify(jdbcTemplate).batchUpdate(eq(LikeTarget.COMMENT.deleteSql), argThat((List<Object[]> rows) -> rows.size() == 1));
+        verify(jdbcTemplate).batchUpdate(eq(LikeTarget.COMMENT.counterSql), argThat(counter(-1, 20L)));
+        assertNull(likeBuffer.pendingState(LikeTarget.ARTICLE, 1L, 10L));
+        assertEquals(0, likeBuffer.pendingDelta(LikeTarget.ARTICLE, 10L));
+        assertEquals(0, likeBuffer.pendingDelta(LikeTarget.COMMENT, 20L));
+    }
+
+    @Test
+    void shouldMoveCounterOnlyByRowsActuallyChanged() {
+        // given
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(rowsChanged(0));
+        likeBuffer.toggle(LikeTarget.ARTICLE, 1L, 10L, () -> false);
+
+        // when
+        likeBuffer.flush();
+
+        // then
+        verify(jdbcTemplate, never()).batchUpdate(eq(LikeTarget.ARTICLE.counterSql), anyList());
+        assertNull(likeBuffer.pendingState(LikeTarget.ARTICLE, 1L, 10L));
+    }
+
+    @Test
+    void shouldKeepChangeMadeWhileFlushing() {
+        // given
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            if (LikeTarget.ARTICLE.insertSql.equals(invocation.getArgument(0))) {
+                likeBuffer.toggle(LikeTarget.ARTICLE, 1L, 10L, () -> false);
+            }
+            return rowsChanged(1).answer(invocation);
+        });
+        likeBuffer.toggle(LikeTarget.ARTICLE, 1L, 10L, () -> false);
+
+        // when
+        likeBuffer.flush();
+
+        // then
+        assertFalse(likeBuffer.pendingState(LikeTarget.ARTICLE, 1L, 10L));
+        assertEquals(-1, likeBuffer.pendingDelta(LikeTarget.ARTICLE, 10L));
+
+        // when
+        likeBuffer.flush();
+
+        // then
+        verify(jdbcTemplate).batchUpdate(eq(LikeTarget.ARTICLE.deleteSql), anyList());
+        assertNull(likeBuffer.pendingState(LikeTarget.ARTICLE, 1L, 10L));
+        assertEquals(0, likeBuffer.pendingDelta(LikeTarget.ARTICLE, 10L));
+    }
+
+    @Test
+    void shouldRetryFailedFlushAfterBackoff() {
+        // given
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new CannotGetJdbcConnectionException("Database is down"))
+                .thenAnswer(rowsChanged(1));
+        likeBuffer.toggle(LikeTarget.ARTICLE, 1L, 10L, () -> false);
+
+        // when
+        likeBuffer.flush();
+        likeBuffer.flush();
+
+        // then
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+        assertTrue(likeBuffer.pendingState(LikeTarget.ARTICLE, 1L, 10L));
+        assertEquals(1, likeBuffer.pendingDelta(LikeTarget.ARTICLE, 10L));
+
+        // when
+        now.addAndGet(1_000);
+        likeBuffer.flush();
+
+        // then
+        verify(jdbcTemplate).batchUpdate(eq(LikeTarget.ARTICLE.counterSql), argThat(counter(1, 10L)));
+        assertNull(likeBuffer.pendingState(LikeTarget.ARTICLE, 1L, 10L));
+        assertEquals(0, likeBuffer.pendingDelta(LikeTarget.ARTICLE, 10L));
+    }
+
+    @Test
+    void shouldDropChangeAfterMaxAttempts() {
+        // given
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new CannotGetJdbcConnectionException("Database is down"));
+        likeBuffer.toggle(LikeTarget.ARTICLE, 1L, 10L, () -> false);
+
+        // when
+        for (int attempt = 0; attempt < 20; attempt++) {
+            likeBuffer.flush();
+            now.addAndGet(60_000);
+        }
+
+        // then
+        verify(jdbcTemplate, times(20)).batchUpdate(anyString(), anyList());
+        assertNull(likeBuffer.pendingState(LikeTarget.ARTICLE, 1L, 10L));
+        assertEquals(0, likeBuffer.pendingDelta(LikeTarget.ARTICLE, 10L));
+    }
+
+    @Test
+    void shouldDropOnlyChangeViolatingConstraint() {
+        // given
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            if (rows.stream().anyMatch(row -> row[1].equals(99L))) {
+                throw new DataIntegrityViolationException("Article 99 was deleted");
+            }
+            return rowsChanged(1).answer(invocation);
+        });
+        likeBuffer.toggle(LikeTarget.ARTICLE, 1L, 10L, () -> false);
+        likeBuffer.toggle(LikeTarget.ARTICLE, 1L, 99L, () -> false);
+
+        // when
+        likeBuffer.flush();
+
+        // then
+        verify(jdbcTemplate).batchUpdate(eq(LikeTarget.ARTICLE.counterSql), argThat(counter(1, 10L)));
+        assertNull(likeBuffer.pendingState(LikeTarget.ARTICLE, 1L, 10L));
+        assertNull(likeBuffer.pendingState(LikeTarget.ARTICLE, 1L, 99L));
+        assertEquals(0, likeBuffer.pendingDelta(LikeTarget.ARTICLE, 99L));
+    }
+
+    @Test
+    void shouldWaitForFlusherWhenBufferIsFull() {
+        // given
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(rowsChanged(1));
+        fillBuffer();
+
+        // when
+        boolean liked = likeBuffer.toggle(LikeTarget.ARTICLE, 2L, 10L, () -> false);
+
+        // then
+        assertTrue(liked);
+        assertNull(likeBuffer.pendingState(LikeTarget.ARTICLE, 1L, 1L));
+        assertTrue(likeBuffer.pendingState(LikeTarget.ARTICLE, 2L, 10L));
+    }
+
+    @Test
+    void shouldRejectNewChangeWhenBufferStaysFull() {
+        // given
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new CannotGetJdbcConnectionException("Database is down"));
+        fillBuffer();
+
+        // when & then
+        assertThrows(ResponseException.class,
+                () -> likeBuffer.toggle(LikeTarget.ARTICLE, 2L, 10L, () -> false));
+        assertNull(likeBuffer.pendingState(LikeTarget.ARTICLE, 2L, 10L));
+        assertFalse(likeBuffer.toggle(LikeTarget.ARTICLE, 1L, 1L, () -> false));
+    }
+
+    private void fillBuffer() {
+        for (long articleId = 1; articleId <= 10_000; articleId++) {
+            likeBuffer.toggle(LikeTarget.ARTICLE, 1L, articleId, () -> false);
+        }
+    }
+
+    private static Answer<int[]> rowsChanged(int count) {
+        return invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            int[] changed = new int[rows.size()];
+            Arrays.fill(changed, count);
+            return changed;
+        };
+    }
+
+    private static ArgumentMatcher<List<Object[]>> counter(int delta, Long targetId) {
+        return rows -> rows.size() == 1 && rows.get(0)[0].equals(delta) && rows.get(0)[1].equals(targetId);
+    }
+}
@@ -0,0 +1,26 @@
+package com.raczkowski.app.migrations;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CapturingStatementInspector implements StatementInspector {
+    private static final List<String> statements = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (statements) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    static List<String> drain() {
+        synchronized (statements) {
+            List<String> captured = new ArrayList<>(statements);
+            statements.clear();
+            return captured;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.raczkowski.app.migrations;
+
+import com.raczkowski.app.Reddit.RedditPostRepository;
+import com.raczkowski.app.article.Article;
+import com.raczkowski.app.article.ArticleRepository;
+import com.raczkowski.app.comment.Comment;
+import com.raczkowski.app.comment.CommentRepository;
+import com.raczkowski.app.enums.ArticleStatus;
+import com.raczkowski.app.hashtags.HashtagRepository;
+import com.raczkowski.app.likes.ArticleLikeRepository;
+import com.raczkowski.app.likes.CommentLikeRepository;
+import com.raczkowski.app.notification.NotificationRepository;
+import com.raczkowski.app.user.AppUser;
+import com.raczkowski.app.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:finder-index;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.raczkowski.app.migrations.CapturingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class FinderIndexTest {
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ArticleRepository articleRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ArticleLikeRepository articleLikeRepository;
+    @Autowired
+    private CommentLikeRepository commentLikeRepository;
+    @Autowired
+    private HashtagRepository hashtagRepository;
+    @Autowired
+    private RedditPostRepository redditPostRepository;
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private AppUser user;
+    private Article article;
+    private Comment comment;
+
+    @BeforeEach
+    void init() {
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V8__index_scheduled_articles.sql"),
+                new ClassPathResource("db/migration/V9__add_finder_indexes.sql"),
+                new ClassPathResource("db/migration/V10__add_timeline_entry.sql")
+        ).execute(dataSource);
+
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        user = entityManager.persist(new AppUser("firstName", "lastName", "test@test.pl"));
+        article = entityManager.persist(new Article("Title", "Content", now, user));
+        comment = entityManager.persist(new Comment("Comment", now, user, article));
+        entityManager.flush();
+        CapturingStatementInspector.drain();
+    }
+
+    @Test
+    void userFindersShouldUseIndexes() {
+        assertUsesIndexes(() -> userRepository.findByEmail("test@test.pl"));
+        assertUsesIndexes(() -> userRepository.findFollowersByUserId(user.getId()));
+        assertUsesIndexes(() -> userRepository.findFollowingByUserId(user.getId()));
+        assertUsesIndexes(() -> userRepository.findFollowerIdsByUserId(user.getId()));
+        assertUsesIndexes(() -> userRepository.findFollowingIdsByUserId(user.getId()));
+    }
+
+    @Test
+    void articleFindersShouldUseIndexes() {
+        assertUsesIndexes(() -> articleRepository.findAllByAppUser(user));
+        assertUsesIndexes(() -> articleRepository.getAllByStatus(ArticleStatus.SCHEDULED));
+        assertUsesIndexes(() -> articleRepository.findApprovedAuthorId(article.getId()));
+        assertUsesIndexes(() -> articleRepository.findApprovedIdsByAuthorsBefore(
+                List.of(user.getId()), Long.MAX_VALUE, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void commentFindersShouldUseIndexes() {
+        assertUsesIndexes(() -> commentRepository.getCommentsByArticle(article));
+        assertUsesIndexes(() -> commentRepository.findAllByAppUser(user));
+        assertUsesIndexes(() -> commentRepository.countByArticleId(article.getId()));
+    }
+
+    @Test
+    void likeFindersShouldUseIndexes() {
+        assertUsesIndexes(() -> articleLikeRepository.existsArticleLikesByAppUserAndArticle(user, article));
+        assertUsesIndexes(() -> articleLikeRepository.findLikedArticleIds(user, List.of(article.getId())));
+        assertUsesIndexes(() -> commentLikeRepository.existsCommentLikeByAppUserAndComment(user, comment));
+    }
+
+    @Test
+    void lookupFindersShouldUseIndexes() {
+        assertUsesIndexes(() -> hashtagRepository.findByTag("#java"));
+        assertUsesIndexes(() -> redditPostRepository.existsByUrl("https://reddit.com/r/java"));
+        assertUsesIndexes(() -> redditPostRepository.findExistingUrls(List.of("https://reddit.com/r/java")));
+        assertUsesIndexes(() -> notificationRepository.getAllNotificationsForUser(String.valueOf(user.getId())));
+        assertUsesIndexes(() -> notificationRepository.findByUserIdOrderByCreatedAtDescIdDesc(
+                String.valueOf(user.getId()), PageRequest.of(0, 20)));
+        assertUsesIndexes(() -> notificationRepository.findByUserIdBefore(
+                String.valueOf(user.getId()), ZonedDateTime.now(ZoneOffset.UTC), Long.MAX_VALUE, PageRequest.of(0, 20)));
+    }
+
+    private void assertUsesIndexes(Runnable finder) {
+        finder.run();
+        List<String> statements = CapturingStatementInspector.drain();
+        assertFalse(statements.isEmpty(), "Finder didn't run any statement");
+
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertFalse(plan.contains(".tableScan"), () -> "Full scan in plan:\n" + plan + "\nfor:\n" + sql);
+        }
+    }
+
+    private String explain(String sql) {
+        int parameters = (int) sql.chars().filter(c -> c == '?').count();
+        return jdbcTemplate.query("EXPLAIN " + sql, ps -> {
+            for (int i = 1; i <= parameters; i++) {
+                ps.setObject(i, null);
+            }
+        }, (rs, rowNum) -> rs.getString(1)).get(0);
+    }
+}
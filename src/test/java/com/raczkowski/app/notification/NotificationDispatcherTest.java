@@ -0,0 +1,97 @@
+package com.raczkowski.app.notification;
+
+import com.raczkowski.app.enums.NotificationType;
+import com.raczkowski.app.websockets.MessageBroadcaster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationDispatcherTest {
+    @Mock
+    private NotificationOutbox outbox;
+    @Mock
+    private NotificationRepository notificationRepository;
+    @Mock
+    private MessageBroadcaster broadcaster;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final DeliveryMetrics metrics = new DeliveryMetrics();
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void init() {
+        MockitoAnnotations.openMocks(this);
+        dispatcher = new NotificationDispatcher(outbox, notificationRepository, broadcaster, metrics, transactionManager);
+    }
+
+    @AfterEach
+    void close() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void shouldPushAllNotificationsOfUserInOneMessage() {
+        // given
+        Notification first = notification(1L, "7");
+        Notification second = notification(2L, "7");
+        Notification other = notification(3L, "8");
+        List<NotificationOutbox.Entry> entries = List.of(entry(1L, "7", 0), entry(2L, "7", 0), entry(3L, "8", 0));
+        when(outbox.claim(any(), anyInt())).thenReturn(entries);
+        when(notificationRepository.findAllById(any())).thenReturn(List.of(first, second, other));
+
+        // when
+        dispatcher.drain();
+
+        // then
+        verify(broadcaster).broadcast("/topic/notifications/7", List.of(first, second));
+        verify(broadcaster).broadcast("/topic/notifications/8", List.of(other));
+        verify(outbox, times(2)).remove(any());
+        assertEquals(3, metrics.getDelivered());
+    }
+
+    @Test
+    void shouldRetryFailedPushAndDeadLetterAfterLastAttempt() {
+        // given
+        Notification fresh = notification(1L, "7");
+        Notification exhausted = notification(2L, "8");
+        when(outbox.claim(any(), anyInt())).thenReturn(List.of(entry(1L, "7", 0), entry(2L, "8", 7)));
+        when(notificationRepository.findAllById(any())).thenReturn(List.of(fresh, exhausted));
+        doThrow(new MessageDeliveryException("broker down"))
+                .when(broadcaster).broadcast(anyString(), any());
+
+        // when
+        dispatcher.drain();
+
+        // then
+        verify(outbox).retry(argThat(entries -> entries.get(0).getNotificationId() == 1L), any(), anyString());
+        verify(outbox).deadLetter(argThat(entries -> entries.get(0).getNotificationId() == 2L), any(), anyString());
+        verify(outbox, never()).remove(any());
+        assertEquals(1, metrics.getRetried());
+        assertEquals(1, metrics.getDeadLettered());
+    }
+
+    private static Notification notification(Long id, String userId) {
+        Notification notification = new Notification(userId, NotificationType.ARTICLE_PUBLISH, "Title", "Message",
+                ZonedDateTime.now(ZoneOffset.UTC), "Admin", "article/1");
+        notification.setId(id);
+        return notification;
+    }
+
+    private static NotificationOutbox.Entry entry(Long notificationId, String userId, int attempts) {
+        return new NotificationOutbox.Entry(notificationId * 10, notificationId, userId, Instant.now(), attempts);
+    }
+}
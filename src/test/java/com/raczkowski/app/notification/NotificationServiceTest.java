@@ -0,0 +1,117 @@
+package com.raczkowski.app.notification;
+
+import com.raczkowski.app.common.CursorPageResponse;
+import com.raczkowski.app.enums.NotificationType;
+import com.raczkowski.app.exceptions.ResponseException;
+import com.raczkowski.app.user.AppUser;
+import com.raczkowski.app.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationServiceTest {
+    @Mock
+    private NotificationRepository notificationRepository;
+    @Mock
+    private NotificationOutbox notificationOutbox;
+    @Mock
+    private UnreadCounter unreadCounter;
+    @Mock
+    private UserService userService;
+    @InjectMocks
+    private NotificationService notificationService;
+
+    private final AppUser user = new AppUser("firstName", "lastName", "test@test.pl");
+
+    @BeforeEach
+    void init() {
+        MockitoAnnotations.openMocks(this);
+        user.setId(7L);
+        when(userService.getLoggedUser()).thenReturn(user);
+    }
+
+    @Test
+    void shouldCountAndQueueSentNotification() {
+        // given
+        Notification notification = notification(1L, ZonedDateTime.now(ZoneOffset.UTC));
+
+        // when
+        notificationService.sendNotification(notification);
+
+        // then
+        verify(notificationRepository).save(notification);
+        verify(unreadCounter).increment("7");
+        verify(notificationOutbox).add(eq(notification), any());
+    }
+
+    @Test
+    void shouldDecrementUnreadCounterByNumberOfMarkedNotifications() {
+        // given
+        when(notificationRepository.markAllNotificationsAsRead(eq("7"), eq(Long.MAX_VALUE), any())).thenReturn(3);
+
+        // when
+        int marked = notificationService.markAllNotificationsAsRead(null);
+
+        // then
+        assertEquals(3, marked);
+        verify(unreadCounter).decrement("7", 3);
+    }
+
+    @Test
+    void shouldContinueInboxFromLastNotificationOfPreviousPage() {
+        // given
+        ZonedDateTime createdAt = ZonedDateTime.of(2024, 1, 2, 12, 0, 0, 123_456_000, ZoneOffset.UTC);
+        Notification last = notification(5L, createdAt);
+        when(notificationRepository.findByUserIdOrderByCreatedAtDescIdDesc(eq("7"), any()))
+                .thenReturn(new SliceImpl<>(List.of(last), PageRequest.of(0, 1), true));
+        when(notificationRepository.findByUserIdBefore(eq("7"), any(), anyLong(), any()))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        // when
+        CursorPageResponse<Notification> firstPage = notificationService.getInbox(null, 1);
+        notificationService.getInbox(firstPage.getNextCursor(), 1);
+
+        // then
+        assertTrue(firstPage.isHasNext());
+        verify(notificationRepository).findByUserIdBefore(
+                eq("7"), argThat(date -> date.isEqual(createdAt)), eq(5L), any());
+    }
+
+    @Test
+    void shouldRejectInboxPageSizeBelowOne() {
+        assertThrows(ResponseException.class, () -> notificationService.getInbox(null, 0));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void shouldClampLargeInboxPageSize() {
+        // given
+        when(notificationRepository.findByUserIdOrderByCreatedAtDescIdDesc(eq("7"), any()))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        // when
+        notificationService.getInbox(null, 1_000_000);
+
+        // then
+        verify(notificationRepository).findByUserIdOrderByCreatedAtDescIdDesc("7", PageRequest.of(0, 100));
+    }
+
+    private static Notification notification(Long id, ZonedDateTime createdAt) {
+        Notification notification = new Notification("7", NotificationType.ARTICLE_PUBLISH, "Title", "Message",
+                createdAt, "Admin", "article/1");
+        notification.setId(id);
+        return notification;
+    }
+}
@@ -0,0 +1,87 @@
+package com.raczkowski.app.ranking;
+
+import com.raczkowski.app.article.ArticleEngagementEvent;
+import com.raczkowski.app.article.ArticleRepository;
+import com.raczkowski.app.likes.LikeBuffer;
+import com.raczkowski.app.likes.LikeTarget;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ArticleRankerTest {
+    private static final ZonedDateTime PUBLISHED_AT = ZonedDateTime.now(ZoneOffset.UTC).minusHours(1);
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+    private final LikeBuffer likeBuffer = mock(LikeBuffer.class);
+    private final ArticleRanker articleRanker = new ArticleRanker(articleRepository, likeBuffer);
+
+    @Test
+    void shouldReplayEngagementHandledWhileRebuilding() {
+        // given
+        when(articleRepository.streamApprovedHeatRowsSince(any())).thenAnswer(invocation -> {
+            articleRanker.onArticleEngagement(new ArticleEngagementEvent(1L, 20, 0));
+            return List.of(row(1L, 5), row(2L, 10)).stream();
+        });
+
+        // when
+        articleRanker.rebuild();
+
+        // then
+        assertEquals(List.of(1L, 2L), rankedIds());
+    }
+
+    @Test
+    void shouldCountLikesStillBufferedWhenRebuilding() {
+        // given
+        when(articleRepository.streamApprovedHeatRowsSince(any()))
+                .thenAnswer(invocation -> List.of(row(1L, 5), row(2L, 10)).stream());
+        when(likeBuffer.pendingDelta(LikeTarget.ARTICLE, 1L)).thenReturn(10);
+
+        // when
+        articleRanker.rebuild();
+
+        // then
+        assertEquals(List.of(1L, 2L), rankedIds());
+    }
+
+    private List<Long> rankedIds() {
+        return articleRanker.page(RankingWindow.DAY, null, 10).stream()
+                .map(RankedArticle::articleId)
+                .toList();
+    }
+
+    private static ArticleHeatRow row(Long id, int likes) {
+        return new ArticleHeatRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public int getLikesNumber() {
+                return likes;
+            }
+
+            @Override
+            public int getCommentsNumber() {
+                return 0;
+            }
+
+            @Override
+            public ZonedDateTime getAcceptedAt() {
+                return PUBLISHED_AT;
+            }
+
+            @Override
+            public ZonedDateTime getScheduledForDate() {
+                return null;
+            }
+        };
+    }
+}
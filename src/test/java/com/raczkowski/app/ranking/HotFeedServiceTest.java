@@ -0,0 +1,53 @@
+package com.raczkowski.app.ranking;
+
+import com.raczkowski.app.article.ArticleFeedService;
+import com.raczkowski.app.article.ArticleRepository;
+import com.raczkowski.app.exceptions.ResponseException;
+import com.raczkowski.app.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class HotFeedServiceTest {
+    @Mock
+    private ArticleRanker articleRanker;
+    @Mock
+    private ArticleRepository articleRepository;
+    @Mock
+    private ArticleFeedService articleFeedService;
+    @Mock
+    private UserService userService;
+    @InjectMocks
+    private HotFeedService hotFeedService;
+
+    @BeforeEach
+    void init() {
+        MockitoAnnotations.openMocks(this);
+        when(articleRanker.page(any(), any(), anyInt())).thenReturn(List.of());
+    }
+
+    @Test
+    void shouldRejectPageSizeBelowOne() {
+        // when & then
+        assertThrows(ResponseException.class, () -> hotFeedService.getHotArticles("day", null, 0));
+        assertThrows(ResponseException.class, () -> hotFeedService.getHotArticles("day", null, -2));
+        verifyNoInteractions(articleRanker);
+    }
+
+    @Test
+    void shouldClampLargePageSize() {
+        // when
+        hotFeedService.getHotArticles("day", null, 1_000_000);
+
+        // then
+        verify(articleRanker).page(RankingWindow.DAY, null, 101);
+    }
+}
@@ -0,0 +1,67 @@
+package com.raczkowski.app.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WindowRankingTest {
+    private static final Instant NOW = Instant.parse("2024-01-02T12:00:00Z");
+
+    @Test
+    void shouldPreferNewerArticlesUnlessOlderOnesAreFarMoreEngaging() {
+        // given
+        long now = NOW.getEpochSecond();
+        long halfDayAgo = NOW.minus(Duration.ofHours(12)).getEpochSecond();
+
+        // when
+        double fresh = ArticleRanker.score(5, 0, now);
+        double olderSameLikes = ArticleRanker.score(5, 0, halfDayAgo);
+        double olderPopular = ArticleRanker.score(100, 0, halfDayAgo);
+
+        // then
+        assertTrue(fresh > olderSameLikes);
+        assertTrue(olderPopular > fresh);
+        assertEquals(ArticleRanker.score(0, 1, now), ArticleRanker.score(2, 0, now));
+    }
+
+    @Test
+    void shouldPageFromCursorAndMoveArticlesWhenScoreChanges() {
+        // given
+        WindowRanking ranking = new WindowRanking(Duration.ofDays(1));
+        long publishedAt = NOW.getEpochSecond();
+        RankedArticle first = new RankedArticle(1, 3.0, publishedAt);
+        RankedArticle second = new RankedArticle(2, 2.0, publishedAt);
+        RankedArticle third = new RankedArticle(3, 1.0, publishedAt);
+        List.of(first, second, third).forEach(article -> ranking.put(null, article));
+
+        // when
+        RankedArticle promoted = new RankedArticle(3, 4.0, publishedAt);
+        ranking.put(third, promoted);
+
+        // then
+        assertEquals(List.of(promoted, first), ranking.page(null, 2));
+        assertEquals(List.of(second), ranking.page(first, 2));
+        assertEquals(3, ranking.size());
+    }
+
+    @Test
+    void shouldDropArticlesOlderThanTheWindow() {
+        // given
+        WindowRanking ranking = new WindowRanking(Duration.ofHours(1));
+        RankedArticle recent = new RankedArticle(1, 1.0, NOW.minus(Duration.ofMinutes(30)).getEpochSecond());
+        RankedArticle stale = new RankedArticle(2, 5.0, NOW.minus(Duration.ofMinutes(90)).getEpochSecond());
+        ranking.put(null, recent);
+        ranking.put(null, stale);
+
+        // when
+        ranking.expire(NOW);
+
+        // then
+        assertEquals(List.of(recent), ranking.page(null, 10));
+        assertFalse(ranking.covers(stale.publishedAt(), NOW));
+    }
+}
@@ -0,0 +1,121 @@
+package com.raczkowski.app.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+    @TempDir
+    Path directory;
+
+    private SearchIndex searchIndex;
+
+    @BeforeEach
+    void init() throws IOException {
+        searchIndex = open();
+        searchIndex.index(1, "Spring Boot tips", "How to configure spring boot with postgres");
+        searchIndex.index(2, "Cooking pasta", "Boil water, add salt and spring onions");
+        searchIndex.index(3, "Boot camp", "A week long boot camp for spring developers");
+        searchIndex.index(4, "Postgres indexes", "B-tree indexes in postgres explained");
+    }
+
+    @AfterEach
+    void close() {
+        searchIndex.close();
+    }
+
+    @Test
+    void shouldRankArticlesMatchingMoreTermsInTitleFirst() {
+        // when
+        List<Long> ids = ids(searchIndex.search("spring boot", 10));
+
+        // then
+        assertEquals(List.of(1L, 3L, 2L), ids);
+    }
+
+    @Test
+    void shouldRequireQuotedPhraseToMatchInOrder() {
+        // when
+        List<Long> ids = ids(searchIndex.search("\"boot camp\"", 10));
+
+        // then
+        assertEquals(List.of(3L), ids);
+    }
+
+    @Test
+    void shouldMatchTextWithoutDiacritics() {
+        // given
+        searchIndex.index(5, "Zażółć gęślą jaźń", "");
+
+        // when
+        List<Long> ids = ids(searchIndex.search("zazolc", 10));
+
+        // then
+        assertEquals(List.of(5L), ids);
+    }
+
+    @Test
+    void shouldReplaceUpdatedAndHideDeletedArticles() {
+        // given
+        searchIndex.flush();
+
+        // when
+        searchIndex.index(1, "Kotlin", "Nothing about the old framework");
+        searchIndex.delete(4);
+
+        // then
+        assertTrue(searchIndex.search("\"spring boot\"", 10).isEmpty());
+        assertEquals(List.of(1L), ids(searchIndex.search("kotlin", 10)));
+        assertTrue(searchIndex.search("indexes", 10).isEmpty());
+        assertEquals(3, searchIndex.size());
+    }
+
+    @Test
+    void shouldKeepCommittedChangesAfterReopeningAndMerging() throws IOException {
+        // given
+        searchIndex.flush();
+        searchIndex.index(1, "Kotlin", "Nothing about the old framework");
+        searchIndex.delete(4);
+        searchIndex.flush();
+        searchIndex.merge();
+        searchIndex.close();
+
+        // when
+        searchIndex = open();
+
+        // then
+        assertArrayEquals(new long[]{1, 2, 3}, searchIndex.liveArticleIds());
+        assertEquals(List.of(1L), ids(searchIndex.search("kotlin", 10)));
+        assertTrue(searchIndex.search("postgres", 10).isEmpty());
+    }
+
+    @Test
+    void shouldSuggestMostFrequentCompletionsOfLastWord() {
+        // when
+        List<String> suggestions = searchIndex.suggest("spring bo", 5);
+
+        // then
+        assertEquals(List.of("boot", "boil"), suggestions);
+    }
+
+    private SearchIndex open() throws IOException {
+        SearchProperties properties = new SearchProperties();
+        properties.setDirectory(directory.toString());
+        properties.setFlushThreshold(2);
+        properties.setMaxSegments(1);
+        SearchIndex index = new SearchIndex(properties);
+        index.open();
+        return index;
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::getArticleId).toList();
+    }
+}
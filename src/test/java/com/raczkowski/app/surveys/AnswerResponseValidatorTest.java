@@ -0,0 +1,66 @@
+package com.raczkowski.app.surveys;
+
+import com.raczkowski.app.exceptions.ResponseException;
+import com.raczkowski.app.surveys.surveyResponse.AnswerResponseRequest;
+import com.raczkowski.app.surveys.surveyResponse.AnswerResponseValidator;
+import com.raczkowski.app.surveys.surveyResponse.SurveyResponseRequest;
+import com.raczkowski.app.surveys.surveyResponse.SurveyValidationPlan;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerResponseValidatorTest {
+    private final AnswerResponseValidator validator = new AnswerResponseValidator();
+
+    private final SurveyValidationPlan plan = new SurveyValidationPlan(1L, ZonedDateTime.now().plusDays(1), Map.of(
+            10L, new SurveyValidationPlan.QuestionRule(10L, true, 1, 1, Set.of("Red", "Blue")),
+            20L, new SurveyValidationPlan.QuestionRule(20L, false, 1, 2, Set.of("Java", "Kotlin", "Scala"))),
+            Set.of(10L));
+
+    @Test
+    void shouldAcceptValidSubmission() {
+        assertDoesNotThrow(() -> validator.validate(plan, request(
+                new AnswerResponseRequest(10L, List.of("Red")),
+                new AnswerResponseRequest(20L, List.of("Java", "Scala")))));
+    }
+
+    @Test
+    void shouldRejectMissingRequiredQuestion() {
+        Exception exception = assertThrows(ResponseException.class, () -> validator.validate(plan, request(
+                new AnswerResponseRequest(20L, List.of("Java")))));
+        assertEquals("Question 10 is required.", exception.getMessage());
+    }
+
+    @Test
+    void shouldRejectUnknownAnswerValue() {
+        Exception exception = assertThrows(ResponseException.class, () -> validator.validate(plan, request(
+                new AnswerResponseRequest(10L, List.of("Green")))));
+        assertEquals("Invalid answer value: Green", exception.getMessage());
+    }
+
+    @Test
+    void shouldRejectQuestionAnsweredTwice() {
+        Exception exception = assertThrows(ResponseException.class, () -> validator.validate(plan, request(
+                new AnswerResponseRequest(10L, List.of("Red")),
+                new AnswerResponseRequest(10L, List.of("Blue")))));
+        assertEquals("Question 10 is answered more than once.", exception.getMessage());
+    }
+
+    @Test
+    void shouldRejectSubmissionAfterSurveyEnded() {
+        SurveyValidationPlan ended = new SurveyValidationPlan(1L, ZonedDateTime.now().minusDays(1), plan.getQuestions(),
+                plan.getRequiredQuestionIds());
+        Exception exception = assertThrows(ResponseException.class, () -> validator.validate(ended, request(
+                new AnswerResponseRequest(10L, List.of("Red")))));
+        assertEquals("Survey already ended", exception.getMessage());
+    }
+
+    private static SurveyResponseRequest request(AnswerResponseRequest... answers) {
+        return new SurveyResponseRequest(1L, 5L, List.of(answers));
+    }
+}
@@ -0,0 +1,200 @@
+package com.raczkowski.app.surveys;
+
+import com.raczkowski.app.enums.SurveyQuestionType;
+import com.raczkowski.app.surveys.answers.Answers;
+import com.raczkowski.app.surveys.questions.Question;
+import com.raczkowski.app.surveys.questions.QuestionRepository;
+import com.raczkowski.app.surveys.survey.Survey;
+import com.raczkowski.app.surveys.survey.SurveysRepository;
+import com.raczkowski.app.exceptions.ResponseException;
+import com.raczkowski.app.surveys.surveyResponse.AnswerResponseRequest;
+import com.raczkowski.app.surveys.surveyResponse.AnswerResponseValidator;
+import com.raczkowski.app.surveys.surveyResponse.SurveyResponse;
+import com.raczkowski.app.surveys.surveyResponse.SurveyResponseRepository;
+import com.raczkowski.app.surveys.surveyResponse.SurveyResponseRequest;
+import com.raczkowski.app.surveys.surveyResponse.SurveyResponseService;
+import com.raczkowski.app.surveys.surveyResponse.SurveyResponseSubmittedEvent;
+import com.raczkowski.app.surveys.surveyResponse.SurveyResults;
+import com.raczkowski.app.surveys.surveyResponse.SurveyTally;
+import com.raczkowski.app.surveys.surveyResponse.SurveyValidationPlan;
+import com.raczkowski.app.surveys.surveyResponse.SurveyValidationPlans;
+import com.raczkowski.app.user.AppUser;
+import com.raczkowski.app.user.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SurveyResponseServiceTest {
+    @Mock
+    private SurveysRepository surveysRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private SurveyResponseRepository surveyResponseRepository;
+    @Mock
+    private AnswerResponseValidator answerResponseValidator;
+    @Mock
+    private SurveyTally surveyTally;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private SurveyValidationPlans validationPlans;
+    @Mock
+    private QuestionRepository questionRepository;
+    @InjectMocks
+    private SurveyResponseService surveyResponseService;
+
+    private final Survey survey = new Survey();
+
+    @BeforeEach
+    void init() {
+        MockitoAnnotations.openMocks(this);
+        survey.setId(1L);
+        survey.setTitle("Survey");
+        survey.setQuestions(new ArrayList<>());
+        when(surveysRepository.findSurveyById(1L)).thenReturn(survey);
+    }
+
+    @Test
+    void shouldBuildResultsFromLiveTally() {
+        // given
+        survey.getQuestions().add(question(10L, SurveyQuestionType.SINGLE_CHOICE, "Red", "Blue", "Green"));
+        tally(10L, "Red", 3);
+        tally(10L, "Blue", 1);
+        when(surveyTally.responses(1L)).thenReturn(4L);
+
+        // when
+        SurveyResults results = surveyResponseService.getSurveyResults(1L);
+
+        // then
+        SurveyResults.QuestionResult question = results.getQuestionResults().get(0);
+        assertEquals(List.of(3, 1, 0), question.getAnswerResults().stream().map(SurveyResults.AnswerResult::getCount).toList());
+        assertNull(question.getRating());
+        assertEquals(4, results.getTotalAnswers());
+        verifyNoInteractions(surveyResponseRepository);
+    }
+
+    @Test
+    void shouldSummarizeRatingQuestions() {
+        // given
+        survey.getQuestions().add(question(20L, SurveyQuestionType.RATING, "5", "4", "3", "2", "1"));
+        tally(20L, "1", 1);
+        tally(20L, "3", 1);
+        tally(20L, "4", 1);
+        tally(20L, "5", 1);
+
+        // when
+        SurveyResults.RatingSummary rating = surveyResponseService.getSurveyResults(1L)
+                .getQuestionResults().get(0).getRating();
+
+        // then
+        assertEquals(3.25, rating.getMean(), 1e-9);
+        assertEquals(3.5, rating.getMedian(), 1e-9);
+        assertEquals(Map.of("1", 1, "2", 0, "3", 1, "4", 1, "5", 1), rating.getHistogram());
+        assertEquals(List.of("1", "2", "3", "4", "5"), new ArrayList<>(rating.getHistogram().keySet()));
+    }
+
+    @Test
+    void shouldPublishSubmittedAnswersAfterSavingResponse() {
+        // given
+        SurveyResponseRequest request = submission();
+
+        // when
+        surveyResponseService.saveSurveyResponse(request);
+
+        // then
+        verify(answerResponseValidator).validate(any(), eq(request));
+        verify(surveyResponseRepository).saveAndFlush(any());
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof SurveyResponseSubmittedEvent submitted
+                && submitted.getAnswerValues().equals(Map.of(10L, List.of("Red")))));
+    }
+
+    @Test
+    void shouldRejectSecondResponseOfSameUser() {
+        // given
+        SurveyResponseRequest request = submission();
+        when(surveyResponseRepository.saveAndFlush(any())).thenThrow(violation("uc_survey_response_survey_user"));
+
+        // when
+        ResponseException exception = assertThrows(ResponseException.class, () -> surveyResponseService.saveSurveyResponse(request));
+
+        // then
+        assertEquals("User has already answered this survey.", exception.getMessage());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldRethrowOtherConstraintViolations() {
+        // given
+        SurveyResponseRequest request = submission();
+        DataIntegrityViolationException violation = violation("answer_response_question_id_fkey");
+        when(surveyResponseRepository.saveAndFlush(any())).thenThrow(violation);
+
+        // when
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> surveyResponseService.saveSurveyResponse(request));
+
+        // then
+        assertSame(violation, exception);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldSaveResponseWithoutAnswers() {
+        // given
+        submission();
+        SurveyResponseRequest request = new SurveyResponseRequest(1L, 5L, null);
+
+        // when
+        surveyResponseService.saveSurveyResponse(request);
+
+        // then
+        verify(surveyResponseRepository).saveAndFlush(argThat((SurveyResponse response) -> response.getAnswerResponses().isEmpty()));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof SurveyResponseSubmittedEvent submitted
+                && submitted.getAnswerValues().isEmpty()));
+    }
+
+    private static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException(), constraintName));
+    }
+
+    private SurveyResponseRequest submission() {
+        survey.setEndTime(ZonedDateTime.now().plusDays(1));
+        survey.getQuestions().add(question(10L, SurveyQuestionType.SINGLE_CHOICE, "Red", "Blue"));
+        when(validationPlans.get(1L)).thenReturn(SurveyValidationPlan.of(survey));
+        when(userRepository.getAppUserById(5L)).thenReturn(new AppUser("firstName", "lastName", "test@test.pl"));
+        return new SurveyResponseRequest(1L, 5L, List.of(new AnswerResponseRequest(10L, List.of("Red"))));
+    }
+
+    private static Question question(Long id, SurveyQuestionType type, String... answers) {
+        Question question = new Question(id);
+        question.setValue("Question " + id);
+        question.setType(type);
+        List<Answers> options = new ArrayList<>();
+        for (String answer : answers) {
+            options.add(new Answers(answer, question));
+        }
+        question.setAnswers(options);
+        return question;
+    }
+
+    private void tally(Long questionId, String answerValue, long count) {
+        when(surveyTally.count(1L, questionId, answerValue)).thenReturn(count);
+    }
+}
@@ -0,0 +1,105 @@
+package com.raczkowski.app.surveys;
+
+import com.raczkowski.app.surveys.surveyResponse.SurveyResponseSubmittedEvent;
+import com.raczkowski.app.surveys.surveyResponse.SurveyTally;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SurveyTallyTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SurveyTally tally;
+
+    @BeforeEach
+    void init() {
+        MockitoAnnotations.openMocks(this);
+        tally = new SurveyTally(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void shouldCountSubmittedResponsesBeforeCheckpoint() {
+        // when
+        tally.onResponseSubmitted(new SurveyResponseSubmittedEvent(1L, Map.of(10L, List.of("Red", "Blue"))));
+        tally.onResponseSubmitted(new SurveyResponseSubmittedEvent(1L, Map.of(10L, List.of("Red"))));
+
+        // then
+        assertEquals(2, tally.count(1L, 10L, "Red"));
+        assertEquals(1, tally.count(1L, 10L, "Blue"));
+        assertEquals(0, tally.count(1L, 10L, "Green"));
+        assertEquals(2, tally.responses(1L));
+        assertEquals(Set.of(1L), tally.drainChangedSurveys());
+        assertTrue(tally.drainChangedSurveys().isEmpty());
+    }
+
+    @Test
+    void shouldWriteOnlyDeltasAtCheckpoint() {
+        // given
+        tally.onResponseSubmitted(new SurveyResponseSubmittedEvent(1L, Map.of(10L, List.of("Red"))));
+
+        // when
+        tally.checkpoint();
+        tally.checkpoint();
+
+        // then
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), argThat((List<Object[]> rows) ->
+                rows.size() == 1 && rows.get(0)[2].equals("Red") && rows.get(0)[3].equals(1L)));
+        verify(jdbcTemplate, times(1)).update(anyString(), eq(1L), eq(1L));
+    }
+
+    @Test
+    void shouldKeepCountsWhenCheckpointFails() {
+        // given
+        tally.onResponseSubmitted(new SurveyResponseSubmittedEvent(1L, Map.of(10L, List.of("Red"))));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // when
+        tally.checkpoint();
+
+        // then
+        assertEquals(1, tally.count(1L, 10L, "Red"));
+        assertEquals(1, tally.responses(1L));
+        verify(jdbcTemplate, never()).update(anyString(), any(), any());
+    }
+
+    @Test
+    void shouldNotCacheSurveyWithoutStoredCounts() {
+        // when
+        tally.count(1L, 10L, "Red");
+        tally.responses(1L);
+        tally.checkpoint();
+
+        // then
+        verify(jdbcTemplate, times(2)).queryForList(anyString(), eq(Long.class), eq(1L));
+    }
+
+    @Test
+    void shouldCacheSurveyWithStoredCounts() {
+        // given
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1L))).thenReturn(List.of(3L));
+
+        // when
+        long first = tally.responses(1L);
+        long second = tally.responses(1L);
+
+        // then
+        assertEquals(3, first);
+        assertEquals(3, second);
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(Long.class), eq(1L));
+    }
+}
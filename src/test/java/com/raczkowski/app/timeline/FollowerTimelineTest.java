@@ -0,0 +1,59 @@
+package com.raczkowski.app.timeline;
+
+import com.raczkowski.app.article.ArticleRepository;
+import com.raczkowski.app.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FollowerTimelineTest {
+    private final TimelineStore timelineStore = mock(TimelineStore.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+    private final FollowerTimeline followerTimeline =
+            new FollowerTimeline(timelineStore, userRepository, articleRepository, new TimelineProperties());
+
+    @Test
+    void shouldFanOutRecentArticlesOfDemotedAuthor() {
+        // given
+        when(userRepository.findIdsWithMoreFollowersThan(anyLong())).thenReturn(List.of(1L, 2L), List.of(2L));
+        when(userRepository.findFollowerIdsByUserId(1L)).thenReturn(List.of(10L, 11L));
+        when(articleRepository.findApprovedIdsByAuthorsBefore(List.of(1L), Long.MAX_VALUE, PageRequest.of(0, 200)))
+                .thenReturn(List.of(7L, 5L));
+        followerTimeline.refreshCelebrities();
+
+        // when
+        followerTimeline.refreshCelebrities();
+
+        // then
+        verify(timelineStore).append(List.of(10L, 11L), 7L);
+        verify(timelineStore).append(List.of(10L, 11L), 5L);
+        verify(userRepository, never()).findFollowerIdsByUserId(2L);
+        assertFalse(followerTimeline.isCelebrity(1L));
+        assertTrue(followerTimeline.isCelebrity(2L));
+    }
+
+    @Test
+    void shouldReloadBufferedTimelineOfFollowerAfterDemotion() {
+        // given
+        when(userRepository.findIdsWithMoreFollowersThan(anyLong())).thenReturn(List.of(1L), List.of());
+        when(userRepository.findFollowerIdsByUserId(1L)).thenReturn(List.of(10L));
+        when(articleRepository.findApprovedIdsByAuthorsBefore(List.of(1L), Long.MAX_VALUE, PageRequest.of(0, 200)))
+                .thenReturn(List.of(7L));
+        when(timelineStore.findArticleIds(10L, Long.MAX_VALUE, 200)).thenReturn(List.of(3L), List.of(7L, 3L));
+        followerTimeline.refreshCelebrities();
+        followerTimeline.findArticleIds(10L, Long.MAX_VALUE, 10);
+
+        // when
+        followerTimeline.refreshCelebrities();
+        List<Long> articleIds = followerTimeline.findArticleIds(10L, Long.MAX_VALUE, 10);
+
+        // then
+        assertEquals(List.of(7L, 3L), articleIds);
+    }
+}
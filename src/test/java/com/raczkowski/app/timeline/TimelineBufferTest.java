@@ -0,0 +1,57 @@
+package com.raczkowski.app.timeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimelineBufferTest {
+
+    @Test
+    void shouldPageIdsInDescendingOrderRegardlessOfArrivalOrder() {
+        // given
+        TimelineBuffer buffer = new TimelineBuffer(10);
+        List.of(5L, 9L, 7L, 1L, 9L, 3L).forEach(buffer::add);
+
+        // when
+        List<Long> firstPage = buffer.before(Long.MAX_VALUE, 3);
+        List<Long> secondPage = buffer.before(firstPage.get(2), 3);
+
+        // then
+        assertEquals(List.of(9L, 7L, 5L), firstPage);
+        assertEquals(List.of(3L, 1L), secondPage);
+        assertTrue(buffer.isComplete());
+    }
+
+    @Test
+    void shouldOverwriteOldestIdsWhenFull() {
+        // given
+        TimelineBuffer buffer = new TimelineBuffer(3);
+
+        // when
+        for (long id = 1; id <= 6; id++) {
+            buffer.add(id);
+        }
+        buffer.add(2L);
+
+        // then
+        assertEquals(List.of(6L, 5L, 4L), buffer.before(Long.MAX_VALUE, 10));
+        assertFalse(buffer.isComplete());
+    }
+
+    @Test
+    void shouldKeepIdsAddedWhileLoading() {
+        // given
+        TimelineBuffer buffer = new TimelineBuffer(4);
+        buffer.add(10L);
+
+        // when
+        buffer.load(List.of(8L, 6L), true);
+
+        // then
+        assertTrue(buffer.isLoaded());
+        assertTrue(buffer.isComplete());
+        assertEquals(List.of(10L, 8L, 6L), buffer.before(Long.MAX_VALUE, 10));
+    }
+}
@@ -0,0 +1,59 @@
+package com.raczkowski.app.timeline;
+
+import com.raczkowski.app.article.ArticleFeedService;
+import com.raczkowski.app.article.ArticleRepository;
+import com.raczkowski.app.exceptions.ResponseException;
+import com.raczkowski.app.user.AppUser;
+import com.raczkowski.app.user.UserRepository;
+import com.raczkowski.app.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TimelineServiceTest {
+
+    @Mock
+    private FollowerTimeline followerTimeline;
+    @Mock
+    private ArticleRepository articleRepository;
+    @Mock
+    private ArticleFeedService articleFeedService;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private TimelineService timelineService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        AppUser user = new AppUser();
+        user.setId(1L);
+        when(userService.getLoggedUser()).thenReturn(user);
+        when(userRepository.findFollowingIdsByUserId(1L)).thenReturn(List.of());
+        when(followerTimeline.findArticleIds(anyLong(), anyLong(), anyInt())).thenReturn(List.of());
+    }
+
+    @Test
+    void shouldRejectPageSizeBelowOne() {
+        assertThrows(ResponseException.class, () -> timelineService.getTimeline(null, 0));
+        verifyNoInteractions(followerTimeline);
+    }
+
+    @Test
+    void shouldClampLargePageSize() {
+        timelineService.getTimeline(null, 1_000_000);
+
+        verify(followerTimeline).findArticleIds(eq(1L), anyLong(), eq(101));
+    }
+}
@@ -0,0 +1,73 @@
+package com.raczkowski.app.user;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCacheTest {
+    private final UserCache userCache = new UserCache();
+
+    @Test
+    void shouldLoadUserOnlyOnceWhileCached() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        AppUser user = new AppUser("firstName", "lastName", "test@test.pl");
+
+        // when
+        userCache.get("test@test.pl", email -> {
+            loads.incrementAndGet();
+            return user;
+        });
+        AppUser cached = userCache.get("test@test.pl", email -> {
+            loads.incrementAndGet();
+            return user;
+        });
+
+        // then
+        assertSame(user, cached);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldReloadUserAfterInvalidationById() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        AppUser user = new AppUser("firstName", "lastName", "test@test.pl");
+        user.setId(7L);
+        userCache.get("test@test.pl", email -> {
+            loads.incrementAndGet();
+            return user;
+        });
+
+        // when
+        userCache.invalidate(7L);
+        userCache.get("test@test.pl", email -> {
+            loads.incrementAndGet();
+            return user;
+        });
+
+        // then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldNotCacheMissingUser() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        userCache.get("missing@test.pl", email -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        userCache.get("missing@test.pl", email -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        // then
+        assertEquals(2, loads.get());
+    }
+}
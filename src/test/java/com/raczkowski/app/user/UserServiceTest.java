@@ -0,0 +1,78 @@
+package com.raczkowski.app.user;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserServiceTest {
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private UserStatsStore userStatsStore;
+    @InjectMocks
+    private UserService userService;
+
+    private final AppUser current = new AppUser("firstName", "lastName", "current@test.pl");
+    private final AppUser followed = new AppUser("firstName", "lastName", "followed@test.pl");
+
+    @BeforeEach
+    void init() {
+        MockitoAnnotations.openMocks(this);
+        current.setId(1L);
+        followed.setId(2L);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(current, null, List.of()));
+        when(userRepository.getAppUserById(1L)).thenReturn(current);
+        when(userRepository.findById(2L)).thenReturn(Optional.of(followed));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldCountFollowOnlyOnce() {
+        // when
+        userService.followUser(2L);
+        userService.followUser(2L);
+
+        // then
+        assertTrue(followed.getFollowers().contains(current));
+        verify(userStatsStore, times(1)).adjustFollow(1L, 2L, 1);
+    }
+
+    @Test
+    void shouldNotCountUnfollowOfUserNotFollowed() {
+        // when
+        userService.unfollowUser(2L);
+
+        // then
+        verify(userStatsStore, never()).adjustFollow(anyLong(), anyLong(), anyInt());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldUncountUnfollow() {
+        // given
+        current.followUser(followed);
+
+        // when
+        userService.unfollowUser(2L);
+
+        // then
+        assertFalse(followed.getFollowers().contains(current));
+        verify(userStatsStore).adjustFollow(1L, 2L, -1);
+    }
+}
@@ -0,0 +1,51 @@
+package com.raczkowski.app.websockets;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MessageBroadcasterTest {
+    @Mock
+    private SimpMessagingTemplate firstNodeTemplate;
+    @Mock
+    private SimpMessagingTemplate secondNodeTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MessageBroadcaster firstNode;
+
+    @BeforeEach
+    void init() {
+        MockitoAnnotations.openMocks(this);
+        BroadcastRelay relay = new InMemoryBroadcastRelay();
+        firstNode = new MessageBroadcaster(relay, firstNodeTemplate, objectMapper);
+        new MessageBroadcaster(relay, secondNodeTemplate, objectMapper);
+    }
+
+    @Test
+    void shouldDeliverBroadcastOnEveryNode() {
+        // given
+        ArgumentCaptor<JsonNode> firstPayload = ArgumentCaptor.forClass(JsonNode.class);
+        ArgumentCaptor<JsonNode> secondPayload = ArgumentCaptor.forClass(JsonNode.class);
+
+        // when
+        firstNode.broadcast("/topic/notifications/7", List.of(Map.of("title", "Title")));
+
+        // then
+        verify(firstNodeTemplate).convertAndSend(eq("/topic/notifications/7"), firstPayload.capture());
+        verify(secondNodeTemplate).convertAndSend(eq("/topic/notifications/7"), secondPayload.capture());
+        assertEquals("Title", firstPayload.getValue().get(0).get("title").asText());
+        assertEquals(firstPayload.getValue(), secondPayload.getValue());
+    }
+}